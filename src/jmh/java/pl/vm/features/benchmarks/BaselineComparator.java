@@ -0,0 +1,122 @@
+package pl.vm.features.benchmarks;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Compares two JMH JSON result files (for example the committed baseline and the run of a
+ * release candidate) and reports the relative change of the primary score and of the
+ * normalized allocation rate reported by {@code -prof gc}.
+ *
+ * <p>Usage: {@code BaselineComparator <baseline.json> <current.json> [thresholdPercent]}.
+ * Exits with status 1 when at least one benchmark regressed by more than the threshold.
+ */
+public final class BaselineComparator {
+    private static final double DEFAULT_THRESHOLD_PERCENT = 5.0;
+    private static final String ALLOC_RATE_NORM = "gc.alloc.rate.norm";
+
+    private BaselineComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparator <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+
+        Map<String, JsonObject> baseline = load(Path.of(args[0]));
+        Map<String, JsonObject> current = load(Path.of(args[1]));
+
+        int regressions = 0;
+        for (Map.Entry<String, JsonObject> entry : current.entrySet()) {
+            JsonObject before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf(Locale.US, "%-90s %s%n", entry.getKey(), "NEW");
+                continue;
+            }
+            JsonObject after = entry.getValue();
+            double change = percentChange(score(before), score(after));
+            boolean higherIsBetter = "thrpt".equals(after.get("mode").getAsString());
+            boolean regressed = higherIsBetter ? change < -threshold : change > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf(Locale.US, "%-90s %+8.2f%% %s%s%n",
+                entry.getKey(), change, after.getAsJsonObject("primaryMetric").get("scoreUnit").getAsString(),
+                regressed ? "  REGRESSION" : "");
+
+            Double allocBefore = allocRate(before);
+            Double allocAfter = allocRate(after);
+            if (allocBefore != null && allocAfter != null) {
+                System.out.printf(Locale.US, "%-90s %+8.2f%% (%.1f -> %.1f B/op)%n",
+                    "  " + ALLOC_RATE_NORM, percentChange(allocBefore, allocAfter), allocBefore, allocAfter);
+            }
+        }
+        for (String missing : baseline.keySet()) {
+            if (!current.containsKey(missing)) {
+                System.out.printf(Locale.US, "%-90s %s%n", missing, "REMOVED");
+            }
+        }
+        System.out.printf(Locale.US, "%d regression(s) above %.1f%%%n", regressions, threshold);
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonObject> load(Path path) throws IOException {
+        Map<String, JsonObject> results = new LinkedHashMap<>();
+        try (Reader reader = Files.newBufferedReader(path)) {
+            JsonArray array = JsonParser.parseReader(reader).getAsJsonArray();
+            for (JsonElement element : array) {
+                JsonObject result = element.getAsJsonObject();
+                results.put(key(result), result);
+            }
+        }
+        return results;
+    }
+
+    private static String key(JsonObject result) {
+        StringBuilder key = new StringBuilder(result.get("benchmark").getAsString());
+        JsonObject params = result.getAsJsonObject("params");
+        if (params != null) {
+            Map<String, String> sorted = new TreeMap<>();
+            params.entrySet().forEach(p -> sorted.put(p.getKey(), p.getValue().getAsString()));
+            key.append(sorted);
+        }
+        return key.toString();
+    }
+
+    private static double score(JsonObject result) {
+        return result.getAsJsonObject("primaryMetric").get("score").getAsDouble();
+    }
+
+    private static Double allocRate(JsonObject result) {
+        JsonObject secondary = result.getAsJsonObject("secondaryMetrics");
+        if (secondary == null) {
+            return null;
+        }
+        for (Map.Entry<String, JsonElement> metric : secondary.entrySet()) {
+            // Older JMH versions prefix profiler metrics with a middle dot
+            if (metric.getKey().endsWith(ALLOC_RATE_NORM)) {
+                return metric.getValue().getAsJsonObject().get("score").getAsDouble();
+            }
+        }
+        return null;
+    }
+
+    private static double percentChange(double before, double after) {
+        return before == 0.0 ? 0.0 : (after - before) / before * 100.0;
+    }
+}
@@ -0,0 +1,98 @@
+package pl.vm.features.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import pl.vm.features.records.ModelConfig;
+import pl.vm.features.sealed.model.ChatGPTModel;
+import pl.vm.features.sealed.model.ClaudeModel;
+import pl.vm.features.sealed.model.DeepSeekModel;
+import pl.vm.features.sealed.model.GeminiModel;
+import pl.vm.features.sealed.model.LLMModel;
+
+/**
+ * Deterministic input data shared by the JMH benchmarks.
+ * Every generator takes a fixed seed so results stay comparable between runs and releases.
+ */
+public final class BenchmarkData {
+    public static final long SEED = 42L;
+
+    private static final String[] WORDS = {
+        "apple", "banana", "cherry", "date", "elderberry", "fig", "grape", "honeydew",
+        "apricot", "blueberry", "cranberry", "durian", "eggplant", "feijoa", "guava", "huckleberry"
+    };
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Creates a list of words drawn from a small fixed vocabulary.
+     */
+    public static List<String> words(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<String> words = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            words.add(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return words;
+    }
+
+    /**
+     * Creates a list of integers in the range [0, 1000).
+     */
+    public static List<Integer> numbers(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Integer> numbers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            numbers.add(random.nextInt(1000));
+        }
+        return numbers;
+    }
+
+    /**
+     * Creates a mix of all permitted {@link LLMModel} subtypes with every known variant.
+     */
+    public static List<LLMModel> models(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<LLMModel> models = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int maxTokens = 1024 << random.nextInt(4);
+            double temperature = random.nextInt(11) / 10.0;
+            boolean first = random.nextBoolean();
+            models.add(switch (random.nextInt(4)) {
+                case 0 -> new ChatGPTModel("1.0", first ? "gpt-4" : "gpt-3.5-turbo", maxTokens, temperature);
+                case 1 -> new GeminiModel("1.0", first ? "pro" : "ultra", maxTokens, temperature);
+                case 2 -> new ClaudeModel("1.0", first ? "opus" : "sonnet", maxTokens, temperature);
+                default -> new DeepSeekModel("1.0", first ? "coder" : "chat", maxTokens, temperature);
+            });
+        }
+        return models;
+    }
+
+    /**
+     * Creates configurations covering every branch of {@code ModelConfigProcessor.processConfig}.
+     */
+    public static List<ModelConfig> configs(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<ModelConfig> configs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            configs.add(new ModelConfig(
+                WORDS[random.nextInt(WORDS.length)],
+                "1." + random.nextInt(4),
+                1024 << random.nextInt(4),
+                random.nextInt(11) / 10.0,
+                random.nextInt(4) == 0,
+                15 << random.nextInt(4)
+            ));
+        }
+        return configs;
+    }
+
+    /**
+     * Creates a prompt of the given length.
+     */
+    public static String input(int length) {
+        return "x".repeat(length);
+    }
+}
@@ -0,0 +1,80 @@
+package pl.vm.features.gatherers;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pl.vm.features.benchmarks.BenchmarkData;
+import pl.vm.features.gatherers.ConcurrentGatherers.OutputOrder;
+import pl.vm.features.sealed.model.ClaudeModel;
+import pl.vm.features.sealed.model.RAGSystem;
+
+/**
+ * Compares sequential mapping of {@link RAGSystem#process(String)} with
+ * {@link ConcurrentGatherers#mapConcurrent} when every call waits for a simulated I/O latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ConcurrentGatherersBenchmark {
+
+    @Param({"100", "1000"})
+    private int size;
+
+    @Param({"1"})
+    private int latencyMillis;
+
+    @Param({"16", "256"})
+    private int maxConcurrency;
+
+    private List<String> prompts;
+    private RAGSystem ragSystem;
+
+    @Setup
+    public void setUp() {
+        prompts = BenchmarkData.words(size);
+        ragSystem = new RAGSystem(new ClaudeModel("1.0", "opus", 4096, 0.7), "kb-001", 5, List.of("docs", "wiki"));
+    }
+
+    @Benchmark
+    public List<String> sequentialMap() {
+        return prompts.stream().map(this::retrieve).toList();
+    }
+
+    @Benchmark
+    public List<String> concurrentEncounterOrder() {
+        return prompts.stream()
+            .gather(ConcurrentGatherers.mapConcurrent(maxConcurrency, this::retrieve))
+            .toList();
+    }
+
+    @Benchmark
+    public List<String> concurrentCompletionOrder() {
+        return prompts.stream()
+            .gather(ConcurrentGatherers.mapConcurrent(maxConcurrency, OutputOrder.COMPLETION, null, this::retrieve))
+            .toList();
+    }
+
+    private String retrieve(String prompt) {
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return ragSystem.process(prompt);
+    }
+}
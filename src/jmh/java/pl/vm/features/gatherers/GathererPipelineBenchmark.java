@@ -0,0 +1,116 @@
+package pl.vm.features.gatherers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.Gatherer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pl.vm.features.benchmarks.BenchmarkData;
+
+/**
+ * Compares a {@link GathererPipeline} compiled into one gatherer with the equivalent chain of
+ * single-stage gatherers joined with {@link Gatherer#andThen(Gatherer)}.
+ *
+ * Both pipelines run {@code stages} map/filter stages, then group elements into pairs, keep only
+ * pairs with an even sum and map every pair to its first element.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class GathererPipelineBenchmark {
+
+    @Param({"100000"})
+    private int size;
+
+    @Param({"2", "8", "32"})
+    private int stages;
+
+    private List<Integer> numbers;
+    private Gatherer<Integer, ?, Integer> fused;
+    private Gatherer<Integer, ?, Integer> chained;
+
+    @Setup
+    public void setUp() {
+        numbers = BenchmarkData.numbers(size);
+
+        GathererPipeline<Integer, Integer> pipeline = GathererPipeline.of();
+        Gatherer<Integer, ?, Integer> chain = null;
+        for (int i = 0; i < stages; i++) {
+            Gatherer<Integer, ?, Integer> stage;
+            if (i % 2 == 0) {
+                pipeline = pipeline.map(n -> n + 1);
+                stage = map(n -> n + 1);
+            } else {
+                pipeline = pipeline.filter(n -> n >= 0);
+                stage = filter();
+            }
+            chain = chain == null ? stage : chain.andThen(stage);
+        }
+        fused = pipeline
+            .windowFixed(2)
+            .filter(pair -> (pair.get(0) + pair.get(pair.size() - 1)) % 2 == 0)
+            .map(List::getFirst)
+            .compile();
+        chained = chain
+            .andThen(pairs())
+            .andThen(Gatherer.<List<Integer>, Integer>of((state, pair, downstream) ->
+                (pair.get(0) + pair.get(pair.size() - 1)) % 2 != 0 || downstream.push(pair.getFirst())));
+    }
+
+    @Benchmark
+    public List<Integer> fusedPipeline() {
+        return numbers.stream().gather(fused).toList();
+    }
+
+    @Benchmark
+    public List<Integer> andThenChain() {
+        return numbers.stream().gather(chained).toList();
+    }
+
+    private static Gatherer<Integer, ?, Integer> map(IntUnaryOperator mapper) {
+        return Gatherer.<Integer, Integer>of((state, element, downstream) -> downstream.push(mapper.applyAsInt(element)));
+    }
+
+    private static Gatherer<Integer, ?, Integer> filter() {
+        return Gatherer.<Integer, Integer>of((state, element, downstream) -> element < 0 || downstream.push(element));
+    }
+
+    /**
+     * Pair gatherer written the way the demo originally did it, allocating a list per pair.
+     */
+    private static Gatherer<Integer, ?, List<Integer>> pairs() {
+        return Gatherer.<Integer, List<Integer>, List<Integer>>ofSequential(
+            ArrayList::new,
+            (state, element, downstream) -> {
+                state.add(element);
+                if (state.size() == 2) {
+                    List<Integer> pair = new ArrayList<>(state);
+                    state.clear();
+                    return downstream.push(pair);
+                }
+                return true;
+            },
+            (state, downstream) -> {
+                if (!state.isEmpty()) {
+                    downstream.push(new ArrayList<>(state));
+                }
+            }
+        );
+    }
+}
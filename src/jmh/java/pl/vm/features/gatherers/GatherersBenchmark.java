@@ -0,0 +1,94 @@
+package pl.vm.features.gatherers;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Gatherers;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pl.vm.features.benchmarks.BenchmarkData;
+
+/**
+ * Measures the custom gatherers from {@link GatherersDemo} against the built-in window gatherers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class GatherersBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    private List<String> words;
+    private List<Integer> numbers;
+
+    @Setup
+    public void setUp() {
+        words = BenchmarkData.words(size);
+        numbers = BenchmarkData.numbers(size);
+    }
+
+    @Benchmark
+    public List<List<String>> groupByPairs() {
+        return stream(words).gather(GatherersDemo.groupByPairs()).toList();
+    }
+
+    @Benchmark
+    public List<Double> runningAverage() {
+        return stream(numbers).gather(GatherersDemo.runningAverage()).toList();
+    }
+
+    @Benchmark
+    public StatisticsGatherers.Summary summarizeInt() {
+        return stream(numbers).gather(StatisticsGatherers.summarizeInt(Integer::intValue)).findFirst().orElseThrow();
+    }
+
+    @Benchmark
+    public double[] percentilesOfInt() {
+        return stream(numbers).gather(StatisticsGatherers.percentilesOfInt(Integer::intValue, 50, 99, 99.9))
+            .findFirst().orElseThrow();
+    }
+
+    @Benchmark
+    public List<List<String>> groupByPairsAndThenFilter() {
+        return stream(words)
+            .gather(GatherersDemo.groupByPairs().andThen(GatherersDemo.sameFirstLetterFilter()))
+            .toList();
+    }
+
+    @Benchmark
+    public List<List<Integer>> chunkFixedSize() {
+        return stream(numbers).gather(ChunkingGatherers.<Integer>fixedSize(64)).toList();
+    }
+
+    @Benchmark
+    public List<List<Integer>> windowFixed() {
+        return stream(numbers).gather(Gatherers.<Integer>windowFixed(64)).toList();
+    }
+
+    @Benchmark
+    public List<List<Integer>> windowSliding() {
+        return stream(numbers).gather(Gatherers.windowSliding(3)).toList();
+    }
+
+    private <T> Stream<T> stream(List<T> source) {
+        return parallel ? source.parallelStream() : source.stream();
+    }
+}
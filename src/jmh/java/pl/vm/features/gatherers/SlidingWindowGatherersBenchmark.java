@@ -0,0 +1,82 @@
+package pl.vm.features.gatherers;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Gatherers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pl.vm.features.benchmarks.BenchmarkData;
+
+/**
+ * Compares the incremental {@link SlidingWindowGatherers} with aggregating the lists produced by
+ * {@link Gatherers#windowSliding(int)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class SlidingWindowGatherersBenchmark {
+
+    @Param({"100000"})
+    private int size;
+
+    @Param({"3", "100", "1000"})
+    private int window;
+
+    private List<Integer> numbers;
+
+    @Setup
+    public void setUp() {
+        numbers = BenchmarkData.numbers(size);
+    }
+
+    @Benchmark
+    public List<Long> incrementalSum() {
+        return numbers.stream()
+            .gather(SlidingWindowGatherers.slidingSumOfLong(window, Integer::longValue))
+            .toList();
+    }
+
+    @Benchmark
+    public List<Long> windowSlidingSum() {
+        return numbers.stream()
+            .gather(Gatherers.<Integer>windowSliding(window))
+            .map(w -> w.stream().mapToLong(Integer::longValue).sum())
+            .toList();
+    }
+
+    @Benchmark
+    public List<Double> incrementalMax() {
+        return numbers.stream()
+            .gather(SlidingWindowGatherers.slidingMax(window, Integer::doubleValue))
+            .toList();
+    }
+
+    @Benchmark
+    public List<Integer> windowSlidingMax() {
+        return numbers.stream()
+            .gather(Gatherers.<Integer>windowSliding(window))
+            .map(w -> w.stream().mapToInt(Integer::intValue).max().orElseThrow())
+            .toList();
+    }
+
+    @Benchmark
+    public List<Integer> incrementalCountDistinct() {
+        return numbers.stream()
+            .gather(SlidingWindowGatherers.slidingCountDistinct(window, n -> n))
+            .toList();
+    }
+}
@@ -0,0 +1,66 @@
+package pl.vm.features.patternmatching;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pl.vm.features.benchmarks.BenchmarkData;
+import pl.vm.features.sealed.model.LLMModel;
+
+/**
+ * Throughput of {@link BatchModelProcessor} against a caller loop over {@link ModelProcessor},
+ * from 1K to 10M models. Divide the batch size by the reported time for models per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "-Xmx4g"})
+public class BatchModelProcessorBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private final ModelProcessor loopProcessor = new ModelProcessor();
+    private final BatchModelProcessor sequentialProcessor = new BatchModelProcessor();
+    private final BatchModelProcessor parallelProcessor = new BatchModelProcessor(ForkJoinPool.commonPool());
+    private List<LLMModel> models;
+
+    @Setup
+    public void setUp() {
+        models = BenchmarkData.models(size);
+    }
+
+    @Benchmark
+    public List<String> callerLoop() {
+        List<String> results = new ArrayList<>(models.size());
+        for (LLMModel model : models) {
+            results.add(loopProcessor.processModel(model));
+        }
+        return results;
+    }
+
+    @Benchmark
+    public List<String> processAllSequential() {
+        return sequentialProcessor.processAll(models);
+    }
+
+    @Benchmark
+    public List<String> processAllParallel() {
+        return parallelProcessor.processAll(models);
+    }
+}
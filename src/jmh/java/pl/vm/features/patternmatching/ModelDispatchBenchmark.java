@@ -0,0 +1,94 @@
+package pl.vm.features.patternmatching;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import pl.vm.features.benchmarks.BenchmarkData;
+import pl.vm.features.sealed.model.LLMModel;
+
+/**
+ * Per-call comparison of the instanceof chains in {@link ModelProcessor} with the switch and
+ * lookup tables in {@link ModelDispatchProcessor} and the memoized
+ * {@link CachingModelProcessor}. Run with {@code -prof gc} to see the allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@OperationsPerInvocation(ModelDispatchBenchmark.MODELS)
+public class ModelDispatchBenchmark {
+    static final int MODELS = 1024;
+
+    private final ModelProcessor instanceofProcessor = new ModelProcessor();
+    private final ModelDispatchProcessor dispatchProcessor = new ModelDispatchProcessor();
+    private final CachingModelProcessor cachingProcessor = new CachingModelProcessor();
+    private LLMModel[] models;
+
+    @Setup
+    public void setUp() {
+        models = BenchmarkData.models(MODELS).toArray(LLMModel[]::new);
+    }
+
+    @Benchmark
+    public void processModelInstanceof(Blackhole blackhole) {
+        for (LLMModel model : models) {
+            blackhole.consume(instanceofProcessor.processModel(model));
+        }
+    }
+
+    @Benchmark
+    public void processModelDispatch(Blackhole blackhole) {
+        for (LLMModel model : models) {
+            blackhole.consume(dispatchProcessor.processModel(model));
+        }
+    }
+
+    @Benchmark
+    public void processModelWithConditionsInstanceof(Blackhole blackhole) {
+        for (LLMModel model : models) {
+            blackhole.consume(instanceofProcessor.processModelWithConditions(model));
+        }
+    }
+
+    @Benchmark
+    public void processModelWithConditionsDispatch(Blackhole blackhole) {
+        for (LLMModel model : models) {
+            blackhole.consume(dispatchProcessor.processModelWithConditions(model));
+        }
+    }
+
+    @Benchmark
+    public void getModelCapabilitiesInstanceof(Blackhole blackhole) {
+        for (LLMModel model : models) {
+            blackhole.consume(instanceofProcessor.getModelCapabilities(model));
+        }
+    }
+
+    @Benchmark
+    public void getModelCapabilitiesDispatch(Blackhole blackhole) {
+        for (LLMModel model : models) {
+            blackhole.consume(dispatchProcessor.getModelCapabilities(model));
+        }
+    }
+
+    @Benchmark
+    public void getModelCapabilitiesCached(Blackhole blackhole) {
+        for (LLMModel model : models) {
+            blackhole.consume(cachingProcessor.getModelCapabilities(model));
+        }
+    }
+}
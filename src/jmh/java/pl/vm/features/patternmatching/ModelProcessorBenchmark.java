@@ -0,0 +1,65 @@
+package pl.vm.features.patternmatching;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pl.vm.features.benchmarks.BenchmarkData;
+import pl.vm.features.sealed.model.LLMModel;
+
+/**
+ * Measures {@link ModelProcessor} over a mix of all sealed {@link LLMModel} subtypes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ModelProcessorBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    private final ModelProcessor processor = new ModelProcessor();
+    private List<LLMModel> models;
+
+    @Setup
+    public void setUp() {
+        models = BenchmarkData.models(size);
+    }
+
+    @Benchmark
+    public List<String> processModel() {
+        return stream().map(processor::processModel).toList();
+    }
+
+    @Benchmark
+    public List<String> processModelWithConditions() {
+        return stream().map(processor::processModelWithConditions).toList();
+    }
+
+    @Benchmark
+    public List<String> getModelCapabilities() {
+        return stream().map(processor::getModelCapabilities).toList();
+    }
+
+    private Stream<LLMModel> stream() {
+        return parallel ? models.parallelStream() : models.stream();
+    }
+}
@@ -0,0 +1,59 @@
+package pl.vm.features.records;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import pl.vm.features.benchmarks.BenchmarkData;
+
+/**
+ * Bulk validation of a million configs against calling
+ * {@link ModelConfigProcessor#validateConfig(ModelConfig)} per record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "-Xmx4g"})
+public class BulkConfigValidatorBenchmark {
+    static final int CONFIGS = 1_000_000;
+
+    private final ModelConfigProcessor processor = new ModelConfigProcessor();
+    private List<ModelConfig> configs;
+    private ColumnarConfigStore store;
+
+    @Setup
+    public void setUp() {
+        configs = BenchmarkData.configs(CONFIGS);
+        store = ColumnarConfigStore.of(configs);
+    }
+
+    @Benchmark
+    public void validateEach(Blackhole blackhole) {
+        for (ModelConfig config : configs) {
+            blackhole.consume(processor.validateConfig(config));
+        }
+    }
+
+    @Benchmark
+    public BulkConfigValidator.Report validateBulk() {
+        return BulkConfigValidator.validate(configs);
+    }
+
+    @Benchmark
+    public BulkConfigValidator.Report validateBulkColumnar() {
+        return BulkConfigValidator.validate(store);
+    }
+}
@@ -0,0 +1,91 @@
+package pl.vm.features.records;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pl.vm.features.benchmarks.BenchmarkData;
+
+/**
+ * Predicate scans over {@link ColumnarConfigStore} columns against the same predicates
+ * evaluated on a list of {@link ModelConfig} records.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "-Xmx4g"})
+public class ColumnarConfigStoreBenchmark {
+
+    @Param({"100000", "10000000"})
+    public int size;
+
+    private List<ModelConfig> records;
+    private ColumnarConfigStore store;
+
+    @Setup
+    public void setUp() {
+        records = BenchmarkData.configs(size);
+        store = ColumnarConfigStore.of(records);
+    }
+
+    @Benchmark
+    public int countLargeRecords() {
+        int count = 0;
+        for (ModelConfig config : records) {
+            if (config.maxTokens() > 4000) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int countLargeColumnar() {
+        return store.countMaxTokensAbove(4000);
+    }
+
+    @Benchmark
+    public int countPreciseRecords() {
+        int count = 0;
+        for (ModelConfig config : records) {
+            if (config.temperature() < 0.3) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int countPreciseColumnar() {
+        return store.countTemperatureBelow(0.3);
+    }
+
+    @Benchmark
+    public BitSet largeBitsetColumnar() {
+        return store.maxTokensAbove(4000);
+    }
+
+    @Benchmark
+    public BitSet preciseBitsetColumnar() {
+        return store.temperatureBelow(0.3);
+    }
+
+    @Benchmark
+    public int countStreamingColumnar() {
+        return store.countStreaming();
+    }
+}
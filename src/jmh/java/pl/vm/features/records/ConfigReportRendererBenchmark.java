@@ -0,0 +1,81 @@
+package pl.vm.features.records;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import pl.vm.features.benchmarks.BenchmarkData;
+
+/**
+ * Per-config cost of the precompiled {@link ConfigReportRenderer} templates against the former
+ * {@code String.format(Locale.US, ...)} rendering, including appending into a reused builder.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@OperationsPerInvocation(ConfigReportRendererBenchmark.CONFIGS)
+public class ConfigReportRendererBenchmark {
+    static final int CONFIGS = 1024;
+
+    private List<ModelConfig> configs;
+    private final StringBuilder reused = new StringBuilder(256);
+
+    @Setup
+    public void setUp() {
+        configs = BenchmarkData.configs(CONFIGS);
+    }
+
+    @Benchmark
+    public void summaryStringFormat(Blackhole blackhole) {
+        for (ModelConfig config : configs) {
+            blackhole.consume(String.format(Locale.US, """
+                Model: %s
+                Version: %s
+                Max Tokens: %d
+                Temperature: %.2f
+                Streaming: %s
+                Timeout: %d seconds
+                """,
+                config.modelName(), config.version(), config.maxTokens(), config.temperature(),
+                config.streaming(), config.timeoutSeconds()));
+        }
+    }
+
+    @Benchmark
+    public void summaryTemplate(Blackhole blackhole) {
+        for (ModelConfig config : configs) {
+            blackhole.consume(ConfigReportRenderer.summary(config));
+        }
+    }
+
+    @Benchmark
+    public void summaryTemplateReusedBuilder(Blackhole blackhole) {
+        for (ModelConfig config : configs) {
+            reused.setLength(0);
+            blackhole.consume(ConfigReportRenderer.appendSummary(config, reused).length());
+        }
+    }
+
+    @Benchmark
+    public void detailedAnalysisTemplate(Blackhole blackhole) {
+        for (ModelConfig config : configs) {
+            blackhole.consume(ConfigReportRenderer.detailedAnalysis(config));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package pl.vm.features.records;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pl.vm.features.benchmarks.BenchmarkData;
+
+/**
+ * Open time and indexed lookup of a {@link MappedConfigCatalog}. Opening should not depend on the
+ * catalog size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class MappedConfigCatalogBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    private Path file;
+    private MappedConfigCatalog catalog;
+    private String[] names;
+    private String[] versions;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("configs", ".cat");
+        Files.delete(file);
+        List<ModelConfig> configs = BenchmarkData.configs(size);
+        names = new String[size];
+        versions = new String[size];
+        catalog = MappedConfigCatalog.create(file, size);
+        for (int i = 0; i < size; i++) {
+            ModelConfig config = configs.get(i);
+            names[i] = config.modelName() + "-" + i;
+            versions[i] = config.version();
+            catalog.append(new ModelConfig(names[i], versions[i], config.maxTokens(),
+                config.temperature(), config.streaming(), config.timeoutSeconds()));
+        }
+        catalog.force();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        catalog.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int open() throws IOException {
+        try (MappedConfigCatalog opened = MappedConfigCatalog.open(file)) {
+            return opened.size();
+        }
+    }
+
+    @Benchmark
+    public int lookup() {
+        int i = next;
+        next = i + 1 == size ? 0 : i + 1;
+        return catalog.maxTokens(catalog.indexOf(names[i], versions[i]));
+    }
+}
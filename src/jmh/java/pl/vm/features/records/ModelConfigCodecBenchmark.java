@@ -0,0 +1,73 @@
+package pl.vm.features.records;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import pl.vm.features.benchmarks.BenchmarkData;
+
+/**
+ * Binary encoding of {@link ModelConfig} batches against the {@code String.format} text form,
+ * and a field scan over the zero-copy view against a full decode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ModelConfigCodecBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private final ModelConfigProcessor processor = new ModelConfigProcessor();
+    private List<ModelConfig> configs;
+    private ByteBuffer encoded;
+
+    @Setup
+    public void setUp() {
+        configs = BenchmarkData.configs(size);
+        encoded = ModelConfigCodec.encode(configs);
+    }
+
+    @Benchmark
+    public void configSummaryText(Blackhole blackhole) {
+        for (ModelConfig config : configs) {
+            blackhole.consume(processor.getConfigSummary(config));
+        }
+    }
+
+    @Benchmark
+    public ByteBuffer encodeBinary() {
+        return ModelConfigCodec.encode(configs);
+    }
+
+    @Benchmark
+    public List<ModelConfig> decodeBinary() {
+        return ModelConfigCodec.decode(encoded.duplicate());
+    }
+
+    @Benchmark
+    public long sumMaxTokensFromView() {
+        ModelConfigCodec.View view = ModelConfigCodec.view(encoded);
+        long sum = 0;
+        for (int i = 0; i < view.size(); i++) {
+            sum += view.maxTokens(i);
+        }
+        return sum;
+    }
+}
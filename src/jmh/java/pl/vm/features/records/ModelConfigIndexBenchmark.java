@@ -0,0 +1,59 @@
+package pl.vm.features.records;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pl.vm.features.benchmarks.BenchmarkData;
+
+/**
+ * Range query "maxTokens between X and Y and timeout above Z" through {@link ModelConfigIndex}
+ * against a linear scan of the records.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "-Xmx4g"})
+public class ModelConfigIndexBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    private List<ModelConfig> configs;
+    private ModelConfigIndex index;
+
+    @Setup
+    public void setUp() {
+        configs = BenchmarkData.configs(size);
+        index = ModelConfigIndex.of(configs);
+    }
+
+    @Benchmark
+    public int linearScan() {
+        int count = 0;
+        for (ModelConfig config : configs) {
+            if (config.maxTokens() >= 3000 && config.maxTokens() <= 3100 && config.timeoutSeconds() > 60) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int indexedQuery() {
+        return index.query().maxTokensBetween(3000, 3100).timeoutAbove(60).count();
+    }
+}
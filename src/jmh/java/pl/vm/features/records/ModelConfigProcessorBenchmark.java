@@ -0,0 +1,57 @@
+package pl.vm.features.records;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pl.vm.features.benchmarks.BenchmarkData;
+
+/**
+ * Measures {@link ModelConfigProcessor#processConfigs(List)} and a parallel-stream equivalent
+ * built on {@link ModelConfigProcessor#processConfig(ModelConfig)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ModelConfigProcessorBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private final ModelConfigProcessor processor = new ModelConfigProcessor();
+    private List<ModelConfig> configs;
+
+    @Setup
+    public void setUp() {
+        configs = BenchmarkData.configs(size);
+    }
+
+    @Benchmark
+    public List<String> processConfigs() {
+        return processor.processConfigs(configs);
+    }
+
+    @Benchmark
+    public List<String> processConfigSequential() {
+        return configs.stream().map(processor::processConfig).toList();
+    }
+
+    @Benchmark
+    public List<String> processConfigParallel() {
+        return configs.parallelStream().map(processor::processConfig).toList();
+    }
+}
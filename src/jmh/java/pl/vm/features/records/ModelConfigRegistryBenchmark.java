@@ -0,0 +1,65 @@
+package pl.vm.features.records;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import pl.vm.features.benchmarks.BenchmarkData;
+
+/**
+ * Per-lookup cost of {@link ModelConfigRegistry} on presets and on generated configs, for the weak
+ * and the bounded table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@OperationsPerInvocation(ModelConfigRegistryBenchmark.CONFIGS)
+public class ModelConfigRegistryBenchmark {
+    static final int CONFIGS = 1024;
+
+    private final ModelConfigRegistry weak = ModelConfigRegistry.weak();
+    private final ModelConfigRegistry bounded = ModelConfigRegistry.bounded(4096);
+    private final ModelConfig preset = new ModelConfig("code-gen", "1.0", 8192, 0.2, false, 120);
+    private List<ModelConfig> configs;
+
+    @Setup
+    public void setUp() {
+        configs = BenchmarkData.configs(CONFIGS);
+    }
+
+    @Benchmark
+    public void internPreset(Blackhole blackhole) {
+        for (int i = 0; i < CONFIGS; i++) {
+            blackhole.consume(bounded.intern(preset));
+        }
+    }
+
+    @Benchmark
+    public void internWeak(Blackhole blackhole) {
+        for (ModelConfig config : configs) {
+            blackhole.consume(weak.intern(config));
+        }
+    }
+
+    @Benchmark
+    public void internBounded(Blackhole blackhole) {
+        for (ModelConfig config : configs) {
+            blackhole.consume(bounded.intern(config));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package pl.vm.features.records;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pl.vm.features.benchmarks.BenchmarkData;
+
+/**
+ * Scaling of {@link ModelConfigProcessor#processConfigs(List, ForkJoinPool)} with the pool size
+ * on a million configs, against the sequential {@link ModelConfigProcessor#processConfigs(List)}
+ * and the streaming variant.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "-Xmx4g"})
+public class ProcessConfigsBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private final ModelConfigProcessor processor = new ModelConfigProcessor();
+    private List<ModelConfig> configs;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        configs = BenchmarkData.configs(1_000_000);
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public List<String> sequential() {
+        return processor.processConfigs(configs);
+    }
+
+    @Benchmark
+    public List<String> parallel() {
+        return processor.processConfigs(configs, pool);
+    }
+
+    @Benchmark
+    public long streaming() {
+        return processor.processConfigStream(configs.iterator()).mapToInt(String::length).sum();
+    }
+}
@@ -0,0 +1,68 @@
+package pl.vm.features.sealed.model;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pl.vm.features.benchmarks.BenchmarkData;
+
+/**
+ * Measures {@link LLMModel#process(String)} and {@link RAGSystem#process(String)} for different
+ * prompt sizes, on a single thread and with all available threads calling concurrently.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class LLMModelBenchmark {
+
+    @Param({"16", "1024", "65536"})
+    private int inputLength;
+
+    private LLMModel model;
+    private RAGSystem ragSystem;
+    private String input;
+
+    @Setup
+    public void setUp() {
+        model = new ClaudeModel("1.0", "opus", 4096, 0.7);
+        ragSystem = new RAGSystem(model, "kb-001", 5, List.of("docs", "wiki", "tickets"));
+        input = BenchmarkData.input(inputLength);
+    }
+
+    @Benchmark
+    public String llmProcess() {
+        return model.process(input);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String llmProcessContended() {
+        return model.process(input);
+    }
+
+    @Benchmark
+    public String ragProcess() {
+        return ragSystem.process(input);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String ragProcessContended() {
+        return ragSystem.process(input);
+    }
+}
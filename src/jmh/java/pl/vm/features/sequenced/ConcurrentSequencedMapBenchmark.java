@@ -0,0 +1,86 @@
+package pl.vm.features.sequenced;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * LRU cache workload (90% reads, 10% inserts with eviction, occasional {@code lastEntry}) shared
+ * by 8 threads: {@link ConcurrentLinkedSequencedMap} against
+ * {@code Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true))}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@Threads(8)
+public class ConcurrentSequencedMapBenchmark {
+    static final int CAPACITY = 10_000;
+    static final int KEYS = 20_000;
+
+    private LinkedHashMap<Integer, Integer> linkedLru;
+    private Map<Integer, Integer> synchronizedLru;
+    private ConcurrentLinkedSequencedMap<Integer, Integer> concurrentLru;
+
+    @Setup
+    public void setUp() {
+        linkedLru = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Integer> eldest) {
+                return size() > CAPACITY;
+            }
+        };
+        synchronizedLru = Collections.synchronizedMap(linkedLru);
+        concurrentLru = ConcurrentLinkedSequencedMap.lru(CAPACITY);
+        for (int key = 0; key < CAPACITY; key++) {
+            synchronizedLru.put(key, key);
+            concurrentLru.put(key, key);
+        }
+    }
+
+    @Benchmark
+    public Object synchronizedLinkedHashMap() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int key = random.nextInt(KEYS);
+        int operation = random.nextInt(100);
+        if (operation < 90) {
+            return synchronizedLru.get(key);
+        }
+        if (operation < 99) {
+            return synchronizedLru.put(key, key);
+        }
+        synchronized (synchronizedLru) {
+            return linkedLru.lastEntry();
+        }
+    }
+
+    @Benchmark
+    public Object concurrentLinkedSequencedMap() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int key = random.nextInt(KEYS);
+        int operation = random.nextInt(100);
+        if (operation < 90) {
+            return concurrentLru.get(key);
+        }
+        if (operation < 99) {
+            return concurrentLru.put(key, key);
+        }
+        return concurrentLru.lastEntry();
+    }
+}
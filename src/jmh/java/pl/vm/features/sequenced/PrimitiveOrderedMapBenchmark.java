@@ -0,0 +1,137 @@
+package pl.vm.features.sequenced;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Builds and probes {@code size}-entry maps from int ids to int counters, comparing
+ * {@code LinkedHashMap<Integer, Integer>} with {@link IntIntOrderedMap}.
+ *
+ * The {@code *Build} and {@code *Lookup} benchmarks time the operations only. The
+ * {@code *Footprint} benchmarks build once after a warmup build and report the retained heap per
+ * entry as an auxiliary counter, measured as the used-heap delta around the build after forced
+ * GCs. Event counters are summed over iterations, hence a single measured one. Their time score
+ * includes those GCs and is not a build cost. Run single-threaded with a large heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "-Xmx8g"})
+public class PrimitiveOrderedMapBenchmark {
+
+    @Param({"100000", "10000000"})
+    public int size;
+
+    private int[] ids;
+    private Map<Integer, Integer> linkedHashMap;
+    private IntIntOrderedMap orderedMap;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        ids = new int[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = random.nextInt();
+        }
+        linkedHashMap = buildLinkedHashMap();
+        orderedMap = buildOrderedMap();
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public double bytesPerEntry;
+    }
+
+    @Benchmark
+    public Object linkedHashMapBuild() {
+        return buildLinkedHashMap();
+    }
+
+    @Benchmark
+    public Object orderedMapBuild() {
+        return buildOrderedMap();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 1)
+    public Object linkedHashMapFootprint(Footprint footprint) {
+        long before = usedHeap();
+        Map<Integer, Integer> map = buildLinkedHashMap();
+        footprint.bytesPerEntry = (double) (usedHeap() - before) / map.size();
+        return map;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 1)
+    public Object orderedMapFootprint(Footprint footprint) {
+        long before = usedHeap();
+        IntIntOrderedMap map = buildOrderedMap();
+        footprint.bytesPerEntry = (double) (usedHeap() - before) / map.size();
+        return map;
+    }
+
+    @Benchmark
+    public long linkedHashMapLookup() {
+        long sum = 0;
+        for (int id : ids) {
+            sum += linkedHashMap.getOrDefault(id, 0);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long orderedMapLookup() {
+        long sum = 0;
+        for (int id : ids) {
+            sum += orderedMap.get(id);
+        }
+        return sum;
+    }
+
+    private Map<Integer, Integer> buildLinkedHashMap() {
+        Map<Integer, Integer> map = new LinkedHashMap<>();
+        for (int id : ids) {
+            map.merge(id, 1, Integer::sum);
+        }
+        return map;
+    }
+
+    private IntIntOrderedMap buildOrderedMap() {
+        IntIntOrderedMap map = new IntIntOrderedMap();
+        for (int id : ids) {
+            map.addTo(id, 1);
+        }
+        return map;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,93 @@
+package pl.vm.features.sequenced;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Queue-like workload (fill to {@code size}, then {@code size} rounds of removeFirst + addLast,
+ * then drain) on {@link ArrayList}, {@link ArrayDeque}, {@link RingBufferList} and
+ * {@link IntRingBuffer}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class RingBufferBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Benchmark
+    public long arrayList() {
+        return queueWorkload(new ArrayList<>());
+    }
+
+    @Benchmark
+    public long arrayDeque() {
+        ArrayDeque<Integer> deque = new ArrayDeque<>();
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            deque.addLast(i);
+        }
+        for (int i = 0; i < size; i++) {
+            sum += deque.removeFirst();
+            deque.addLast(i);
+        }
+        while (!deque.isEmpty()) {
+            sum += deque.removeFirst();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long ringBufferList() {
+        return queueWorkload(new RingBufferList<>());
+    }
+
+    @Benchmark
+    public long intRingBuffer() {
+        IntRingBuffer buffer = new IntRingBuffer();
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            buffer.addLast(i);
+        }
+        for (int i = 0; i < size; i++) {
+            sum += buffer.removeFirst();
+            buffer.addLast(i);
+        }
+        while (!buffer.isEmpty()) {
+            sum += buffer.removeFirst();
+        }
+        return sum;
+    }
+
+    private long queueWorkload(List<Integer> list) {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            list.addLast(i);
+        }
+        for (int i = 0; i < size; i++) {
+            sum += list.removeFirst();
+            list.addLast(i);
+        }
+        while (!list.isEmpty()) {
+            sum += list.removeFirst();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,94 @@
+package pl.vm.features.virtualthreads;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Overload behaviour with and without {@link AdmissionController}.
+ *
+ * 128 client threads call a handler whose backend serves 8 requests at a time, 2 ms each, so
+ * demand far exceeds capacity. Unprotected, every request queues inside the backend and latency
+ * grows with the backlog; with admission control, excess requests get an immediate 503 and
+ * admitted ones keep close to the backend's own latency. {@code SampleTime} gives the latency
+ * percentiles of all responses; the auxiliary counters split them into served and rejected.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(128)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class AdmissionControlBenchmark {
+
+    private static final ServerRequest REQUEST = new ServerRequest("GET", "/", Map.of(), new byte[0]);
+
+    @Param({"none", "fixed", "aimd", "vegas"})
+    public String admission;
+
+    private RequestHandler handler;
+
+    @Setup
+    public void setUp() {
+        Semaphore backend = new Semaphore(8, true);
+        RequestHandler unprotected = request -> {
+            backend.acquire();
+            try {
+                Thread.sleep(2);
+            } finally {
+                backend.release();
+            }
+            return ServerResponse.text(200, "ok");
+        };
+        Duration maxQueueTime = Duration.ofMillis(5);
+        Duration dropLatency = Duration.ofMillis(10);
+        handler = switch (admission) {
+            case "none" -> unprotected;
+            case "fixed" -> protect(unprotected, new AdmissionController.Config(
+                16, null, 16, maxQueueTime, null));
+            case "aimd" -> protect(unprotected, new AdmissionController.Config(
+                128, ConcurrencyLimit.aimd(32, 1, 128, 0.9), 16, maxQueueTime, dropLatency));
+            case "vegas" -> protect(unprotected, new AdmissionController.Config(
+                128, ConcurrencyLimit.vegas(32, 1, 128), 16, maxQueueTime, dropLatency));
+            default -> throw new IllegalArgumentException("Unknown admission mode: " + admission);
+        };
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Outcomes {
+        public long served;
+        public long rejected;
+    }
+
+    @Benchmark
+    public ServerResponse request(Outcomes outcomes) throws Exception {
+        ServerResponse response = handler.handle(REQUEST);
+        if (response.status() == 503) {
+            outcomes.rejected++;
+        } else {
+            outcomes.served++;
+        }
+        return response;
+    }
+
+    private static RequestHandler protect(RequestHandler handler, AdmissionController.Config config) {
+        return new AdmissionController(config).protect(handler);
+    }
+}
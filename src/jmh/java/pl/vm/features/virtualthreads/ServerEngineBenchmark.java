@@ -0,0 +1,88 @@
+package pl.vm.features.virtualthreads;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Local load generator comparing {@link VirtualThreadServer} ({@code httpserver}) with
+ * {@link NioServer} ({@code nio}) under the same handler.
+ *
+ * 64 client threads send requests back to back over keep-alive connections. The
+ * {@code Throughput} result is requests per second; the {@code SampleTime} result reports latency
+ * percentiles, including p0.99. {@code workMillis} adds a blocking sleep in the handler to model
+ * I/O-bound requests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ServerEngineBenchmark {
+
+    @Param({"httpserver", "nio"})
+    public String engine;
+
+    @Param({"0", "10"})
+    public int workMillis;
+
+    private ServerEngine server;
+    private HttpClient httpClient;
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() throws IOException {
+        RequestHandler handler = request -> {
+            if (workMillis > 0) {
+                Thread.sleep(Duration.ofMillis(workMillis));
+            }
+            return ServerResponse.text(200, "ok");
+        };
+        server = switch (engine) {
+            case "httpserver" -> new VirtualThreadServer(0, handler);
+            case "nio" -> new NioServer(0, handler);
+            default -> throw new IllegalArgumentException("Unknown engine: " + engine);
+        };
+        server.start();
+        httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+        request = HttpRequest.newBuilder()
+            .uri(URI.create("http://localhost:" + server.getPort() + "/"))
+            .GET()
+            .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        httpClient.close();
+        server.stop();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public int request() throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
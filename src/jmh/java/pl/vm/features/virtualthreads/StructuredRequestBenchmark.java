@@ -0,0 +1,60 @@
+package pl.vm.features.virtualthreads;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency distribution of a request that needs retrieval and model processing (each a sleep of
+ * 5-15 ms), run one after the other versus forked under {@link StructuredRequestHandler}. The
+ * structured p0.99 should track the slower subtask instead of the sum.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class StructuredRequestBenchmark {
+
+    private static final ServerRequest REQUEST = new ServerRequest("GET", "/", Map.of(), new byte[0]);
+
+    private final RequestHandler sequential = request ->
+        ServerResponse.text(200, simulateCall() + simulateCall());
+
+    private final RequestHandler structured = new StructuredRequestHandler(Duration.ofSeconds(1), (request, scope) -> {
+        Supplier<String> retrieval = scope.fork(StructuredRequestBenchmark::simulateCall);
+        Supplier<String> processing = scope.fork(StructuredRequestBenchmark::simulateCall);
+        scope.join();
+        return ServerResponse.text(200, retrieval.get() + processing.get());
+    });
+
+    @Benchmark
+    public ServerResponse sequentialSubtasks() throws Exception {
+        return sequential.handle(REQUEST);
+    }
+
+    @Benchmark
+    public ServerResponse structuredSubtasks() throws Exception {
+        return structured.handle(REQUEST);
+    }
+
+    private static String simulateCall() throws InterruptedException {
+        Thread.sleep(ThreadLocalRandom.current().nextLong(5, 16));
+        return "ok";
+    }
+}
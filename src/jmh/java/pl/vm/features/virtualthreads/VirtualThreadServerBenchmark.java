@@ -0,0 +1,77 @@
+package pl.vm.features.virtualthreads;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Runs an in-process request loop against {@link VirtualThreadServer} bound to an ephemeral port.
+ * Each invocation fires {@code concurrentRequests} requests at once and waits for all responses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class VirtualThreadServerBenchmark {
+
+    @Param({"1", "64", "1024"})
+    private int concurrentRequests;
+
+    private VirtualThreadServer server;
+    private HttpClient httpClient;
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = new VirtualThreadServer(0);
+        server.start();
+        httpClient = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+        request = HttpRequest.newBuilder()
+            .uri(URI.create("http://localhost:" + server.getPort()))
+            .GET()
+            .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop();
+        httpClient.close();
+    }
+
+    @Benchmark
+    public List<HttpResponse<byte[]>> requestLoop() {
+        List<CompletableFuture<HttpResponse<byte[]>>> futures = new ArrayList<>(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            futures.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()));
+        }
+        List<HttpResponse<byte[]>> responses = new ArrayList<>(concurrentRequests);
+        for (CompletableFuture<HttpResponse<byte[]>> future : futures) {
+            responses.add(future.join());
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,79 @@
+package pl.vm.features.gatherers;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe counters describing the batches produced by {@link BatchingGatherers}.
+ * One instance can be shared by many streams running concurrently.
+ */
+public final class BatchMetrics {
+
+    /**
+     * Reason a batch was flushed.
+     */
+    public enum FlushReason {
+        /** The batch reached the maximum number of elements. */
+        SIZE,
+        /** The next element would exceed the token budget, or a single element used it up. */
+        TOKENS,
+        /** The oldest element in the batch waited longer than the maximum wait. */
+        TIMEOUT,
+        /** The stream ended with a partially filled batch. */
+        END_OF_STREAM
+    }
+
+    /**
+     * Point-in-time view of the counters.
+     *
+     * @param batches        number of flushed batches
+     * @param items          number of elements in all batches
+     * @param tokens         number of tokens in all batches
+     * @param itemFillRatio  average share of the item limit used by a batch, 0 when nothing was flushed
+     * @param tokenFillRatio average share of the token budget used by a batch, 0 when nothing was flushed
+     * @param flushes        number of batches flushed for each reason
+     */
+    public record Snapshot(long batches, long items, long tokens, double itemFillRatio, double tokenFillRatio,
+                           Map<FlushReason, Long> flushes) {
+    }
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder items = new LongAdder();
+    private final LongAdder tokens = new LongAdder();
+    private final LongAdder itemCapacity = new LongAdder();
+    private final LongAdder tokenCapacity = new LongAdder();
+    private final LongAdder[] flushes = new LongAdder[FlushReason.values().length];
+
+    public BatchMetrics() {
+        for (int i = 0; i < flushes.length; i++) {
+            flushes[i] = new LongAdder();
+        }
+    }
+
+    void recordFlush(FlushReason reason, int batchItems, long batchTokens, BatchPolicy policy) {
+        batches.increment();
+        items.add(batchItems);
+        tokens.add(batchTokens);
+        itemCapacity.add(policy.maxItems());
+        tokenCapacity.add(policy.maxTokens());
+        flushes[reason.ordinal()].increment();
+    }
+
+    public Snapshot snapshot() {
+        Map<FlushReason, Long> byReason = new EnumMap<>(FlushReason.class);
+        for (FlushReason reason : FlushReason.values()) {
+            byReason.put(reason, flushes[reason.ordinal()].sum());
+        }
+        long itemLimit = itemCapacity.sum();
+        long tokenLimit = tokenCapacity.sum();
+        return new Snapshot(
+            batches.sum(),
+            items.sum(),
+            tokens.sum(),
+            itemLimit == 0 ? 0.0 : (double) items.sum() / itemLimit,
+            tokenLimit == 0 ? 0.0 : (double) tokens.sum() / tokenLimit,
+            Map.copyOf(byReason)
+        );
+    }
+}
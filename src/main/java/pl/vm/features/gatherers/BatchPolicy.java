@@ -0,0 +1,25 @@
+package pl.vm.features.gatherers;
+
+import java.time.Duration;
+
+/**
+ * Limits that close a micro-batch. A batch is flushed as soon as any limit is reached.
+ *
+ * @param maxItems  maximum number of elements in a batch
+ * @param maxTokens maximum total number of tokens in a batch
+ * @param maxWait   maximum time between the first element of a batch and its flush
+ */
+public record BatchPolicy(int maxItems, int maxTokens, Duration maxWait) {
+
+    public BatchPolicy {
+        if (maxItems < 1) {
+            throw new IllegalArgumentException("Max items must be positive: " + maxItems);
+        }
+        if (maxTokens < 1) {
+            throw new IllegalArgumentException("Max tokens must be positive: " + maxTokens);
+        }
+        if (maxWait == null || maxWait.isNegative() || maxWait.isZero()) {
+            throw new IllegalArgumentException("Max wait must be positive: " + maxWait);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package pl.vm.features.gatherers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntFunction;
+import java.util.stream.Gatherer;
+
+import pl.vm.features.gatherers.BatchMetrics.FlushReason;
+import pl.vm.features.sealed.model.LLMModel;
+
+/**
+ * Micro-batching gatherers that coalesce elements (for example prompts) into batches before
+ * they are handed to a model.
+ *
+ * A batch is flushed when it reaches the item limit, when the next element would exceed the token
+ * budget, when its oldest element has waited longer than the maximum wait, or when the stream ends.
+ * Works for bounded and unbounded streams alike, a batch never waits for the end of the stream.
+ *
+ * Gatherers are driven by the elements flowing through them and may only push from the thread
+ * evaluating the stream, so the wait limit is checked whenever an element arrives: a batch that
+ * timed out is flushed before the late element is added. With a producer that stalls for a long
+ * time the last batch is therefore flushed by the next element or by the end of the stream.
+ */
+public final class BatchingGatherers {
+
+    private BatchingGatherers() {
+    }
+
+    /**
+     * Groups elements into batches limited by the given policy.
+     *
+     * @param policy  limits of a single batch
+     * @param tokens  number of tokens an element contributes to the token budget
+     * @param metrics counters updated on every flush
+     */
+    public static <T> Gatherer<T, ?, List<T>> microBatch(BatchPolicy policy, ToIntFunction<? super T> tokens,
+                                                          BatchMetrics metrics) {
+        return microBatch(policy, tokens, metrics, System::nanoTime);
+    }
+
+    /**
+     * Groups prompts into batches whose total estimated tokens fit into the model's
+     * {@link LLMModel#getMaxTokens() token budget}.
+     */
+    public static Gatherer<String, ?, List<String>> forModel(LLMModel model, int maxItems, Duration maxWait,
+                                                             BatchMetrics metrics) {
+        BatchPolicy policy = new BatchPolicy(maxItems, model.getMaxTokens(), maxWait);
+        return microBatch(policy, BatchingGatherers::estimateTokens, metrics);
+    }
+
+    /**
+     * Rough token estimate for English prompts, about four characters per token.
+     */
+    public static int estimateTokens(String prompt) {
+        return Math.max(1, (prompt.length() + 3) / 4);
+    }
+
+    static <T> Gatherer<T, ?, List<T>> microBatch(BatchPolicy policy, ToIntFunction<? super T> tokens,
+                                                   BatchMetrics metrics, LongSupplier nanoClock) {
+        Objects.requireNonNull(policy);
+        Objects.requireNonNull(tokens);
+        Objects.requireNonNull(metrics);
+        long maxWaitNanos = policy.maxWait().toNanos();
+        return Gatherer.<T, Batch<T>, List<T>>ofSequential(
+            () -> new Batch<>(policy, metrics),
+            Gatherer.Integrator.ofGreedy((batch, element, downstream) -> {
+                long now = nanoClock.getAsLong();
+                if (!batch.isEmpty() && now - batch.startedAt >= maxWaitNanos
+                        && !batch.flush(FlushReason.TIMEOUT, downstream)) {
+                    return false;
+                }
+                int elementTokens = tokens.applyAsInt(element);
+                if (!batch.isEmpty() && batch.tokens + elementTokens > policy.maxTokens()
+                        && !batch.flush(FlushReason.TOKENS, downstream)) {
+                    return false;
+                }
+                batch.add(element, elementTokens, now);
+                if (batch.items.size() >= policy.maxItems()) {
+                    return batch.flush(FlushReason.SIZE, downstream);
+                }
+                if (batch.tokens >= policy.maxTokens()) {
+                    return batch.flush(FlushReason.TOKENS, downstream);
+                }
+                return true;
+            }),
+            (batch, downstream) -> {
+                if (!batch.isEmpty()) {
+                    batch.flush(FlushReason.END_OF_STREAM, downstream);
+                }
+            }
+        );
+    }
+
+    /**
+     * Batch under construction.
+     */
+    private static final class Batch<T> {
+        private static final int MAX_INITIAL_CAPACITY = 1024;
+
+        private final BatchPolicy policy;
+        private final BatchMetrics metrics;
+        private List<T> items;
+        private long tokens;
+        private long startedAt;
+
+        Batch(BatchPolicy policy, BatchMetrics metrics) {
+            this.policy = policy;
+            this.metrics = metrics;
+            this.items = newItems();
+        }
+
+        boolean isEmpty() {
+            return items.isEmpty();
+        }
+
+        void add(T element, int elementTokens, long now) {
+            if (items.isEmpty()) {
+                startedAt = now;
+            }
+            items.add(element);
+            tokens += elementTokens;
+        }
+
+        boolean flush(FlushReason reason, Gatherer.Downstream<? super List<T>> downstream) {
+            List<T> flushed = items;
+            metrics.recordFlush(reason, flushed.size(), tokens, policy);
+            items = newItems();
+            tokens = 0;
+            return downstream.push(Collections.unmodifiableList(flushed));
+        }
+
+        private List<T> newItems() {
+            return new ArrayList<>(Math.min(policy.maxItems(), MAX_INITIAL_CAPACITY));
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package pl.vm.features.gatherers;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.stream.Gatherer;
+
+/**
+ * Fixed-size chunking gatherers that can be used on parallel streams.
+ *
+ * A split of a parallel stream does not know its offset in the whole stream, so it cannot decide
+ * where a chunk boundary falls. Instead of pushing chunks from the integrator (which produces
+ * misaligned chunks once splits are combined), each split only appends its elements to a
+ * segmented buffer:
+ * 1. Initializer - Creates an empty segmented buffer
+ * 2. Integrator - Appends the element to the current segment, never pushes
+ * 3. Combiner - Links the segments of the right split after the left ones without copying
+ * 4. Finisher - Walks the segments once and emits chunks in encounter order
+ *
+ * The upstream work of every split runs in parallel and combining is O(number of segments).
+ * Chunks that lie within a single segment are emitted as read-only views over that segment,
+ * only chunks crossing a segment boundary are copied. The output is identical to a sequential run.
+ *
+ * Note that the whole input is buffered before the first chunk is emitted, so for sequential or
+ * infinite streams {@link java.util.stream.Gatherers#windowFixed(int)} is the better choice.
+ */
+public final class ChunkingGatherers {
+
+    private ChunkingGatherers() {
+    }
+
+    /**
+     * Groups consecutive elements into pairs. The last pair has a single element when the
+     * stream has an odd number of elements.
+     */
+    public static <T> Gatherer<T, ?, List<T>> pairs() {
+        return fixedSize(2);
+    }
+
+    /**
+     * Groups consecutive elements into chunks of {@code size} elements. The last chunk holds the
+     * remaining elements when the number of elements is not a multiple of {@code size}.
+     */
+    public static <T> Gatherer<T, ?, List<T>> fixedSize(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + size);
+        }
+        return Gatherer.<T, SegmentedBuffer<T>, List<T>>of(
+            SegmentedBuffer::new,
+            Gatherer.Integrator.ofGreedy((state, element, downstream) -> {
+                state.add(element);
+                return true;
+            }),
+            SegmentedBuffer::append,
+            (state, downstream) -> state.emitChunks(size, downstream)
+        );
+    }
+
+    /**
+     * Append-only buffer made of arrays that are never copied once filled.
+     */
+    static final class SegmentedBuffer<T> {
+        private static final int FIRST_SEGMENT_CAPACITY = 16;
+        private static final int MAX_SEGMENT_CAPACITY = 1 << 14;
+
+        private final List<Segment> segments = new ArrayList<>();
+        private Object[] tail;
+        private int tailSize;
+
+        void add(T element) {
+            if (tail == null || tailSize == tail.length) {
+                int capacity = tail == null ? FIRST_SEGMENT_CAPACITY : Math.min(tail.length * 2, MAX_SEGMENT_CAPACITY);
+                seal();
+                tail = new Object[capacity];
+            }
+            tail[tailSize++] = element;
+        }
+
+        SegmentedBuffer<T> append(SegmentedBuffer<T> other) {
+            seal();
+            other.seal();
+            segments.addAll(other.segments);
+            return this;
+        }
+
+        void emitChunks(int size, Gatherer.Downstream<? super List<T>> downstream) {
+            seal();
+            Object[] pending = null;
+            int pendingSize = 0;
+            for (Segment segment : segments) {
+                int position = 0;
+                if (pending != null) {
+                    int count = Math.min(size - pendingSize, segment.length());
+                    System.arraycopy(segment.elements(), 0, pending, pendingSize, count);
+                    pendingSize += count;
+                    position = count;
+                    if (pendingSize < size) {
+                        continue;
+                    }
+                    if (!downstream.push(new ArrayChunk<>(pending, 0, size))) {
+                        return;
+                    }
+                    pending = null;
+                    pendingSize = 0;
+                }
+                while (segment.length() - position >= size) {
+                    if (!downstream.push(new ArrayChunk<>(segment.elements(), position, size))) {
+                        return;
+                    }
+                    position += size;
+                }
+                if (position < segment.length()) {
+                    pending = new Object[size];
+                    pendingSize = segment.length() - position;
+                    System.arraycopy(segment.elements(), position, pending, 0, pendingSize);
+                }
+            }
+            if (pendingSize > 0) {
+                downstream.push(new ArrayChunk<>(pending, 0, pendingSize));
+            }
+        }
+
+        private void seal() {
+            if (tailSize > 0) {
+                segments.add(new Segment(tail, tailSize));
+            }
+            tail = null;
+            tailSize = 0;
+        }
+    }
+
+    private record Segment(Object[] elements, int length) {
+    }
+
+    /**
+     * Read-only list view over a range of an array.
+     */
+    static final class ArrayChunk<T> extends AbstractList<T> implements RandomAccess {
+        private final Object[] elements;
+        private final int offset;
+        private final int size;
+
+        ArrayChunk(Object[] elements, int offset, int size) {
+            this.elements = elements;
+            this.offset = offset;
+            this.size = size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            Objects.checkIndex(index, size);
+            return (T) elements[offset + index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
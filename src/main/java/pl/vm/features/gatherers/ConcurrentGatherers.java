@@ -0,0 +1,365 @@
+package pl.vm.features.gatherers;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Gatherer;
+
+/**
+ * Gatherers that fan slow calls (for example {@code RAGSystem.process}) out to virtual threads.
+ *
+ * Every element is mapped on its own virtual thread, with at most {@code maxConcurrency} mappings
+ * started and not yet emitted at any time. When the window is full, the stream thread waits for a
+ * result before it accepts the next element, so a fast upstream never buffers more than one window
+ * of results (backpressure).
+ *
+ * If a mapping fails or exceeds its timeout, all mappings still in flight are cancelled and the
+ * stream fails with {@link ConcurrentMappingException}. A mapping that returns after its deadline
+ * counts as timed out even if nobody was waiting for it yet, and overdue mappings are detected each
+ * time an element is accepted, not only when their result is next in line. The same cancellation
+ * happens when the downstream stops accepting elements, for example after {@code limit}.
+ */
+public final class ConcurrentGatherers {
+
+    private ConcurrentGatherers() {
+    }
+
+    /**
+     * Order in which mapped results are emitted.
+     */
+    public enum OutputOrder {
+        /** Results are emitted in the encounter order of their elements. */
+        ENCOUNTER,
+        /** Results are emitted as soon as they complete. */
+        COMPLETION
+    }
+
+    /**
+     * Thrown when a concurrent mapping fails, times out or the stream thread is interrupted.
+     */
+    public static final class ConcurrentMappingException extends RuntimeException {
+        public ConcurrentMappingException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    /**
+     * Maps elements on virtual threads and emits results in encounter order, without a timeout.
+     */
+    public static <T, R> Gatherer<T, ?, R> mapConcurrent(int maxConcurrency, Function<? super T, ? extends R> mapper) {
+        return mapConcurrent(maxConcurrency, OutputOrder.ENCOUNTER, null, mapper);
+    }
+
+    /**
+     * Maps elements on virtual threads.
+     *
+     * @param maxConcurrency maximum number of mappings started and not yet emitted
+     * @param order          order in which results are emitted
+     * @param timeout        maximum duration of a single mapping, or {@code null} for no limit
+     * @param mapper         mapping function, called on a virtual thread
+     */
+    public static <T, R> Gatherer<T, ?, R> mapConcurrent(int maxConcurrency, OutputOrder order, Duration timeout,
+                                                        Function<? super T, ? extends R> mapper) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Max concurrency must be positive: " + maxConcurrency);
+        }
+        if (timeout != null && (timeout.isNegative() || timeout.isZero())) {
+            throw new IllegalArgumentException("Timeout must be positive: " + timeout);
+        }
+        Objects.requireNonNull(order);
+        Objects.requireNonNull(mapper);
+        long timeoutNanos = timeout == null ? Long.MAX_VALUE : timeout.toNanos();
+        ThreadFactory threads = Thread.ofVirtual().name("map-concurrent-", 0).factory();
+        return Gatherer.<T, Window<T, R>, R>ofSequential(
+            () -> order == OutputOrder.ENCOUNTER
+                ? new EncounterOrderWindow<>(maxConcurrency, timeoutNanos, threads, mapper)
+                : new CompletionOrderWindow<>(maxConcurrency, timeoutNanos, threads, mapper),
+            Gatherer.Integrator.ofGreedy(Window::accept),
+            Window::finish
+        );
+    }
+
+    /**
+     * Mappings started and not yet emitted.
+     */
+    private abstract static sealed class Window<T, R> permits EncounterOrderWindow, CompletionOrderWindow {
+        private final int maxConcurrency;
+        private final long timeoutNanos;
+        private final ThreadFactory threads;
+        private final Function<? super T, ? extends R> mapper;
+
+        Window(int maxConcurrency, long timeoutNanos, ThreadFactory threads, Function<? super T, ? extends R> mapper) {
+            this.maxConcurrency = maxConcurrency;
+            this.timeoutNanos = timeoutNanos;
+            this.threads = threads;
+            this.mapper = mapper;
+        }
+
+        boolean accept(T element, Gatherer.Downstream<? super R> downstream) {
+            try {
+                while (size() >= maxConcurrency) {
+                    if (!emitNext(downstream)) {
+                        cancelAll();
+                        return false;
+                    }
+                }
+                Task<R> task = new Task<>(() -> mapper.apply(element), deadline(), this);
+                add(task);
+                threads.newThread(task).start();
+                if (!emitCompleted(downstream)) {
+                    cancelAll();
+                    return false;
+                }
+                return true;
+            } catch (RuntimeException e) {
+                cancelAll();
+                throw e;
+            }
+        }
+
+        void finish(Gatherer.Downstream<? super R> downstream) {
+            try {
+                while (size() > 0) {
+                    if (!emitNext(downstream)) {
+                        break;
+                    }
+                }
+            } finally {
+                cancelAll();
+            }
+        }
+
+        /**
+         * Waits for the next result in output order and pushes it.
+         */
+        abstract boolean emitNext(Gatherer.Downstream<? super R> downstream);
+
+        /**
+         * Pushes results that are already available without waiting.
+         */
+        abstract boolean emitCompleted(Gatherer.Downstream<? super R> downstream);
+
+        abstract void add(Task<R> task);
+
+        abstract int size();
+
+        abstract Iterator<Task<R>> inFlight();
+
+        void completed(Task<R> task) {
+        }
+
+        /**
+         * Waits until the task completes or its deadline passes and returns its result.
+         */
+        R await(Task<R> task) {
+            try {
+                long remaining = task.deadline - System.nanoTime();
+                R result = task.get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+                if (expired(task, task.completedAt)) {
+                    Duration late = Duration.ofNanos(task.completedAt - task.deadline);
+                    throw new TimeoutException("Completed " + late + " late");
+                }
+                return result;
+            } catch (TimeoutException e) {
+                throw new ConcurrentMappingException("Mapping timed out after " + Duration.ofNanos(timeoutNanos), e);
+            } catch (ExecutionException e) {
+                if (expired(task, task.completedAt)) {
+                    throw new ConcurrentMappingException(
+                        "Mapping timed out after " + Duration.ofNanos(timeoutNanos), e.getCause());
+                }
+                throw new ConcurrentMappingException("Mapping failed", e.getCause());
+            } catch (CancellationException e) {
+                throw new ConcurrentMappingException("Mapping was cancelled", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ConcurrentMappingException("Interrupted while waiting for a mapping", e);
+            }
+        }
+
+        /**
+         * Whether {@code task} had passed its deadline at {@code nanoTime}.
+         */
+        boolean expired(Task<R> task, long nanoTime) {
+            return timeoutNanos != Long.MAX_VALUE && nanoTime - task.deadline > 0;
+        }
+
+        void cancelAll() {
+            for (Iterator<Task<R>> tasks = inFlight(); tasks.hasNext(); ) {
+                tasks.next().cancel(true);
+                tasks.remove();
+            }
+        }
+
+        private long deadline() {
+            long now = System.nanoTime();
+            return timeoutNanos > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + timeoutNanos;
+        }
+    }
+
+    private static final class EncounterOrderWindow<T, R> extends Window<T, R> {
+        private final ArrayDeque<Task<R>> tasks = new ArrayDeque<>();
+
+        EncounterOrderWindow(int maxConcurrency, long timeoutNanos, ThreadFactory threads,
+                             Function<? super T, ? extends R> mapper) {
+            super(maxConcurrency, timeoutNanos, threads, mapper);
+        }
+
+        @Override
+        boolean emitNext(Gatherer.Downstream<? super R> downstream) {
+            R result = await(tasks.peekFirst());
+            tasks.pollFirst();
+            return downstream.push(result);
+        }
+
+        /**
+         * Also emits an overdue head, which fails the stream. Deadlines follow encounter order, so
+         * when the head is not overdue no other task is.
+         */
+        @Override
+        boolean emitCompleted(Gatherer.Downstream<? super R> downstream) {
+            while (!tasks.isEmpty() && doneOrExpired(tasks.peekFirst())) {
+                if (!emitNext(downstream)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        void add(Task<R> task) {
+            tasks.addLast(task);
+        }
+
+        private boolean doneOrExpired(Task<R> task) {
+            return task.isDone() || expired(task, System.nanoTime());
+        }
+
+        @Override
+        int size() {
+            return tasks.size();
+        }
+
+        @Override
+        Iterator<Task<R>> inFlight() {
+            return tasks.iterator();
+        }
+    }
+
+    private static final class CompletionOrderWindow<T, R> extends Window<T, R> {
+        // Insertion order keeps the task with the earliest deadline first
+        private final LinkedHashSet<Task<R>> tasks = new LinkedHashSet<>();
+        private final BlockingQueue<Task<R>> completions = new LinkedBlockingQueue<>();
+
+        CompletionOrderWindow(int maxConcurrency, long timeoutNanos, ThreadFactory threads,
+                              Function<? super T, ? extends R> mapper) {
+            super(maxConcurrency, timeoutNanos, threads, mapper);
+        }
+
+        @Override
+        boolean emitNext(Gatherer.Downstream<? super R> downstream) {
+            Task<R> oldest = tasks.iterator().next();
+            Task<R> completed;
+            try {
+                completed = completions.poll(Math.max(0, oldest.deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ConcurrentMappingException("Interrupted while waiting for a mapping", e);
+            }
+            // Nothing completed before the oldest deadline, awaiting it reports the timeout
+            return emit(completed != null ? completed : oldest, downstream);
+        }
+
+        @Override
+        boolean emitCompleted(Gatherer.Downstream<? super R> downstream) {
+            Task<R> completed;
+            while ((completed = completions.poll()) != null) {
+                if (!emit(completed, downstream)) {
+                    return false;
+                }
+            }
+            if (!tasks.isEmpty()) {
+                Task<R> oldest = tasks.iterator().next();
+                if (expired(oldest, System.nanoTime())) {
+                    // Awaiting an overdue task reports the timeout
+                    return emit(oldest, downstream);
+                }
+            }
+            return true;
+        }
+
+        @Override
+        void add(Task<R> task) {
+            tasks.add(task);
+        }
+
+        @Override
+        int size() {
+            return tasks.size();
+        }
+
+        @Override
+        Iterator<Task<R>> inFlight() {
+            return tasks.iterator();
+        }
+
+        @Override
+        void completed(Task<R> task) {
+            completions.add(task);
+        }
+
+        private boolean emit(Task<R> task, Gatherer.Downstream<? super R> downstream) {
+            if (!tasks.contains(task)) {
+                // Cancelled by cancelAll and already removed from the window
+                return true;
+            }
+            R result = await(task);
+            tasks.remove(task);
+            return downstream.push(result);
+        }
+    }
+
+    /**
+     * Mapping of a single element, reporting its completion to the owning window.
+     */
+    private static final class Task<R> extends FutureTask<R> {
+        private final long deadline;
+        private final Window<?, R> window;
+        // Written before the outcome is published, so it is visible to anyone who saw the outcome
+        private long completedAt;
+
+        Task(Callable<R> mapping, long deadline, Window<?, R> window) {
+            super(mapping);
+            this.deadline = deadline;
+            this.window = window;
+        }
+
+        @Override
+        protected void set(R result) {
+            completedAt = System.nanoTime();
+            super.set(result);
+        }
+
+        @Override
+        protected void setException(Throwable failure) {
+            completedAt = System.nanoTime();
+            super.setException(failure);
+        }
+
+        @Override
+        protected void done() {
+            window.completed(this);
+        }
+    }
+}
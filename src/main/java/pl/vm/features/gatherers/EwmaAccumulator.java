@@ -0,0 +1,58 @@
+package pl.vm.features.gatherers;
+
+/**
+ * Mutable exponentially weighted moving average over primitive doubles.
+ *
+ * The average is seeded with the first value and then follows
+ * {@code average = alpha * value + (1 - alpha) * average}. Besides the average, the accumulator
+ * keeps the result as a linear function of whatever average preceded its first value
+ * ({@code average = offset + decay * previous}), which lets two accumulators built over adjacent
+ * splits be merged exactly.
+ */
+final class EwmaAccumulator {
+    private final double alpha;
+    private long count;
+    private double average;
+    private double offset;
+    private double decay = 1.0;
+
+    EwmaAccumulator(double alpha) {
+        this.alpha = requireAlpha(alpha);
+    }
+
+    static double requireAlpha(double alpha) {
+        if (!(alpha > 0.0 && alpha <= 1.0)) {
+            throw new IllegalArgumentException("Alpha must be in (0, 1]: " + alpha);
+        }
+        return alpha;
+    }
+
+    void accept(double value) {
+        average = count == 0 ? value : alpha * value + (1.0 - alpha) * average;
+        offset = alpha * value + (1.0 - alpha) * offset;
+        decay *= 1.0 - alpha;
+        count++;
+    }
+
+    EwmaAccumulator combine(EwmaAccumulator other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            return other;
+        }
+        average = other.offset + other.decay * average;
+        offset = other.offset + other.decay * offset;
+        decay *= other.decay;
+        count += other.count;
+        return this;
+    }
+
+    long count() {
+        return count;
+    }
+
+    double average() {
+        return count == 0 ? Double.NaN : average;
+    }
+}
@@ -0,0 +1,250 @@
+package pl.vm.features.gatherers;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Gatherer;
+
+/**
+ * Builds a chain of map, filter and fixed-window stages and compiles it into a single gatherer.
+ *
+ * Chaining gatherers with {@link Gatherer#andThen(Gatherer)} passes every element through one
+ * downstream hop per stage, and a window stage allocates a new list for every window, even when
+ * the next stage immediately filters it out. A compiled pipeline instead runs all stages in one
+ * integrator loop:
+ * 1. Map and filter stages are applied in place, without downstream hops
+ * 2. Window stages collect elements into a reusable array and hand a read-only view to the next stage
+ * 3. A window is copied into a new list only if it reaches the end of the pipeline
+ *
+ * Functions and predicates that follow a window receive a view that is only valid for the
+ * duration of the call, so they must not keep a reference to it.
+ *
+ * Pipelines without window stages are stateless and can be evaluated in parallel. Window stages
+ * depend on encounter order, so pipelines containing them are evaluated sequentially.
+ *
+ * @param <T> type of the elements entering the pipeline
+ * @param <R> type of the elements leaving the pipeline
+ */
+public final class GathererPipeline<T, R> {
+    private final List<Stage> stages;
+
+    private GathererPipeline(List<Stage> stages) {
+        this.stages = stages;
+    }
+
+    /**
+     * Starts an empty pipeline that passes elements through unchanged.
+     */
+    public static <T> GathererPipeline<T, T> of() {
+        return new GathererPipeline<>(List.of());
+    }
+
+    /**
+     * Appends a stage that transforms every element.
+     */
+    @SuppressWarnings("unchecked")
+    public <U> GathererPipeline<T, U> map(Function<? super R, ? extends U> mapper) {
+        Objects.requireNonNull(mapper);
+        return append(new Stage(Kind.MAP, (Function<Object, Object>) mapper, 0));
+    }
+
+    /**
+     * Appends a stage that passes only elements matching the predicate.
+     */
+    @SuppressWarnings("unchecked")
+    public GathererPipeline<T, R> filter(Predicate<? super R> predicate) {
+        Objects.requireNonNull(predicate);
+        return append(new Stage(Kind.FILTER, (Predicate<Object>) predicate, 0));
+    }
+
+    /**
+     * Appends a stage that groups consecutive elements into windows of {@code size} elements.
+     * The last window holds the remaining elements when the stream ends.
+     */
+    public GathererPipeline<T, List<R>> windowFixed(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Window size must be positive: " + size);
+        }
+        return append(new Stage(Kind.WINDOW, null, size));
+    }
+
+    /**
+     * Compiles the stages into a single gatherer.
+     */
+    public Gatherer<T, ?, R> compile() {
+        CompiledPipeline<T, R> pipeline = new CompiledPipeline<>(stages);
+        if (pipeline.windowCount == 0) {
+            return Gatherer.<T, R>of(
+                Gatherer.Integrator.ofGreedy((state, element, downstream) -> pipeline.run(null, element, 0, downstream)));
+        }
+        return Gatherer.<T, WindowState, R>ofSequential(
+            pipeline::newState,
+            Gatherer.Integrator.ofGreedy((state, element, downstream) -> pipeline.run(state, element, 0, downstream)),
+            pipeline::flush
+        );
+    }
+
+    private <U> GathererPipeline<T, U> append(Stage stage) {
+        List<Stage> appended = new ArrayList<>(stages.size() + 1);
+        appended.addAll(stages);
+        appended.add(stage);
+        return new GathererPipeline<>(List.copyOf(appended));
+    }
+
+    private enum Kind {
+        MAP, FILTER, WINDOW
+    }
+
+    private record Stage(Kind kind, Object operation, int windowSize) {
+    }
+
+    /**
+     * Flat representation of the stages interpreted by a single loop.
+     */
+    private static final class CompiledPipeline<T, R> {
+        private final Kind[] kinds;
+        private final Object[] operations;
+        private final int[] windowSizes;
+        private final int[] windowSlots;
+        private final int windowCount;
+
+        CompiledPipeline(List<Stage> stages) {
+            int size = stages.size();
+            kinds = new Kind[size];
+            operations = new Object[size];
+            windowSizes = new int[size];
+            windowSlots = new int[size];
+            int windows = 0;
+            for (int i = 0; i < size; i++) {
+                Stage stage = stages.get(i);
+                kinds[i] = stage.kind();
+                operations[i] = stage.operation();
+                windowSizes[i] = stage.windowSize();
+                if (stage.kind() == Kind.WINDOW) {
+                    windowSlots[i] = windows++;
+                }
+            }
+            windowCount = windows;
+        }
+
+        WindowState newState() {
+            WindowState state = new WindowState(windowCount);
+            for (int i = 0; i < kinds.length; i++) {
+                if (kinds[i] == Kind.WINDOW) {
+                    state.buffers[windowSlots[i]] = new Object[windowSizes[i]];
+                }
+            }
+            return state;
+        }
+
+        /**
+         * Runs {@code value} through the stages starting at {@code from}.
+         */
+        @SuppressWarnings("unchecked")
+        boolean run(WindowState state, Object value, int from, Gatherer.Downstream<? super R> downstream) {
+            for (int i = from; i < kinds.length; i++) {
+                switch (kinds[i]) {
+                    case MAP -> value = ((Function<Object, Object>) operations[i]).apply(value);
+                    case FILTER -> {
+                        if (!((Predicate<Object>) operations[i]).test(value)) {
+                            return true;
+                        }
+                    }
+                    case WINDOW -> {
+                        int slot = windowSlots[i];
+                        Object[] buffer = state.buffers[slot];
+                        buffer[state.fill[slot]++] = detach(value);
+                        if (state.fill[slot] < buffer.length) {
+                            return true;
+                        }
+                        state.fill[slot] = 0;
+                        value = state.view(slot, buffer, buffer.length);
+                    }
+                }
+            }
+            return downstream.push((R) detach(value));
+        }
+
+        /**
+         * Emits the partially filled windows, from the first window stage to the last.
+         */
+        void flush(WindowState state, Gatherer.Downstream<? super R> downstream) {
+            for (int i = 0; i < kinds.length; i++) {
+                if (kinds[i] != Kind.WINDOW) {
+                    continue;
+                }
+                int slot = windowSlots[i];
+                int fill = state.fill[slot];
+                if (fill == 0) {
+                    continue;
+                }
+                state.fill[slot] = 0;
+                if (!run(state, state.view(slot, state.buffers[slot], fill), i + 1, downstream)) {
+                    return;
+                }
+            }
+        }
+
+        private static Object detach(Object value) {
+            return value instanceof WindowView view ? view.snapshot() : value;
+        }
+    }
+
+    /**
+     * Per-stream buffers of the window stages.
+     */
+    private static final class WindowState {
+        private final Object[][] buffers;
+        private final int[] fill;
+        private final WindowView[] views;
+
+        WindowState(int windowCount) {
+            buffers = new Object[windowCount][];
+            fill = new int[windowCount];
+            views = new WindowView[windowCount];
+        }
+
+        WindowView view(int slot, Object[] buffer, int size) {
+            WindowView view = views[slot];
+            if (view == null) {
+                view = new WindowView();
+                views[slot] = view;
+            }
+            view.reset(buffer, size);
+            return view;
+        }
+    }
+
+    /**
+     * Reusable read-only view over a window buffer.
+     */
+    private static final class WindowView extends AbstractList<Object> implements RandomAccess {
+        private Object[] buffer;
+        private int size;
+
+        void reset(Object[] buffer, int size) {
+            this.buffer = buffer;
+            this.size = size;
+        }
+
+        List<Object> snapshot() {
+            return new ChunkingGatherers.ArrayChunk<>(Arrays.copyOf(buffer, size), 0, size);
+        }
+
+        @Override
+        public Object get(int index) {
+            Objects.checkIndex(index, size);
+            return buffer[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package pl.vm.features.gatherers;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Gatherer;
 import java.util.stream.Gatherers;
@@ -45,42 +44,16 @@ public class GatherersDemo {
 
     /**
      * Demonstrates a custom gatherer with all key components:
-     * - Initializer: Creates a new ArrayList
-     * - Integrator: Groups elements into pairs
-     * - Combiner: Merges states for parallel processing
-     * - Finisher: Emits any remaining elements
+     * - Initializer: Creates a new segmented buffer
+     * - Integrator: Appends elements to the buffer
+     * - Combiner: Links buffers of parallel splits in encounter order
+     * - Finisher: Emits the elements grouped into pairs
      */
     public void demonstrateCustomGatherer() {
         List<String> words = List.of("apple", "banana", "cherry", "date", "elderberry");
         
         // Custom gatherer to group words by pairs
-        Gatherer<String, List<String>, List<String>> groupByPairs = Gatherer.<String, List<String>, List<String>>of(
-            // Initializer: Creates new state
-            ArrayList::new,
-            
-            // Integrator: Processes each element
-            (state, element, downstream) -> {
-                state.add(element);
-                if (state.size() == 2) {
-                    downstream.push(new ArrayList<>(state));
-                    state.clear();
-                }
-                return true;
-            },
-            
-            // Combiner: Merges states for parallel processing
-            (state1, state2) -> {
-                state1.addAll(state2);
-                return state1;
-            },
-            
-            // Finisher: Emits remaining elements
-            (state, downstream) -> {
-                if (!state.isEmpty()) {
-                    downstream.push(new ArrayList<>(state));
-                }
-            }
-        );
+        Gatherer<String, ?, List<String>> groupByPairs = groupByPairs();
         
         List<List<String>> groupedWords = words.stream()
             .gather(groupByPairs)
@@ -91,37 +64,16 @@ public class GatherersDemo {
 
     /**
      * Demonstrates a stateful gatherer that maintains running calculations:
-     * - Initializer: Creates array to store sum and count
-     * - Integrator: Updates running average
-     * - Combiner: Merges running averages
+     * - Initializer: Creates a primitive accumulator of count and mean
+     * - Integrator: Updates the accumulator in place and emits the running average
+     * - Combiner: None, running values depend on every preceding element
      * - Finisher: No cleanup needed
      */
     public void demonstrateStatefulGatherer() {
         List<Integer> numbers = List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
         
         // Gatherer that emits running averages
-        Gatherer<Integer, double[], Double> runningAverage = Gatherer.<Integer, double[], Double>of(
-            // Initializer: Creates state array [sum, count]
-            () -> new double[]{0.0, 0.0},
-            
-            // Integrator: Updates running average
-            (state, element, downstream) -> {
-                state[0] += element;
-                state[1]++;
-                downstream.push(state[0] / state[1]);
-                return true;
-            },
-            
-            // Combiner: Merges running averages
-            (state1, state2) -> {
-                state1[0] += state2[0];
-                state1[1] += state2[1];
-                return state1;
-            },
-            
-            // Finisher: No cleanup needed
-            (state, downstream) -> {}
-        );
+        Gatherer<Integer, ?, Double> runningAverage = runningAverage();
         
         List<Double> averages = numbers.stream()
             .gather(runningAverage)
@@ -139,32 +91,67 @@ public class GatherersDemo {
         List<String> words = List.of("apple", "banana", "cherry", "date", "elderberry");
         
         // First gatherer: Groups into pairs
-        Gatherer<String, List<String>, List<String>> pairGatherer = Gatherer.<String, List<String>, List<String>>of(
-            ArrayList::new,
-            (state, element, downstream) -> {
-                state.add(element);
-                if (state.size() == 2) {
-                    downstream.push(new ArrayList<>(state));
-                    state.clear();
-                }
-                return true;
-            },
-            (state1, state2) -> {
-                state1.addAll(state2);
-                return state1;
-            },
-            (state, downstream) -> {
-                if (!state.isEmpty()) {
-                    downstream.push(new ArrayList<>(state));
-                }
-            }
-        );
+        Gatherer<String, ?, List<String>> pairGatherer = groupByPairs();
         
         // Second gatherer: Filters pairs where both words start with same letter
-        Gatherer<List<String>, Void, List<String>> filterGatherer = Gatherer.<List<String>, Void, List<String>>of(
+        Gatherer<List<String>, Void, List<String>> filterGatherer = sameFirstLetterFilter();
+        
+        // Chain gatherers using andThen
+        List<List<String>> filteredPairs = words.stream()
+            .gather(pairGatherer.andThen(filterGatherer))
+            .toList();
+        
+        logger.info("Filtered pairs (same first letter): {}", filteredPairs);
+    }
+
+    /**
+     * Demonstrates the same pair-and-filter chain as {@link #demonstrateAndThenGatherer()},
+     * compiled into a single gatherer with {@link GathererPipeline}:
+     * 1. Pairs are collected into a reusable buffer instead of a new list per pair
+     * 2. The filter runs in the same integrator, without an extra downstream hop
+     * 3. Only pairs that pass the filter are copied into a new list
+     */
+    public void demonstrateFusedGatherer() {
+        List<String> words = List.of("apple", "avocado", "banana", "cherry", "date", "dragonfruit");
+        
+        Gatherer<String, ?, List<String>> fused = GathererPipeline.<String>of()
+            .windowFixed(2)
+            .filter(pair -> pair.size() == 2 && pair.get(0).charAt(0) == pair.get(1).charAt(0))
+            .compile();
+        
+        List<List<String>> filteredPairs = words.stream()
+            .gather(fused)
+            .toList();
+        
+        logger.info("Fused filtered pairs (same first letter): {}", filteredPairs);
+    }
+
+    /**
+     * Creates the custom gatherer used by {@link #demonstrateCustomGatherer()}.
+     * Delegates to {@link ChunkingGatherers#pairs()}, whose combiner keeps pairs aligned
+     * when the stream is split for parallel processing.
+     */
+    public static Gatherer<String, ?, List<String>> groupByPairs() {
+        return ChunkingGatherers.pairs();
+    }
+
+    /**
+     * Creates the stateful gatherer used by {@link #demonstrateStatefulGatherer()}.
+     * Emits the running average of all elements seen so far.
+     */
+    public static Gatherer<Integer, ?, Double> runningAverage() {
+        return StatisticsGatherers.runningOfInt(StatisticsGatherers.Statistic.MEAN, Integer::intValue);
+    }
+
+    /**
+     * Creates the stateless gatherer used by {@link #demonstrateAndThenGatherer()}.
+     * Passes through only complete pairs where both words start with the same letter.
+     */
+    public static Gatherer<List<String>, Void, List<String>> sameFirstLetterFilter() {
+        return Gatherer.<List<String>, Void, List<String>>of(
             () -> null,
             (state, pair, downstream) -> {
-                if (pair.get(0).charAt(0) == pair.get(1).charAt(0)) {
+                if (pair.size() == 2 && pair.get(0).charAt(0) == pair.get(1).charAt(0)) {
                     downstream.push(pair);
                 }
                 return true;
@@ -172,13 +159,6 @@ public class GatherersDemo {
             (state1, state2) -> null,
             (state, downstream) -> {}
         );
-        
-        // Chain gatherers using andThen
-        List<List<String>> filteredPairs = words.stream()
-            .gather(pairGatherer.andThen(filterGatherer))
-            .toList();
-        
-        logger.info("Filtered pairs (same first letter): {}", filteredPairs);
     }
 
     public static void main(String[] args) {
@@ -195,5 +175,8 @@ public class GatherersDemo {
         
         logger.info("\n=== AndThen Gatherer ===");
         demo.demonstrateAndThenGatherer();
+        
+        logger.info("\n=== Fused Gatherer ===");
+        demo.demonstrateFusedGatherer();
     }
 } 
\ No newline at end of file
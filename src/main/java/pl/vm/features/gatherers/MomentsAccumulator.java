@@ -0,0 +1,65 @@
+package pl.vm.features.gatherers;
+
+/**
+ * Mutable accumulator of count, mean, variance, min and max over primitive doubles.
+ *
+ * Uses Welford's online algorithm so the mean and variance stay numerically stable for very long
+ * streams, and Chan's pairwise formula to merge two accumulators built over adjacent splits.
+ * All state lives in primitive fields, so accepting a value never allocates.
+ */
+final class MomentsAccumulator {
+    private long count;
+    private double mean;
+    private double m2;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    void accept(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    MomentsAccumulator combine(MomentsAccumulator other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            return other;
+        }
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+        count = total;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    long count() {
+        return count;
+    }
+
+    double mean() {
+        return count == 0 ? Double.NaN : mean;
+    }
+
+    /**
+     * Population variance of the accepted values.
+     */
+    double variance() {
+        return count == 0 ? Double.NaN : m2 / count;
+    }
+
+    double min() {
+        return count == 0 ? Double.NaN : min;
+    }
+
+    double max() {
+        return count == 0 ? Double.NaN : max;
+    }
+}
@@ -0,0 +1,158 @@
+package pl.vm.features.gatherers;
+
+/**
+ * Mergeable quantile sketch with a bounded relative error (DDSketch).
+ *
+ * Values are counted in logarithmically sized buckets, so any reported quantile is within
+ * {@code relativeAccuracy} of the exact value. Bucket counts are kept in primitive arrays that only
+ * grow when a value falls outside the range seen so far; once the range is covered, accepting a
+ * value never allocates. Two sketches with the same accuracy are merged by adding bucket counts.
+ */
+final class QuantileSketch {
+    /**
+     * Values closer to zero than this are counted in the zero bucket.
+     */
+    private static final double MIN_INDEXABLE_VALUE = 1e-9;
+
+    private final double gamma;
+    private final double multiplier;
+    private final BucketCounts positive = new BucketCounts();
+    private final BucketCounts negative = new BucketCounts();
+    private long zeroCount;
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    QuantileSketch(double relativeAccuracy) {
+        if (!(relativeAccuracy > 0.0 && relativeAccuracy < 1.0)) {
+            throw new IllegalArgumentException("Relative accuracy must be in (0, 1): " + relativeAccuracy);
+        }
+        this.gamma = (1.0 + relativeAccuracy) / (1.0 - relativeAccuracy);
+        this.multiplier = 1.0 / Math.log(gamma);
+    }
+
+    void accept(double value) {
+        if (value > MIN_INDEXABLE_VALUE) {
+            positive.increment(index(value));
+        } else if (value < -MIN_INDEXABLE_VALUE) {
+            negative.increment(index(-value));
+        } else {
+            zeroCount++;
+        }
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    QuantileSketch combine(QuantileSketch other) {
+        if (gamma != other.gamma) {
+            throw new IllegalArgumentException("Cannot merge sketches with different accuracy");
+        }
+        positive.addAll(other.positive);
+        negative.addAll(other.negative);
+        zeroCount += other.zeroCount;
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    long count() {
+        return count;
+    }
+
+    /**
+     * Returns the value at the given percentile (0-100), or NaN when no value was accepted.
+     */
+    double percentile(double percentile) {
+        if (percentile < 0.0 || percentile > 100.0) {
+            throw new IllegalArgumentException("Percentile must be in [0, 100]: " + percentile);
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) (percentile / 100.0 * (count - 1));
+        // The extremes are tracked exactly
+        if (rank == 0) {
+            return min;
+        }
+        if (rank == count - 1) {
+            return max;
+        }
+        long seen = 0;
+        for (int i = negative.counts.length - 1; i >= 0; i--) {
+            seen += negative.counts[i];
+            if (seen > rank) {
+                return clamp(-value(negative.offset + i));
+            }
+        }
+        seen += zeroCount;
+        if (seen > rank) {
+            return clamp(0.0);
+        }
+        for (int i = 0; i < positive.counts.length; i++) {
+            seen += positive.counts[i];
+            if (seen > rank) {
+                return clamp(value(positive.offset + i));
+            }
+        }
+        return max;
+    }
+
+    private int index(double value) {
+        return (int) Math.ceil(Math.log(value) * multiplier);
+    }
+
+    private double value(int index) {
+        return 2.0 * Math.pow(gamma, index) / (gamma + 1.0);
+    }
+
+    private double clamp(double value) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    /**
+     * Dense bucket counts for the index range {@code [offset, offset + counts.length)}.
+     */
+    private static final class BucketCounts {
+        private long[] counts = new long[0];
+        private int offset;
+
+        void increment(int index) {
+            ensureRange(index, index);
+            counts[index - offset]++;
+        }
+
+        void addAll(BucketCounts other) {
+            if (other.counts.length == 0) {
+                return;
+            }
+            ensureRange(other.offset, other.offset + other.counts.length - 1);
+            for (int i = 0; i < other.counts.length; i++) {
+                counts[other.offset + i - offset] += other.counts[i];
+            }
+        }
+
+        private void ensureRange(int low, int high) {
+            if (counts.length == 0) {
+                counts = new long[Math.max(64, high - low + 1)];
+                offset = low - (counts.length - (high - low + 1)) / 2;
+                return;
+            }
+            int end = offset + counts.length - 1;
+            if (low >= offset && high <= end) {
+                return;
+            }
+            // Grow with headroom on both sides so a drifting range does not reallocate on every value
+            int newLow = Math.min(low, offset);
+            int newHigh = Math.max(high, end);
+            int headroom = (newHigh - newLow + 1) / 2;
+            newLow = low < offset ? newLow - headroom : newLow;
+            newHigh = high > end ? newHigh + headroom : newHigh;
+            long[] grown = new long[newHigh - newLow + 1];
+            System.arraycopy(counts, 0, grown, offset - newLow, counts.length);
+            counts = grown;
+            offset = newLow;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package pl.vm.features.gatherers;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Gatherer;
+
+/**
+ * Incremental sliding-window aggregations that emit one value per window instead of the window
+ * itself.
+ *
+ * {@link java.util.stream.Gatherers#windowSliding(int)} copies every window into a new list, which
+ * costs O(n * w) time and allocation for n elements and window size w. The gatherers below keep the
+ * window in a primitive ring buffer and update the aggregate in O(1) amortized time per element:
+ * 1. Sum and mean - add the incoming value and subtract the evicted one
+ * 2. Min and max - monotonic deque of window positions
+ * 3. Count distinct - occurrence counts per key
+ *
+ * Like {@code windowSliding}, a result is emitted for every full window, and a stream shorter than
+ * the window produces a single result over all of its elements. Windows depend on encounter order,
+ * so these gatherers are sequential.
+ */
+public final class SlidingWindowGatherers {
+
+    private SlidingWindowGatherers() {
+    }
+
+    /**
+     * Emits the sum of every window. The running sum is recomputed from the ring buffer once per
+     * window length, so floating-point error does not accumulate over long streams.
+     */
+    public static <T> Gatherer<T, ?, Double> slidingSum(int window, ToDoubleFunction<? super T> value) {
+        requireWindow(window);
+        return sliding(() -> new DoubleSum<T>(window, value));
+    }
+
+    /**
+     * Emits the exact sum of every window of integral values.
+     */
+    public static <T> Gatherer<T, ?, Long> slidingSumOfLong(int window, ToLongFunction<? super T> value) {
+        requireWindow(window);
+        return sliding(() -> new LongSum<T>(window, value));
+    }
+
+    /**
+     * Emits the mean of every window.
+     */
+    public static <T> Gatherer<T, ?, Double> slidingMean(int window, ToDoubleFunction<? super T> value) {
+        requireWindow(window);
+        return sliding(() -> new DoubleSum<T>(window, value) {
+            @Override
+            Double result() {
+                return sum / Math.min(count, window);
+            }
+        });
+    }
+
+    /**
+     * Emits the minimum of every window.
+     */
+    public static <T> Gatherer<T, ?, Double> slidingMin(int window, ToDoubleFunction<? super T> value) {
+        requireWindow(window);
+        return sliding(() -> new MonotonicExtreme<T>(window, value, false));
+    }
+
+    /**
+     * Emits the maximum of every window.
+     */
+    public static <T> Gatherer<T, ?, Double> slidingMax(int window, ToDoubleFunction<? super T> value) {
+        requireWindow(window);
+        return sliding(() -> new MonotonicExtreme<T>(window, value, true));
+    }
+
+    /**
+     * Emits the number of distinct keys in every window.
+     */
+    public static <T> Gatherer<T, ?, Integer> slidingCountDistinct(int window, Function<? super T, ?> key) {
+        requireWindow(window);
+        Objects.requireNonNull(key);
+        return sliding(() -> new CountDistinct<T>(window, key));
+    }
+
+    private static <T, R> Gatherer<T, ?, R> sliding(Supplier<SlidingAggregate<T, R>> initializer) {
+        return Gatherer.<T, SlidingAggregate<T, R>, R>ofSequential(
+            initializer,
+            Gatherer.Integrator.ofGreedy((state, element, downstream) -> {
+                state.add(element);
+                return state.count < state.window || downstream.push(state.result());
+            }),
+            (state, downstream) -> {
+                if (state.count > 0 && state.count < state.window) {
+                    downstream.push(state.result());
+                }
+            }
+        );
+    }
+
+    private static void requireWindow(int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("Window size must be positive: " + window);
+        }
+    }
+
+    /**
+     * Aggregate over the last {@code window} elements.
+     */
+    private abstract static class SlidingAggregate<T, R> {
+        final int window;
+        long count;
+
+        SlidingAggregate(int window) {
+            this.window = window;
+        }
+
+        abstract void add(T element);
+
+        abstract R result();
+
+        /**
+         * Position in the ring buffer of the element with the given sequence number.
+         */
+        int slot(long sequence) {
+            return (int) (sequence % window);
+        }
+    }
+
+    private static class DoubleSum<T> extends SlidingAggregate<T, Double> {
+        private final ToDoubleFunction<? super T> value;
+        private final double[] values;
+        double sum;
+
+        DoubleSum(int window, ToDoubleFunction<? super T> value) {
+            super(window);
+            this.value = value;
+            this.values = new double[window];
+        }
+
+        @Override
+        void add(T element) {
+            double next = value.applyAsDouble(element);
+            int slot = slot(count);
+            if (count >= window) {
+                sum -= values[slot];
+            }
+            values[slot] = next;
+            sum += next;
+            count++;
+            if (count % window == 0) {
+                recompute();
+            }
+        }
+
+        @Override
+        Double result() {
+            return sum;
+        }
+
+        private void recompute() {
+            double exact = 0.0;
+            for (double v : values) {
+                exact += v;
+            }
+            sum = exact;
+        }
+    }
+
+    private static final class LongSum<T> extends SlidingAggregate<T, Long> {
+        private final ToLongFunction<? super T> value;
+        private final long[] values;
+        private long sum;
+
+        LongSum(int window, ToLongFunction<? super T> value) {
+            super(window);
+            this.value = value;
+            this.values = new long[window];
+        }
+
+        @Override
+        void add(T element) {
+            long next = value.applyAsLong(element);
+            int slot = slot(count);
+            if (count >= window) {
+                sum -= values[slot];
+            }
+            values[slot] = next;
+            sum += next;
+            count++;
+        }
+
+        @Override
+        Long result() {
+            return sum;
+        }
+    }
+
+    /**
+     * Keeps the sequence numbers of the window elements that can still become the extreme, in
+     * monotonic order of their values. Every element enters and leaves the deque once.
+     */
+    private static final class MonotonicExtreme<T> extends SlidingAggregate<T, Double> {
+        private final ToDoubleFunction<? super T> value;
+        private final boolean max;
+        private final double[] values;
+        private final long[] deque;
+        private int head;
+        private int size;
+
+        MonotonicExtreme(int window, ToDoubleFunction<? super T> value, boolean max) {
+            super(window);
+            this.value = value;
+            this.max = max;
+            this.values = new double[window];
+            this.deque = new long[window];
+        }
+
+        @Override
+        void add(T element) {
+            double next = value.applyAsDouble(element);
+            if (size > 0 && deque[head] <= count - window) {
+                head = (head + 1) % window;
+                size--;
+            }
+            values[slot(count)] = next;
+            while (size > 0 && dominated(values[slot(deque[(head + size - 1) % window])], next)) {
+                size--;
+            }
+            deque[(head + size) % window] = count;
+            size++;
+            count++;
+        }
+
+        @Override
+        Double result() {
+            return values[slot(deque[head])];
+        }
+
+        private boolean dominated(double candidate, double next) {
+            return max ? candidate <= next : candidate >= next;
+        }
+    }
+
+    private static final class CountDistinct<T> extends SlidingAggregate<T, Integer> {
+        private final Function<? super T, ?> key;
+        private final Object[] keys;
+        private final Map<Object, int[]> occurrences = new HashMap<>();
+
+        CountDistinct(int window, Function<? super T, ?> key) {
+            super(window);
+            this.key = key;
+            this.keys = new Object[window];
+        }
+
+        @Override
+        void add(T element) {
+            Object next = key.apply(element);
+            int slot = slot(count);
+            if (count >= window) {
+                Object evicted = keys[slot];
+                int[] evictedCount = occurrences.get(evicted);
+                if (--evictedCount[0] == 0) {
+                    occurrences.remove(evicted);
+                }
+            }
+            keys[slot] = next;
+            occurrences.computeIfAbsent(next, k -> new int[1])[0]++;
+            count++;
+        }
+
+        @Override
+        Integer result() {
+            return occurrences.size();
+        }
+    }
+}
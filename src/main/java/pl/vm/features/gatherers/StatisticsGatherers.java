@@ -0,0 +1,247 @@
+package pl.vm.features.gatherers;
+
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Gatherer;
+
+/**
+ * Running and summary statistics gatherers backed by primitive accumulators.
+ *
+ * Every statistic reads a primitive from the element through a {@link ToIntFunction},
+ * {@link ToLongFunction} or {@link ToDoubleFunction}, so telemetry records are never copied into
+ * boxed numbers and the accumulator state is updated in place without allocating.
+ *
+ * Two flavours are provided:
+ * 1. Running gatherers emit the statistic of all elements seen so far after every element.
+ *    A running value depends on every preceding element, so these gatherers are sequential:
+ *    on a parallel stream the upstream stages still run in parallel, but the running values are
+ *    computed in encounter order and are therefore correct.
+ * 2. Summary gatherers emit a single result at the end. Their combiners merge the accumulators
+ *    of adjacent splits exactly, so they scale with parallel streams.
+ */
+public final class StatisticsGatherers {
+
+    /**
+     * Relative error of the percentiles reported by the percentile gatherers.
+     */
+    public static final double PERCENTILE_RELATIVE_ACCURACY = 0.01;
+
+    private StatisticsGatherers() {
+    }
+
+    /**
+     * Statistic emitted by the running moment gatherers.
+     */
+    public enum Statistic {
+        MEAN {
+            @Override
+            double read(MomentsAccumulator moments) {
+                return moments.mean();
+            }
+        },
+        VARIANCE {
+            @Override
+            double read(MomentsAccumulator moments) {
+                return moments.variance();
+            }
+        },
+        STANDARD_DEVIATION {
+            @Override
+            double read(MomentsAccumulator moments) {
+                return Math.sqrt(moments.variance());
+            }
+        },
+        MIN {
+            @Override
+            double read(MomentsAccumulator moments) {
+                return moments.min();
+            }
+        },
+        MAX {
+            @Override
+            double read(MomentsAccumulator moments) {
+                return moments.max();
+            }
+        };
+
+        abstract double read(MomentsAccumulator moments);
+    }
+
+    /**
+     * Summary of a whole stream. Mean, variance, min and max are NaN for an empty stream.
+     * The variance is the population variance.
+     */
+    public record Summary(long count, double mean, double variance, double min, double max) {
+
+        public double standardDeviation() {
+            return Math.sqrt(variance);
+        }
+
+        static Summary of(MomentsAccumulator moments) {
+            return new Summary(moments.count(), moments.mean(), moments.variance(), moments.min(), moments.max());
+        }
+    }
+
+    // Running gatherers
+
+    /**
+     * Emits the given statistic of all values seen so far after every element.
+     */
+    public static <T> Gatherer<T, ?, Double> running(Statistic statistic, ToDoubleFunction<? super T> value) {
+        return Gatherer.<T, MomentsAccumulator, Double>ofSequential(
+            MomentsAccumulator::new,
+            Gatherer.Integrator.ofGreedy((state, element, downstream) -> {
+                state.accept(value.applyAsDouble(element));
+                return downstream.push(statistic.read(state));
+            })
+        );
+    }
+
+    public static <T> Gatherer<T, ?, Double> runningOfInt(Statistic statistic, ToIntFunction<? super T> value) {
+        return running(statistic, element -> value.applyAsInt(element));
+    }
+
+    public static <T> Gatherer<T, ?, Double> runningOfLong(Statistic statistic, ToLongFunction<? super T> value) {
+        return running(statistic, element -> value.applyAsLong(element));
+    }
+
+    /**
+     * Emits the exponentially weighted moving average after every element.
+     * The average is seeded with the first value.
+     */
+    public static <T> Gatherer<T, ?, Double> runningEwma(double alpha, ToDoubleFunction<? super T> value) {
+        EwmaAccumulator.requireAlpha(alpha);
+        return Gatherer.<T, EwmaAccumulator, Double>ofSequential(
+            () -> new EwmaAccumulator(alpha),
+            Gatherer.Integrator.ofGreedy((state, element, downstream) -> {
+                state.accept(value.applyAsDouble(element));
+                return downstream.push(state.average());
+            })
+        );
+    }
+
+    public static <T> Gatherer<T, ?, Double> runningEwmaOfInt(double alpha, ToIntFunction<? super T> value) {
+        return runningEwma(alpha, element -> value.applyAsInt(element));
+    }
+
+    public static <T> Gatherer<T, ?, Double> runningEwmaOfLong(double alpha, ToLongFunction<? super T> value) {
+        return runningEwma(alpha, element -> value.applyAsLong(element));
+    }
+
+    /**
+     * Emits the given percentile (0-100) of all values seen so far after every element.
+     * Each emitted value is within {@link #PERCENTILE_RELATIVE_ACCURACY} of the exact percentile.
+     */
+    public static <T> Gatherer<T, ?, Double> runningPercentile(double percentile, ToDoubleFunction<? super T> value) {
+        requirePercentile(percentile);
+        return Gatherer.<T, QuantileSketch, Double>ofSequential(
+            () -> new QuantileSketch(PERCENTILE_RELATIVE_ACCURACY),
+            Gatherer.Integrator.ofGreedy((state, element, downstream) -> {
+                state.accept(value.applyAsDouble(element));
+                return downstream.push(state.percentile(percentile));
+            })
+        );
+    }
+
+    public static <T> Gatherer<T, ?, Double> runningPercentileOfInt(double percentile, ToIntFunction<? super T> value) {
+        return runningPercentile(percentile, element -> value.applyAsInt(element));
+    }
+
+    public static <T> Gatherer<T, ?, Double> runningPercentileOfLong(double percentile, ToLongFunction<? super T> value) {
+        return runningPercentile(percentile, element -> value.applyAsLong(element));
+    }
+
+    // Summary gatherers
+
+    /**
+     * Emits a single {@link Summary} of all values.
+     */
+    public static <T> Gatherer<T, ?, Summary> summarize(ToDoubleFunction<? super T> value) {
+        return Gatherer.<T, MomentsAccumulator, Summary>of(
+            MomentsAccumulator::new,
+            Gatherer.Integrator.ofGreedy((state, element, downstream) -> {
+                state.accept(value.applyAsDouble(element));
+                return true;
+            }),
+            MomentsAccumulator::combine,
+            (state, downstream) -> downstream.push(Summary.of(state))
+        );
+    }
+
+    public static <T> Gatherer<T, ?, Summary> summarizeInt(ToIntFunction<? super T> value) {
+        return summarize(element -> value.applyAsInt(element));
+    }
+
+    public static <T> Gatherer<T, ?, Summary> summarizeLong(ToLongFunction<? super T> value) {
+        return summarize(element -> value.applyAsLong(element));
+    }
+
+    /**
+     * Emits the exponentially weighted moving average of all values, or nothing for an empty stream.
+     */
+    public static <T> Gatherer<T, ?, Double> ewma(double alpha, ToDoubleFunction<? super T> value) {
+        EwmaAccumulator.requireAlpha(alpha);
+        return Gatherer.<T, EwmaAccumulator, Double>of(
+            () -> new EwmaAccumulator(alpha),
+            Gatherer.Integrator.ofGreedy((state, element, downstream) -> {
+                state.accept(value.applyAsDouble(element));
+                return true;
+            }),
+            EwmaAccumulator::combine,
+            (state, downstream) -> {
+                if (state.count() > 0) {
+                    downstream.push(state.average());
+                }
+            }
+        );
+    }
+
+    public static <T> Gatherer<T, ?, Double> ewmaOfInt(double alpha, ToIntFunction<? super T> value) {
+        return ewma(alpha, element -> value.applyAsInt(element));
+    }
+
+    public static <T> Gatherer<T, ?, Double> ewmaOfLong(double alpha, ToLongFunction<? super T> value) {
+        return ewma(alpha, element -> value.applyAsLong(element));
+    }
+
+    /**
+     * Emits a single array with the requested percentiles (0-100) in the order they were given.
+     * All entries are NaN for an empty stream.
+     */
+    public static <T> Gatherer<T, ?, double[]> percentiles(ToDoubleFunction<? super T> value, double... percentiles) {
+        double[] requested = percentiles.clone();
+        for (double percentile : requested) {
+            requirePercentile(percentile);
+        }
+        return Gatherer.<T, QuantileSketch, double[]>of(
+            () -> new QuantileSketch(PERCENTILE_RELATIVE_ACCURACY),
+            Gatherer.Integrator.ofGreedy((state, element, downstream) -> {
+                state.accept(value.applyAsDouble(element));
+                return true;
+            }),
+            QuantileSketch::combine,
+            (state, downstream) -> {
+                double[] result = new double[requested.length];
+                for (int i = 0; i < requested.length; i++) {
+                    result[i] = state.percentile(requested[i]);
+                }
+                downstream.push(result);
+            }
+        );
+    }
+
+    public static <T> Gatherer<T, ?, double[]> percentilesOfInt(ToIntFunction<? super T> value, double... percentiles) {
+        return percentiles(element -> value.applyAsInt(element), percentiles);
+    }
+
+    public static <T> Gatherer<T, ?, double[]> percentilesOfLong(ToLongFunction<? super T> value, double... percentiles) {
+        return percentiles(element -> value.applyAsLong(element), percentiles);
+    }
+
+    private static void requirePercentile(double percentile) {
+        if (!(percentile >= 0.0 && percentile <= 100.0)) {
+            throw new IllegalArgumentException("Percentile must be in [0, 100]: " + percentile);
+        }
+    }
+}
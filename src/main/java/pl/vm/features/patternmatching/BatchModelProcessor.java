@@ -0,0 +1,204 @@
+package pl.vm.features.patternmatching;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import pl.vm.features.patternmatching.ModelDispatchProcessor.VariantTable;
+import pl.vm.features.sealed.model.ChatGPTModel;
+import pl.vm.features.sealed.model.ClaudeModel;
+import pl.vm.features.sealed.model.DeepSeekModel;
+import pl.vm.features.sealed.model.GeminiModel;
+import pl.vm.features.sealed.model.LLMModel;
+
+/**
+ * Batch front of {@link ModelDispatchProcessor} for large model collections.
+ *
+ * Each batch is split into slices. A slice is bucketed by sealed subtype with a counting sort of
+ * the model indices, then every bucket runs in its own loop, so the cast and the variant lookup
+ * stay monomorphic instead of switching on the type per model. Results are written back at the
+ * input index, so the returned list is always in input order.
+ *
+ * With a {@link ForkJoinPool} the slices are processed in parallel; without one the batch runs on
+ * the calling thread. Every result equals the one returned by {@link ModelDispatchProcessor} (and
+ * therefore {@link ModelProcessor}) for the same model.
+ */
+public class BatchModelProcessor {
+
+    /**
+     * Models per slice: large enough to amortize task overhead, small enough that the index
+     * buffers of a slice stay in cache.
+     */
+    static final int SLICE_SIZE = 8192;
+
+    private static final int CHATGPT = 0;
+    private static final int GEMINI = 1;
+    private static final int CLAUDE = 2;
+    private static final int DEEPSEEK = 3;
+    private static final int NULL = 4;
+    private static final int GROUPS = 5;
+
+    private enum Operation {
+        PROCESS(ModelDispatchProcessor.UNKNOWN_MODEL_TYPE) {
+            @Override
+            String apply(VariantTable table, String variant) {
+                return table.processed(variant);
+            }
+        },
+        CONDITIONS(ModelDispatchProcessor.UNKNOWN_CONDITIONS) {
+            @Override
+            String apply(VariantTable table, String variant) {
+                return table.conditions(variant);
+            }
+        },
+        CAPABILITIES(ModelDispatchProcessor.UNKNOWN_CAPABILITIES) {
+            @Override
+            String apply(VariantTable table, String variant) {
+                return table.capabilities(variant);
+            }
+        };
+
+        private final String nullResult;
+
+        Operation(String nullResult) {
+            this.nullResult = nullResult;
+        }
+
+        abstract String apply(VariantTable table, String variant);
+    }
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a processor that runs every batch on the calling thread.
+     */
+    public BatchModelProcessor() {
+        this.pool = null;
+    }
+
+    /**
+     * Creates a processor that splits batches larger than one slice across the given pool.
+     */
+    public BatchModelProcessor(ForkJoinPool pool) {
+        this.pool = Objects.requireNonNull(pool, "pool");
+    }
+
+    /**
+     * Batch {@link ModelDispatchProcessor#processModel(LLMModel)}, results in input order.
+     */
+    public List<String> processAll(Collection<? extends LLMModel> models) {
+        return run(models, Operation.PROCESS);
+    }
+
+    /**
+     * Batch {@link ModelDispatchProcessor#processModelWithConditions(LLMModel)}, results in input order.
+     */
+    public List<String> processAllWithConditions(Collection<? extends LLMModel> models) {
+        return run(models, Operation.CONDITIONS);
+    }
+
+    /**
+     * Batch {@link ModelDispatchProcessor#getModelCapabilities(LLMModel)}, results in input order.
+     */
+    public List<String> getAllCapabilities(Collection<? extends LLMModel> models) {
+        return run(models, Operation.CAPABILITIES);
+    }
+
+    private List<String> run(Collection<? extends LLMModel> models, Operation operation) {
+        LLMModel[] input = models.toArray(LLMModel[]::new);
+        String[] results = new String[input.length];
+        if (pool == null || input.length <= SLICE_SIZE) {
+            processSlice(input, results, 0, input.length, operation);
+        } else {
+            pool.invoke(new SliceTask(input, results, 0, input.length, operation));
+        }
+        return Collections.unmodifiableList(Arrays.asList(results));
+    }
+
+    private static void processSlice(LLMModel[] input, String[] results, int from, int to, Operation operation) {
+        int length = to - from;
+        byte[] groups = new byte[length];
+        int[] starts = new int[GROUPS + 1];
+        for (int i = 0; i < length; i++) {
+            int group = groupOf(input[from + i]);
+            groups[i] = (byte) group;
+            starts[group + 1]++;
+        }
+        for (int group = 0; group < GROUPS; group++) {
+            starts[group + 1] += starts[group];
+        }
+        int[] order = new int[length];
+        int[] next = Arrays.copyOf(starts, GROUPS);
+        for (int i = 0; i < length; i++) {
+            order[next[groups[i]]++] = from + i;
+        }
+
+        for (int k = starts[CHATGPT]; k < starts[CHATGPT + 1]; k++) {
+            int index = order[k];
+            results[index] = operation.apply(ModelDispatchProcessor.CHATGPT,
+                ((ChatGPTModel) input[index]).getModelVariant());
+        }
+        for (int k = starts[GEMINI]; k < starts[GEMINI + 1]; k++) {
+            int index = order[k];
+            results[index] = operation.apply(ModelDispatchProcessor.GEMINI,
+                ((GeminiModel) input[index]).getModelSize());
+        }
+        for (int k = starts[CLAUDE]; k < starts[CLAUDE + 1]; k++) {
+            int index = order[k];
+            results[index] = operation.apply(ModelDispatchProcessor.CLAUDE,
+                ((ClaudeModel) input[index]).getModelVariant());
+        }
+        for (int k = starts[DEEPSEEK]; k < starts[DEEPSEEK + 1]; k++) {
+            int index = order[k];
+            results[index] = operation.apply(ModelDispatchProcessor.DEEPSEEK,
+                ((DeepSeekModel) input[index]).getModelVariant());
+        }
+        for (int k = starts[NULL]; k < starts[NULL + 1]; k++) {
+            results[order[k]] = operation.nullResult;
+        }
+    }
+
+    private static int groupOf(LLMModel model) {
+        return switch (model) {
+            case null -> NULL;
+            case ChatGPTModel chatGPT -> CHATGPT;
+            case GeminiModel gemini -> GEMINI;
+            case ClaudeModel claude -> CLAUDE;
+            case DeepSeekModel deepSeek -> DEEPSEEK;
+        };
+    }
+
+    /**
+     * Halves its range until it fits in one slice. Tasks write disjoint ranges of the result array.
+     */
+    private static final class SliceTask extends RecursiveAction {
+        private final LLMModel[] input;
+        private final String[] results;
+        private final int from;
+        private final int to;
+        private final Operation operation;
+
+        SliceTask(LLMModel[] input, String[] results, int from, int to, Operation operation) {
+            this.input = input;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.operation = operation;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SLICE_SIZE) {
+                processSlice(input, results, from, to, operation);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SliceTask(input, results, from, middle, operation),
+                new SliceTask(input, results, middle, to, operation));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package pl.vm.features.patternmatching;
+
+import pl.vm.features.sealed.model.ChatGPTModel;
+import pl.vm.features.sealed.model.ClaudeModel;
+import pl.vm.features.sealed.model.DeepSeekModel;
+import pl.vm.features.sealed.model.GeminiModel;
+import pl.vm.features.sealed.model.LLMModel;
+
+/**
+ * Memoizing front of {@link ModelProcessor}.
+ *
+ * The results of {@link ModelProcessor} depend only on the concrete model type and its variant
+ * (or size), so they are cached under that identity tuple in a bounded, concurrent cache. One
+ * instance can be shared by all request threads, including the virtual threads of
+ * {@code VirtualThreadServer}. Hit, miss and eviction counters are available from {@link #stats()}.
+ */
+public class CachingModelProcessor {
+
+    public static final int DEFAULT_MAX_ENTRIES = 1024;
+
+    /**
+     * Cache counters.
+     *
+     * @param hits      lookups answered from the cache
+     * @param misses    lookups that had to call {@link ModelProcessor}
+     * @param evictions entries removed to stay within the maximum size
+     * @param size      entries currently cached
+     */
+    public record Stats(long hits, long misses, long evictions, int size) {
+
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+    }
+
+    private enum Operation {
+        PROCESS, CONDITIONS, CAPABILITIES
+    }
+
+    private record ModelKey(Operation operation, Class<? extends LLMModel> type, String variant) {
+    }
+
+    private final ModelProcessor delegate;
+    private final ClockCache<ModelKey, String> cache;
+
+    public CachingModelProcessor() {
+        this(new ModelProcessor(), DEFAULT_MAX_ENTRIES);
+    }
+
+    public CachingModelProcessor(ModelProcessor delegate, int maxEntries) {
+        this.delegate = delegate;
+        this.cache = new ClockCache<>(maxEntries);
+    }
+
+    /**
+     * Cached {@link ModelProcessor#processModel(LLMModel)}.
+     */
+    public String processModel(LLMModel model) {
+        if (model == null) {
+            return delegate.processModel(null);
+        }
+        ModelKey key = new ModelKey(Operation.PROCESS, model.getClass(), variantOf(model));
+        String cached = cache.get(key);
+        return cached != null ? cached : cache.putIfAbsent(key, delegate.processModel(model));
+    }
+
+    /**
+     * Cached {@link ModelProcessor#processModelWithConditions(LLMModel)}.
+     */
+    public String processModelWithConditions(LLMModel model) {
+        if (model == null) {
+            return delegate.processModelWithConditions(null);
+        }
+        ModelKey key = new ModelKey(Operation.CONDITIONS, model.getClass(), variantOf(model));
+        String cached = cache.get(key);
+        return cached != null ? cached : cache.putIfAbsent(key, delegate.processModelWithConditions(model));
+    }
+
+    /**
+     * Cached {@link ModelProcessor#getModelCapabilities(LLMModel)}.
+     */
+    public String getModelCapabilities(LLMModel model) {
+        if (model == null) {
+            return delegate.getModelCapabilities(null);
+        }
+        ModelKey key = new ModelKey(Operation.CAPABILITIES, model.getClass(), variantOf(model));
+        String cached = cache.get(key);
+        return cached != null ? cached : cache.putIfAbsent(key, delegate.getModelCapabilities(model));
+    }
+
+    public Stats stats() {
+        ClockCache.Stats stats = cache.stats();
+        return new Stats(stats.hits(), stats.misses(), stats.evictions(), stats.size());
+    }
+
+    private static String variantOf(LLMModel model) {
+        return switch (model) {
+            case ChatGPTModel chatGPT -> chatGPT.getModelVariant();
+            case GeminiModel gemini -> gemini.getModelSize();
+            case ClaudeModel claude -> claude.getModelVariant();
+            case DeepSeekModel deepSeek -> deepSeek.getModelVariant();
+        };
+    }
+}
@@ -0,0 +1,108 @@
+package pl.vm.features.patternmatching;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded concurrent cache with CLOCK (second chance) eviction.
+ *
+ * Hits are a lock-free {@link ConcurrentHashMap} read plus setting a reference bit if it is clear,
+ * so the cache can be shared by any number of platform or virtual threads without pinning or
+ * contention on a global lock. When the size exceeds the capacity, keys are taken from the clock
+ * queue in insertion order: a key that was read since its last visit gets a second chance,
+ * otherwise it is evicted. Concurrent inserts may briefly exceed the capacity by the number of
+ * racing threads.
+ */
+final class ClockCache<K, V> {
+
+    /**
+     * Point-in-time view of the cache counters.
+     */
+    record Stats(long hits, long misses, long evictions, int size) {
+    }
+
+    private final int capacity;
+    private final ConcurrentHashMap<K, Entry<V>> entries;
+    private final ConcurrentLinkedQueue<K> clock = new ConcurrentLinkedQueue<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    ClockCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.entries = new ConcurrentHashMap<>(capacity);
+    }
+
+    /**
+     * Returns the cached value, or {@code null} (counted as a miss) when the key is not cached.
+     */
+    V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        // Only write when the bit is clear, so hot keys do not bounce their cache line across cores
+        if (!entry.referenced) {
+            entry.referenced = true;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * Caches the value unless another thread cached one first, and returns the cached value.
+     */
+    V putIfAbsent(K key, V value) {
+        Objects.requireNonNull(value);
+        Entry<V> entry = new Entry<>(value);
+        Entry<V> existing = entries.putIfAbsent(key, entry);
+        if (existing != null) {
+            return existing.value;
+        }
+        clock.offer(key);
+        if (entries.size() > capacity) {
+            evict();
+        }
+        return value;
+    }
+
+    Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), entries.size());
+    }
+
+    private void evict() {
+        // Every key is visited at most twice: once to clear its reference bit, once to evict it
+        int budget = 2 * (entries.size() + 1);
+        while (entries.size() > capacity && budget-- > 0) {
+            K key = clock.poll();
+            if (key == null) {
+                return;
+            }
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                continue;
+            }
+            if (entry.referenced) {
+                entry.referenced = false;
+                clock.offer(key);
+            } else if (entries.remove(key, entry)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private volatile boolean referenced;
+
+        Entry(V value) {
+            this.value = value;
+        }
+    }
+}
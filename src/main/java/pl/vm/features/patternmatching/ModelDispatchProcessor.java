@@ -0,0 +1,146 @@
+package pl.vm.features.patternmatching;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import pl.vm.features.sealed.model.ChatGPTModel;
+import pl.vm.features.sealed.model.ClaudeModel;
+import pl.vm.features.sealed.model.DeepSeekModel;
+import pl.vm.features.sealed.model.GeminiModel;
+import pl.vm.features.sealed.model.LLMModel;
+
+/**
+ * Table-driven variant of {@link ModelProcessor} built on pattern matching for switch.
+ * Returns exactly the same strings as {@link ModelProcessor}.
+ *
+ * Key aspects demonstrated:
+ * 1. Exhaustive switch over the sealed {@link LLMModel} hierarchy, no default branch needed
+ * 2. {@code case null} handling inside the switch
+ * 3. Per-(type, variant) lookup tables with precomputed result strings
+ *
+ * Every result for a known variant is built once when the class is loaded, so dispatch is a type
+ * switch plus one hash lookup on the variant (whose hash code is cached by {@link String}) and
+ * does not allocate. Only {@link #processModel(LLMModel)} with a variant outside the table builds
+ * a new string. A model without a variant fails with {@link NullPointerException} in
+ * {@link #processModelWithConditions(LLMModel)} and {@link #getModelCapabilities(LLMModel)},
+ * just like in {@link ModelProcessor}.
+ *
+ * @see <a href="https://openjdk.org/jeps/441">JEP 441: Pattern Matching for switch</a>
+ */
+public class ModelDispatchProcessor {
+
+    static final String UNKNOWN_MODEL_TYPE = "Unknown model type";
+    static final String UNKNOWN_CONDITIONS = "Processing unknown model type";
+    static final String UNKNOWN_CAPABILITIES = "Unknown model capabilities";
+
+    static final VariantTable CHATGPT = new VariantTable(
+        "Processing ChatGPT model with variant: ",
+        Map.of(
+            "gpt-4", "Processing advanced ChatGPT model (GPT-4)",
+            "gpt-3.5-turbo", "Processing standard ChatGPT model (GPT-3.5)"),
+        "ChatGPT capabilities: ",
+        "gpt-4", "Advanced reasoning, code generation, complex problem solving",
+        "General purpose, efficient processing");
+
+    static final VariantTable GEMINI = new VariantTable(
+        "Processing Gemini model with size: ",
+        Map.of(
+            "pro", "Processing professional Gemini model",
+            "ultra", "Processing ultra Gemini model"),
+        "Gemini capabilities: ",
+        "pro", "Professional grade, balanced performance",
+        "Ultra performance, maximum capabilities");
+
+    static final VariantTable CLAUDE = new VariantTable(
+        "Processing Claude model with variant: ",
+        Map.of(
+            "opus", "Processing Claude Opus model",
+            "sonnet", "Processing Claude Sonnet model"),
+        "Claude capabilities: ",
+        "opus", "Advanced reasoning, complex tasks",
+        "Efficient processing, general purpose");
+
+    static final VariantTable DEEPSEEK = new VariantTable(
+        "Processing DeepSeek model with variant: ",
+        Map.of(
+            "coder", "Processing DeepSeek Coder model",
+            "chat", "Processing DeepSeek Chat model"),
+        "DeepSeek capabilities: ",
+        "coder", "Specialized in code generation and analysis",
+        "General purpose chat and assistance");
+
+    /**
+     * Same result as {@link ModelProcessor#processModel(LLMModel)}.
+     */
+    public String processModel(LLMModel model) {
+        return switch (model) {
+            case null -> UNKNOWN_MODEL_TYPE;
+            case ChatGPTModel chatGPT -> CHATGPT.processed(chatGPT.getModelVariant());
+            case GeminiModel gemini -> GEMINI.processed(gemini.getModelSize());
+            case ClaudeModel claude -> CLAUDE.processed(claude.getModelVariant());
+            case DeepSeekModel deepSeek -> DEEPSEEK.processed(deepSeek.getModelVariant());
+        };
+    }
+
+    /**
+     * Same result as {@link ModelProcessor#processModelWithConditions(LLMModel)}.
+     */
+    public String processModelWithConditions(LLMModel model) {
+        return switch (model) {
+            case null -> UNKNOWN_CONDITIONS;
+            case ChatGPTModel chatGPT -> CHATGPT.conditions(chatGPT.getModelVariant());
+            case GeminiModel gemini -> GEMINI.conditions(gemini.getModelSize());
+            case ClaudeModel claude -> CLAUDE.conditions(claude.getModelVariant());
+            case DeepSeekModel deepSeek -> DEEPSEEK.conditions(deepSeek.getModelVariant());
+        };
+    }
+
+    /**
+     * Same result as {@link ModelProcessor#getModelCapabilities(LLMModel)}.
+     */
+    public String getModelCapabilities(LLMModel model) {
+        return switch (model) {
+            case null -> UNKNOWN_CAPABILITIES;
+            case ChatGPTModel chatGPT -> CHATGPT.capabilities(chatGPT.getModelVariant());
+            case GeminiModel gemini -> GEMINI.capabilities(gemini.getModelSize());
+            case ClaudeModel claude -> CLAUDE.capabilities(claude.getModelVariant());
+            case DeepSeekModel deepSeek -> DEEPSEEK.capabilities(deepSeek.getModelVariant());
+        };
+    }
+
+    /**
+     * Precomputed results of a single model type, keyed by variant.
+     */
+    static final class VariantTable {
+        private final String processPrefix;
+        private final Map<String, String> processed;
+        private final Map<String, String> conditions;
+        private final String preferredVariant;
+        private final String preferredCapabilities;
+        private final String otherCapabilities;
+
+        VariantTable(String processPrefix, Map<String, String> conditions, String capabilitiesPrefix,
+                     String preferredVariant, String preferredCapabilities, String otherCapabilities) {
+            this.processPrefix = processPrefix;
+            this.conditions = conditions;
+            this.processed = conditions.keySet().stream()
+                .collect(Collectors.toUnmodifiableMap(variant -> variant, variant -> processPrefix + variant));
+            this.preferredVariant = preferredVariant;
+            this.preferredCapabilities = capabilitiesPrefix + preferredCapabilities;
+            this.otherCapabilities = capabilitiesPrefix + otherCapabilities;
+        }
+
+        String processed(String variant) {
+            String result = variant == null ? null : processed.get(variant);
+            return result != null ? result : processPrefix + variant;
+        }
+
+        String conditions(String variant) {
+            return conditions.getOrDefault(variant, UNKNOWN_CONDITIONS);
+        }
+
+        String capabilities(String variant) {
+            return variant.equals(preferredVariant) ? preferredCapabilities : otherCapabilities;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package pl.vm.features.records;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Validates whole batches of {@link ModelConfig} records against every rule of
+ * {@link ModelConfigProcessor#validateConfig(ModelConfig)} in a single pass.
+ *
+ * Each record gets a bitmask of the rules it breaks ({@code 0} when valid) in one byte of a
+ * pre-sized array, and the failures per rule are counted along the way. Nothing is allocated per
+ * record, valid or not; messages are only built on request through {@link Report#messages(int)}.
+ */
+public final class BulkConfigValidator {
+
+    /**
+     * Validation rules, in the order {@link ModelConfigProcessor#validateConfig(ModelConfig)}
+     * reports them.
+     */
+    public enum Rule {
+        TOKENS_POSITIVE("tokens must be positive"),
+        TEMPERATURE_RANGE("temperature must be between 0 and 1"),
+        TIMEOUT_POSITIVE("timeout must be positive");
+
+        private final String description;
+
+        Rule(String description) {
+            this.description = description;
+        }
+
+        public int bit() {
+            return 1 << ordinal();
+        }
+
+        /**
+         * Same message as {@link ModelConfigProcessor#validateConfig(ModelConfig)} for this rule.
+         */
+        public String message() {
+            return "Invalid configuration: " + description;
+        }
+    }
+
+    private static final Rule[] RULES = Rule.values();
+
+    private BulkConfigValidator() {
+    }
+
+    /**
+     * Validates every record of the batch.
+     */
+    public static Report validate(List<ModelConfig> configs) {
+        int size = configs.size();
+        byte[] masks = new byte[size];
+        int tokens = 0;
+        int temperature = 0;
+        int timeout = 0;
+        int invalid = 0;
+        int index = 0;
+        for (ModelConfig config : configs) {
+            int mask = mask(config.maxTokens(), config.temperature(), config.timeoutSeconds());
+            masks[index++] = (byte) mask;
+            tokens += mask & 1;
+            temperature += (mask >>> 1) & 1;
+            timeout += mask >>> 2;
+            invalid += mask != 0 ? 1 : 0;
+        }
+        return new Report(masks, new int[] {tokens, temperature, timeout}, invalid);
+    }
+
+    /**
+     * Validates every record of a columnar store, reading only the validated columns.
+     */
+    public static Report validate(ColumnarConfigStore store) {
+        int size = store.size();
+        byte[] masks = new byte[size];
+        int tokens = 0;
+        int temperature = 0;
+        int timeout = 0;
+        int invalid = 0;
+        for (int i = 0; i < size; i++) {
+            int mask = mask(store.maxTokens(i), store.temperature(i), store.timeoutSeconds(i));
+            masks[i] = (byte) mask;
+            tokens += mask & 1;
+            temperature += (mask >>> 1) & 1;
+            timeout += mask >>> 2;
+            invalid += mask != 0 ? 1 : 0;
+        }
+        return new Report(masks, new int[] {tokens, temperature, timeout}, invalid);
+    }
+
+    private static int mask(int maxTokens, double temperature, int timeoutSeconds) {
+        return (maxTokens <= 0 ? 1 : 0)
+            | (temperature < 0.0 || temperature > 1.0 ? 2 : 0)
+            | (timeoutSeconds <= 0 ? 4 : 0);
+    }
+
+    /**
+     * Outcome of validating a batch: one bitmask per record and failure counts per rule.
+     */
+    public static final class Report {
+        private final byte[] masks;
+        private final int[] failures;
+        private final int invalid;
+
+        private Report(byte[] masks, int[] failures, int invalid) {
+            this.masks = masks;
+            this.failures = failures;
+            this.invalid = invalid;
+        }
+
+        public int size() {
+            return masks.length;
+        }
+
+        /**
+         * Bitmask of the rules broken by the record at {@code index}, see {@link Rule#bit()}.
+         */
+        public int mask(int index) {
+            return masks[index];
+        }
+
+        public boolean isValid(int index) {
+            return masks[index] == 0;
+        }
+
+        public boolean violates(int index, Rule rule) {
+            return (masks[index] & rule.bit()) != 0;
+        }
+
+        public Set<Rule> violations(int index) {
+            Set<Rule> rules = EnumSet.noneOf(Rule.class);
+            for (Rule rule : RULES) {
+                if (violates(index, rule)) {
+                    rules.add(rule);
+                }
+            }
+            return rules;
+        }
+
+        /**
+         * Messages of every rule broken by the record at {@code index}, empty when valid.
+         */
+        public List<String> messages(int index) {
+            return violations(index).stream().map(Rule::message).toList();
+        }
+
+        /**
+         * Number of records breaking the given rule.
+         */
+        public int failures(Rule rule) {
+            return failures[Objects.requireNonNull(rule, "rule").ordinal()];
+        }
+
+        public int validCount() {
+            return masks.length - invalid;
+        }
+
+        public int invalidCount() {
+            return invalid;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package pl.vm.features.records;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Struct-of-arrays store for large {@link ModelConfig} populations.
+ *
+ * Every component lives in its own primitive column: {@code maxTokens}, {@code temperature} and
+ * {@code timeoutSeconds} in plain arrays, {@code streaming} as a bitset and {@code modelName} and
+ * {@code version} as ids into a shared string dictionary. A config costs about 24 bytes instead
+ * of a record object with two string references. Records are only built on demand by
+ * {@link #get(int)}.
+ *
+ * The scan methods cover the predicates of {@link ModelConfigProcessor#processConfig(ModelConfig)}
+ * and return a {@link BitSet} of matching indices. Their loops read a single primitive column
+ * without branches and build each 64-bit word of the result in a register over a block of 64
+ * configs, storing it once, instead of updating the word in memory for every config.
+ *
+ * Appending is not thread-safe; a fully built store can be read by many threads.
+ */
+public class ColumnarConfigStore extends AbstractList<ModelConfig> implements RandomAccess {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int NULL_ID = -1;
+
+    private final Map<String, Integer> dictionaryIds = new HashMap<>();
+    private final List<String> dictionary = new ArrayList<>();
+
+    private int size;
+    private int[] modelNames;
+    private int[] versions;
+    private int[] maxTokens;
+    private double[] temperatures;
+    private long[] streaming;
+    private int[] timeouts;
+
+    public ColumnarConfigStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ColumnarConfigStore(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity must not be negative: " + initialCapacity);
+        }
+        modelNames = new int[initialCapacity];
+        versions = new int[initialCapacity];
+        maxTokens = new int[initialCapacity];
+        temperatures = new double[initialCapacity];
+        streaming = new long[words(initialCapacity)];
+        timeouts = new int[initialCapacity];
+    }
+
+    /**
+     * Creates a store holding the given configs, in order.
+     */
+    public static ColumnarConfigStore of(Collection<ModelConfig> configs) {
+        ColumnarConfigStore store = new ColumnarConfigStore(configs.size());
+        store.addAll(configs);
+        return store;
+    }
+
+    @Override
+    public boolean add(ModelConfig config) {
+        if (size == maxTokens.length) {
+            grow();
+        }
+        modelNames[size] = idOf(config.modelName());
+        versions[size] = idOf(config.version());
+        maxTokens[size] = config.maxTokens();
+        temperatures[size] = config.temperature();
+        if (config.streaming()) {
+            streaming[size >>> 6] |= 1L << size;
+        }
+        timeouts[size] = config.timeoutSeconds();
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Builds the record at {@code index}.
+     */
+    @Override
+    public ModelConfig get(int index) {
+        return new ModelConfig(modelName(index), version(index), maxTokens(index),
+            temperature(index), streaming(index), timeoutSeconds(index));
+    }
+
+    public String modelName(int index) {
+        return string(modelNames[checkIndex(index)]);
+    }
+
+    public String version(int index) {
+        return string(versions[checkIndex(index)]);
+    }
+
+    public int maxTokens(int index) {
+        return maxTokens[checkIndex(index)];
+    }
+
+    public double temperature(int index) {
+        return temperatures[checkIndex(index)];
+    }
+
+    public boolean streaming(int index) {
+        checkIndex(index);
+        return (streaming[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public int timeoutSeconds(int index) {
+        return timeouts[checkIndex(index)];
+    }
+
+    /**
+     * Number of distinct model names and versions stored.
+     */
+    public int dictionarySize() {
+        return dictionary.size();
+    }
+
+    /**
+     * Indices of streaming configs.
+     */
+    public BitSet streaming() {
+        return BitSet.valueOf(Arrays.copyOf(streaming, words(size)));
+    }
+
+    /**
+     * Indices of configs with {@code maxTokens > threshold}.
+     */
+    public BitSet maxTokensAbove(int threshold) {
+        long[] words = new long[words(size)];
+        for (int start = 0; start < size; start += 64) {
+            int end = Math.min(start + 64, size);
+            long word = 0;
+            for (int i = start; i < end; i++) {
+                word |= (maxTokens[i] > threshold ? 1L : 0L) << i;
+            }
+            words[start >>> 6] = word;
+        }
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * Indices of configs with {@code temperature < threshold}.
+     */
+    public BitSet temperatureBelow(double threshold) {
+        long[] words = new long[words(size)];
+        for (int start = 0; start < size; start += 64) {
+            int end = Math.min(start + 64, size);
+            long word = 0;
+            for (int i = start; i < end; i++) {
+                word |= (temperatures[i] < threshold ? 1L : 0L) << i;
+            }
+            words[start >>> 6] = word;
+        }
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * Number of configs with {@code maxTokens > threshold}, without materializing a bitset.
+     */
+    public int countMaxTokensAbove(int threshold) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            count += maxTokens[i] > threshold ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Number of configs with {@code temperature < threshold}, without materializing a bitset.
+     */
+    public int countTemperatureBelow(double threshold) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            count += temperatures[i] < threshold ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Number of streaming configs.
+     */
+    public int countStreaming() {
+        int count = 0;
+        for (int word = 0, words = words(size); word < words; word++) {
+            count += Long.bitCount(streaming[word]);
+        }
+        return count;
+    }
+
+    private void grow() {
+        int capacity = Math.max(DEFAULT_CAPACITY, maxTokens.length + (maxTokens.length >> 1));
+        modelNames = Arrays.copyOf(modelNames, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+        maxTokens = Arrays.copyOf(maxTokens, capacity);
+        temperatures = Arrays.copyOf(temperatures, capacity);
+        streaming = Arrays.copyOf(streaming, words(capacity));
+        timeouts = Arrays.copyOf(timeouts, capacity);
+    }
+
+    private int idOf(String value) {
+        if (value == null) {
+            return NULL_ID;
+        }
+        Integer id = dictionaryIds.get(value);
+        if (id == null) {
+            id = dictionary.size();
+            dictionaryIds.put(value, id);
+            dictionary.add(value);
+        }
+        return id;
+    }
+
+    private String string(int id) {
+        return id == NULL_ID ? null : dictionary.get(id);
+    }
+
+    private int checkIndex(int index) {
+        return Objects.checkIndex(index, size);
+    }
+
+    private static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+}
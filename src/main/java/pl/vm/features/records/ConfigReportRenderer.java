@@ -0,0 +1,80 @@
+package pl.vm.features.records;
+
+import java.io.IOException;
+
+/**
+ * Renders the configuration summary and detailed analysis of
+ * {@link ModelConfigProcessor#getConfigSummary(ModelConfig)} and
+ * {@link ModelConfigProcessor#getDetailedAnalysis(ModelConfig)} from precompiled templates.
+ *
+ * The output is identical to the former {@code String.format(Locale.US, ...)} rendering, but the
+ * format text is parsed once and the temperature is formatted without a {@link java.util.Formatter}.
+ * The {@code append*} methods write into a caller-owned, reusable {@link StringBuilder} or
+ * {@link Appendable} field by field, so a dashboard rendering thousands of configs can reuse one
+ * buffer or stream into a {@link java.io.Writer} without a {@code String} per config.
+ */
+public final class ConfigReportRenderer {
+
+    private static final ConfigTemplate SUMMARY = ConfigTemplate.compile("""
+        Model: {}
+        Version: {}
+        Max Tokens: {}
+        Temperature: {}
+        Streaming: {}
+        Timeout: {} seconds
+        """,
+        (config, out) -> out.append(config.modelName()),
+        (config, out) -> out.append(config.version()),
+        (config, out) -> ConfigTemplate.appendDecimal(config.maxTokens(), out),
+        (config, out) -> ConfigTemplate.appendTwoDecimals(config.temperature(), out),
+        (config, out) -> out.append(config.streaming() ? "true" : "false"),
+        (config, out) -> ConfigTemplate.appendDecimal(config.timeoutSeconds(), out));
+
+    private static final ConfigTemplate DETAILED_ANALYSIS = ConfigTemplate.compile("""
+        Detailed Analysis for {} (v{}):
+        - Performance: {} (tokens: {})
+        - Precision: {} (temperature: {})
+        - Mode: {}
+        - Reliability: {} (timeout: {} seconds)
+        """,
+        (config, out) -> out.append(config.modelName()),
+        (config, out) -> out.append(config.version()),
+        (config, out) -> out.append(config.maxTokens() > 4000 ? "high" : "standard"),
+        (config, out) -> ConfigTemplate.appendDecimal(config.maxTokens(), out),
+        (config, out) -> out.append(config.temperature() < 0.3 ? "high" : "balanced"),
+        (config, out) -> ConfigTemplate.appendTwoDecimals(config.temperature(), out),
+        (config, out) -> out.append(config.streaming() ? "streaming" : "batch"),
+        (config, out) -> out.append(config.timeoutSeconds() > 60 ? "high" : "standard"),
+        (config, out) -> ConfigTemplate.appendDecimal(config.timeoutSeconds(), out));
+
+    private ConfigReportRenderer() {
+    }
+
+    public static String summary(ModelConfig config) {
+        return SUMMARY.render(config);
+    }
+
+    public static String detailedAnalysis(ModelConfig config) {
+        return DETAILED_ANALYSIS.render(config);
+    }
+
+    public static StringBuilder appendSummary(ModelConfig config, StringBuilder out) {
+        SUMMARY.render(config, out);
+        return out;
+    }
+
+    public static StringBuilder appendDetailedAnalysis(ModelConfig config, StringBuilder out) {
+        DETAILED_ANALYSIS.render(config, out);
+        return out;
+    }
+
+    public static <A extends Appendable> A appendSummary(ModelConfig config, A out) throws IOException {
+        SUMMARY.render(config, out);
+        return out;
+    }
+
+    public static <A extends Appendable> A appendDetailedAnalysis(ModelConfig config, A out) throws IOException {
+        DETAILED_ANALYSIS.render(config, out);
+        return out;
+    }
+}
@@ -0,0 +1,137 @@
+package pl.vm.features.records;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Text template over a {@link ModelConfig}, split into literal segments and field slots once, at
+ * compile time. Rendering appends the segments and fields in order into an {@link Appendable}
+ * without parsing anything, and without building an intermediate {@code String}: numbers are
+ * written digit by digit unless the target is a {@link StringBuilder}.
+ */
+final class ConfigTemplate {
+
+    private static final String SLOT = "{}";
+    private static final double FAST_FORMAT_LIMIT = 1e6;
+    private static final double HALF_TOLERANCE = 1e-6;
+
+    /**
+     * Appends one value of a config.
+     */
+    @FunctionalInterface
+    interface Field {
+        void append(ModelConfig config, Appendable out) throws IOException;
+    }
+
+    private final String[] literals;
+    private final Field[] fields;
+    private final int estimatedLength;
+
+    private ConfigTemplate(String[] literals, Field[] fields, int estimatedLength) {
+        this.literals = literals;
+        this.fields = fields;
+        this.estimatedLength = estimatedLength;
+    }
+
+    /**
+     * Compiles {@code text}, filling each {@code {}} slot with the next field.
+     *
+     * @throws IllegalArgumentException if the number of slots and fields differ
+     */
+    static ConfigTemplate compile(String text, Field... fields) {
+        List<String> literals = new ArrayList<>(fields.length + 1);
+        int start = 0;
+        int slot;
+        while ((slot = text.indexOf(SLOT, start)) >= 0) {
+            literals.add(text.substring(start, slot));
+            start = slot + SLOT.length();
+        }
+        literals.add(text.substring(start));
+        if (literals.size() != fields.length + 1) {
+            throw new IllegalArgumentException(
+                "Template has " + (literals.size() - 1) + " slots but " + fields.length + " fields");
+        }
+        return new ConfigTemplate(literals.toArray(String[]::new), fields.clone(),
+            text.length() + 16 * fields.length);
+    }
+
+    void render(ModelConfig config, Appendable out) throws IOException {
+        out.append(literals[0]);
+        for (int i = 0; i < fields.length; i++) {
+            fields[i].append(config, out);
+            out.append(literals[i + 1]);
+        }
+    }
+
+    void render(ModelConfig config, StringBuilder out) {
+        try {
+            render(config, (Appendable) out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("StringBuilder does not throw", e);
+        }
+    }
+
+    String render(ModelConfig config) {
+        StringBuilder out = new StringBuilder(estimatedLength);
+        render(config, out);
+        return out.toString();
+    }
+
+    /**
+     * Appends {@code value} exactly as {@code String.format(Locale.US, "%.2f", value)} does.
+     *
+     * {@link java.util.Formatter} rounds the shortest decimal representation of the double half
+     * up. Away from a tie that matches rounding the scaled binary value, which is done here with
+     * integer arithmetic; values close to a tie, large values and non-finite values go through
+     * {@link String#format} to stay byte-for-byte identical.
+     */
+    static void appendTwoDecimals(double value, Appendable out) throws IOException {
+        double magnitude = Math.abs(value);
+        if (!(magnitude < FAST_FORMAT_LIMIT)) {
+            out.append(String.format(Locale.US, "%.2f", value));
+            return;
+        }
+        double scaled = magnitude * 100;
+        long whole = (long) scaled;
+        double fraction = scaled - whole;
+        if (Math.abs(fraction - 0.5) < HALF_TOLERANCE) {
+            out.append(String.format(Locale.US, "%.2f", value));
+            return;
+        }
+        long cents = fraction > 0.5 ? whole + 1 : whole;
+        if (Double.doubleToRawLongBits(value) < 0) {
+            out.append('-');
+        }
+        int hundredths = (int) (cents % 100);
+        appendDecimal(cents / 100, out);
+        out.append('.').append((char) ('0' + hundredths / 10))
+            .append((char) ('0' + hundredths % 10));
+    }
+
+    /**
+     * Appends {@code value} as {@link Long#toString(long)} would, without creating the string.
+     */
+    static void appendDecimal(long value, Appendable out) throws IOException {
+        if (out instanceof StringBuilder builder) {
+            builder.append(value);
+            return;
+        }
+        // Work on the negated value so that Long.MIN_VALUE needs no special case.
+        if (value < 0) {
+            out.append('-');
+        } else {
+            value = -value;
+        }
+        appendNegatedDigits(value, out);
+    }
+
+    private static void appendNegatedDigits(long negated, Appendable out) throws IOException {
+        if (negated <= -10) {
+            appendNegatedDigits(negated / 10, out);
+        }
+        out.append((char) ('0' - negated % 10));
+    }
+}
@@ -0,0 +1,353 @@
+package pl.vm.features.records;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * Persistent, memory-mapped catalog of {@link ModelConfig} records with a hash index on
+ * {@code modelName} + {@code version}.
+ *
+ * File layout (big endian):
+ * <pre>
+ * header   64 bytes: magic "MCAT" (int), format version (short), reserved (short),
+ *          capacity (int), entry count (int), index slots (int), zero padding
+ * index    open-addressing table of {@code slots} ints, entry number + 1, 0 when empty
+ * entries  {@code capacity} fixed-width entries of {@value #ENTRY_BYTES} bytes:
+ *          name length (byte), version length (byte), flags (byte), reserved (byte),
+ *          maxTokens (int), timeoutSeconds (int), key hash (int), temperature (double),
+ *          modelName UTF-8 ({@value #MAX_NAME_BYTES} bytes), version UTF-8
+ *          ({@value #MAX_VERSION_BYTES} bytes)
+ * </pre>
+ *
+ * {@link #open(Path)} only maps the file and checks the header, so it takes the same time for
+ * any catalog size; pages are loaded by the OS on first access. Lookups hash and compare the key
+ * bytes in the mapped file and the field accessors read straight from it; only {@link #get(int)}
+ * and the string accessors copy data to the heap.
+ *
+ * The catalog is append-only. Appending a config whose name and version are already present
+ * adds a new entry and points the index at it, so lookups see the latest entry while older ones
+ * stay readable by number. The capacity is fixed when the file is created. Appends are serialized;
+ * the entry count is published after the entry is written and before the index points at it, so
+ * concurrent readers never see a partial entry.
+ */
+public final class MappedConfigCatalog implements Closeable {
+
+    public static final int MAGIC = 0x4D434154;
+    public static final short FORMAT_VERSION = 1;
+    public static final int HEADER_BYTES = 64;
+    public static final int ENTRY_BYTES = 96;
+    public static final int MAX_NAME_BYTES = 48;
+    public static final int MAX_VERSION_BYTES = 24;
+
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int COUNT_OFFSET = 12;
+    private static final int SLOTS_OFFSET = 16;
+
+    private static final int NAME_LENGTH = 0;
+    private static final int VERSION_LENGTH = 1;
+    private static final int FLAGS = 2;
+    private static final int MAX_TOKENS = 4;
+    private static final int TIMEOUT = 8;
+    private static final int HASH = 12;
+    private static final int TEMPERATURE = 16;
+    private static final int NAME = 24;
+    private static final int VERSION = NAME + MAX_NAME_BYTES;
+
+    private static final int NULL_LENGTH = 0xFF;
+    private static final byte STREAMING = 1;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final int slots;
+    private final int entriesOffset;
+    private volatile int count;
+
+    private MappedConfigCatalog(FileChannel channel, MappedByteBuffer buffer, int capacity, int slots, int count) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.slots = slots;
+        this.entriesOffset = HEADER_BYTES + slots * Integer.BYTES;
+        this.count = count;
+    }
+
+    /**
+     * Creates a new, empty catalog file able to hold {@code capacity} entries.
+     *
+     * @throws java.nio.file.FileAlreadyExistsException if the file exists
+     */
+    public static MappedConfigCatalog create(Path path, int capacity) throws IOException {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        int slots = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1;
+        long size = HEADER_BYTES + (long) slots * Integer.BYTES + (long) capacity * ENTRY_BYTES;
+        if (slots <= 0 || size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Capacity too large for a single mapping: " + capacity);
+        }
+        FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.BIG_ENDIAN)
+                .putInt(0, MAGIC)
+                .putShort(4, FORMAT_VERSION)
+                .putInt(CAPACITY_OFFSET, capacity)
+                .putInt(COUNT_OFFSET, 0)
+                .putInt(SLOTS_OFFSET, slots);
+            return new MappedConfigCatalog(channel, buffer, capacity, slots, 0);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens an existing catalog file for reading and appending.
+     *
+     * @throws IOException if the file is not a catalog or is truncated
+     */
+    public static MappedConfigCatalog open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_BYTES || fileSize > Integer.MAX_VALUE) {
+                throw new IOException("Not a config catalog: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a config catalog: " + path);
+            }
+            if (buffer.getShort(4) != FORMAT_VERSION) {
+                throw new IOException("Unsupported config catalog version " + buffer.getShort(4) + ": " + path);
+            }
+            int capacity = buffer.getInt(CAPACITY_OFFSET);
+            int count = buffer.getInt(COUNT_OFFSET);
+            int slots = buffer.getInt(SLOTS_OFFSET);
+            long size = HEADER_BYTES + (long) slots * Integer.BYTES + (long) capacity * ENTRY_BYTES;
+            if (capacity <= 0 || count < 0 || count > capacity || Integer.bitCount(slots) != 1
+                || slots < 2L * capacity || size > fileSize) {
+                throw new IOException("Corrupted config catalog header: " + path);
+            }
+            return new MappedConfigCatalog(channel, buffer, capacity, slots, count);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Appends {@code config} and returns its entry number.
+     *
+     * @throws IllegalArgumentException if the name or version does not fit its fixed-width field
+     * @throws IllegalStateException    if the catalog is full
+     */
+    public synchronized int append(ModelConfig config) {
+        byte[] name = encode(config.modelName(), MAX_NAME_BYTES, "Model name");
+        byte[] version = encode(config.version(), MAX_VERSION_BYTES, "Version");
+        int entry = count;
+        if (entry == capacity) {
+            throw new IllegalStateException("Config catalog is full: " + capacity + " entries");
+        }
+        int hash = hash(name, version);
+        int offset = entryOffset(entry);
+        buffer.put(offset + NAME_LENGTH, (byte) (name == null ? NULL_LENGTH : name.length))
+            .put(offset + VERSION_LENGTH, (byte) (version == null ? NULL_LENGTH : version.length))
+            .put(offset + FLAGS, config.streaming() ? STREAMING : 0)
+            .putInt(offset + MAX_TOKENS, config.maxTokens())
+            .putInt(offset + TIMEOUT, config.timeoutSeconds())
+            .putInt(offset + HASH, hash)
+            .putDouble(offset + TEMPERATURE, config.temperature());
+        if (name != null) {
+            buffer.put(offset + NAME, name);
+        }
+        if (version != null) {
+            buffer.put(offset + VERSION, version);
+        }
+
+        int slot = findSlot(hash, name, version);
+        buffer.putInt(COUNT_OFFSET, entry + 1);
+        count = entry + 1;
+        buffer.putInt(slotOffset(slot), entry + 1);
+        return entry;
+    }
+
+    /**
+     * Number of the latest entry with the given name and version, or {@code -1}.
+     */
+    public int indexOf(String modelName, String version) {
+        byte[] name = utf8(modelName);
+        byte[] versionBytes = utf8(version);
+        if (name != null && name.length > MAX_NAME_BYTES
+            || versionBytes != null && versionBytes.length > MAX_VERSION_BYTES) {
+            return -1;
+        }
+        int entry = buffer.getInt(slotOffset(findSlot(hash(name, versionBytes), name, versionBytes))) - 1;
+        return entry < count ? entry : -1;
+    }
+
+    /**
+     * The latest config with the given name and version.
+     */
+    public Optional<ModelConfig> find(String modelName, String version) {
+        int entry = indexOf(modelName, version);
+        return entry < 0 ? Optional.empty() : Optional.of(get(entry));
+    }
+
+    public ModelConfig get(int entry) {
+        return new ModelConfig(modelName(entry), version(entry), maxTokens(entry),
+            temperature(entry), streaming(entry), timeoutSeconds(entry));
+    }
+
+    public String modelName(int entry) {
+        int offset = checkedOffset(entry);
+        return string(offset + NAME, buffer.get(offset + NAME_LENGTH));
+    }
+
+    public String version(int entry) {
+        int offset = checkedOffset(entry);
+        return string(offset + VERSION, buffer.get(offset + VERSION_LENGTH));
+    }
+
+    public int maxTokens(int entry) {
+        return buffer.getInt(checkedOffset(entry) + MAX_TOKENS);
+    }
+
+    public double temperature(int entry) {
+        return buffer.getDouble(checkedOffset(entry) + TEMPERATURE);
+    }
+
+    public boolean streaming(int entry) {
+        return (buffer.get(checkedOffset(entry) + FLAGS) & STREAMING) != 0;
+    }
+
+    public int timeoutSeconds(int entry) {
+        return buffer.getInt(checkedOffset(entry) + TIMEOUT);
+    }
+
+    /**
+     * Writes appended entries through to the storage device.
+     */
+    public void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Slot holding the key, or the empty slot where it would be inserted. The table is at least
+     * twice the capacity, so probing always ends.
+     */
+    private int findSlot(int hash, byte[] name, byte[] version) {
+        int mask = slots - 1;
+        int slot = mix(hash) & mask;
+        while (true) {
+            int entry = buffer.getInt(slotOffset(slot)) - 1;
+            if (entry < 0 || matches(entry, hash, name, version)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private boolean matches(int entry, int hash, byte[] name, byte[] version) {
+        int offset = entryOffset(entry);
+        return buffer.getInt(offset + HASH) == hash
+            && bytesEqual(offset + NAME, buffer.get(offset + NAME_LENGTH), name)
+            && bytesEqual(offset + VERSION, buffer.get(offset + VERSION_LENGTH), version);
+    }
+
+    private boolean bytesEqual(int position, byte storedLength, byte[] expected) {
+        int length = Byte.toUnsignedInt(storedLength);
+        if (expected == null || length == NULL_LENGTH) {
+            return expected == null && length == NULL_LENGTH;
+        }
+        if (length != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(position + i) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String string(int position, byte storedLength) {
+        int length = Byte.toUnsignedInt(storedLength);
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int checkedOffset(int entry) {
+        if (entry < 0 || entry >= count) {
+            throw new IndexOutOfBoundsException(entry);
+        }
+        return entryOffset(entry);
+    }
+
+    private int entryOffset(int entry) {
+        return entriesOffset + entry * ENTRY_BYTES;
+    }
+
+    private static int slotOffset(int slot) {
+        return HEADER_BYTES + slot * Integer.BYTES;
+    }
+
+    private static byte[] encode(String value, int maxBytes, String field) {
+        byte[] bytes = utf8(value);
+        if (bytes != null && bytes.length > maxBytes) {
+            throw new IllegalArgumentException(field + " longer than " + maxBytes + " UTF-8 bytes: " + value);
+        }
+        return bytes;
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int hash(byte[] name, byte[] version) {
+        int hash = name == null ? -1 : name.length;
+        if (name != null) {
+            for (byte b : name) {
+                hash = 31 * hash + b;
+            }
+        }
+        hash = 31 * hash + (version == null ? -1 : version.length);
+        if (version != null) {
+            for (byte b : version) {
+                hash = 31 * hash + b;
+            }
+        }
+        return hash;
+    }
+
+    private static int mix(int hash) {
+        int mixed = hash * 0x9E3779B9;
+        return mixed ^ (mixed >>> 16);
+    }
+}
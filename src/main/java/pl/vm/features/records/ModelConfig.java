@@ -14,45 +14,51 @@ public record ModelConfig(
     boolean streaming,
     int timeoutSeconds
 ) {
+    private static final ModelConfig DEFAULT = new ModelConfig(
+        "default",
+        "1.0",
+        2048,
+        0.7,
+        false,
+        30
+    );
+
+    private static final ModelConfig STREAMING = new ModelConfig(
+        "streaming",
+        "1.0",
+        4096,
+        0.8,
+        true,
+        60
+    );
+
+    private static final ModelConfig CODE_GEN = new ModelConfig(
+        "code-gen",
+        "1.0",
+        8192,
+        0.2,
+        false,
+        120
+    );
+
     /**
-     * Creates a default configuration with reasonable values.
+     * Returns the shared default configuration with reasonable values.
      */
     public static ModelConfig createDefault() {
-        return new ModelConfig(
-            "default",
-            "1.0",
-            2048,
-            0.7,
-            false,
-            30
-        );
+        return DEFAULT;
     }
 
     /**
-     * Creates a configuration optimized for streaming.
+     * Returns the shared configuration optimized for streaming.
      */
     public static ModelConfig createStreamingConfig() {
-        return new ModelConfig(
-            "streaming",
-            "1.0",
-            4096,
-            0.8,
-            true,
-            60
-        );
+        return STREAMING;
     }
 
     /**
-     * Creates a configuration optimized for code generation.
+     * Returns the shared configuration optimized for code generation.
      */
     public static ModelConfig createCodeGenConfig() {
-        return new ModelConfig(
-            "code-gen",
-            "1.0",
-            8192,
-            0.2,
-            false,
-            120
-        );
+        return CODE_GEN;
     }
 } 
\ No newline at end of file
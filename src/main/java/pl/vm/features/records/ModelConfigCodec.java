@@ -0,0 +1,310 @@
+package pl.vm.features.records;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary form of a batch of {@link ModelConfig} records.
+ *
+ * Layout (big endian):
+ * <pre>
+ * header      magic "MCFG" (int), format version (short), record stride (short),
+ *             record count (int), dictionary size (int), records offset (int)
+ * dictionary  per entry: UTF-8 length (int) + UTF-8 bytes
+ * records     per record, {@code stride} bytes starting at the records offset:
+ *             temperature (double), modelName id (int), version id (int),
+ *             maxTokens (int), timeoutSeconds (int), flags (byte), 3 reserved bytes
+ * </pre>
+ *
+ * {@code modelName} and {@code version} are stored once in the dictionary and referenced by id
+ * ({@code -1} for {@code null}), so a batch of configs sharing a few names costs
+ * {@value #RECORD_BYTES} bytes per record. The stride and records offset are part of the header,
+ * so a reader can skip fields appended by a newer format version; newer versions must only
+ * append to the record.
+ *
+ * {@link #view(ByteBuffer)} reads single fields straight from the buffer without building the
+ * records; only the dictionary is decoded, once per view.
+ */
+public final class ModelConfigCodec {
+
+    public static final int MAGIC = 0x4D434647;
+    public static final short FORMAT_VERSION = 1;
+    public static final int HEADER_BYTES = 20;
+    public static final int RECORD_BYTES = 28;
+
+    private static final int NULL_ID = -1;
+    private static final byte STREAMING = 1;
+
+    private static final int TEMPERATURE_OFFSET = 0;
+    private static final int MODEL_NAME_OFFSET = 8;
+    private static final int VERSION_OFFSET = 12;
+    private static final int MAX_TOKENS_OFFSET = 16;
+    private static final int TIMEOUT_OFFSET = 20;
+    private static final int FLAGS_OFFSET = 24;
+
+    private ModelConfigCodec() {
+    }
+
+    /**
+     * Encodes the configs into a new buffer of exactly the encoded size, flipped for reading.
+     */
+    public static ByteBuffer encode(List<ModelConfig> configs) {
+        Dictionary dictionary = Dictionary.of(configs);
+        ByteBuffer buffer = ByteBuffer.allocate(recordsOffset(dictionary) + configs.size() * RECORD_BYTES);
+        write(configs, dictionary, buffer);
+        return buffer.flip();
+    }
+
+    /**
+     * Encodes the configs at the position of {@code target} and advances it past the batch.
+     *
+     * @throws java.nio.BufferOverflowException if the batch does not fit in the remaining bytes
+     */
+    public static void encode(List<ModelConfig> configs, ByteBuffer target) {
+        write(configs, Dictionary.of(configs), target);
+    }
+
+    /**
+     * Number of bytes {@link #encode(List, ByteBuffer)} will write for the configs.
+     */
+    public static int encodedSize(List<ModelConfig> configs) {
+        return recordsOffset(Dictionary.of(configs)) + configs.size() * RECORD_BYTES;
+    }
+
+    /**
+     * Decodes a whole batch at the position of {@code source} and advances it past the batch.
+     */
+    public static List<ModelConfig> decode(ByteBuffer source) {
+        View view = view(source);
+        List<ModelConfig> configs = new ArrayList<>(view.size());
+        for (int i = 0; i < view.size(); i++) {
+            configs.add(view.get(i));
+        }
+        source.position(source.position() + view.encodedSize());
+        return configs;
+    }
+
+    /**
+     * Opens a zero-copy view of the batch at the position of {@code source}, which is not moved.
+     *
+     * @throws IllegalArgumentException if the buffer does not start with a supported batch
+     */
+    public static View view(ByteBuffer source) {
+        ByteBuffer buffer = source.slice().order(ByteOrder.BIG_ENDIAN);
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not an encoded ModelConfig batch");
+        }
+        short formatVersion = buffer.getShort(4);
+        int stride = Short.toUnsignedInt(buffer.getShort(6));
+        if (formatVersion < 1) {
+            throw new IllegalArgumentException("Unsupported ModelConfig format version: " + formatVersion);
+        }
+        int count = buffer.getInt(8);
+        int recordsOffset = buffer.getInt(16);
+        if (stride < RECORD_BYTES || count < 0 || recordsOffset < HEADER_BYTES
+            || (long) recordsOffset + (long) count * stride > buffer.remaining()) {
+            throw new IllegalArgumentException("Corrupted ModelConfig batch header");
+        }
+        String[] dictionary = readDictionary(buffer, buffer.getInt(12), recordsOffset);
+        return new View(buffer, dictionary, count, stride, recordsOffset);
+    }
+
+    private static void write(List<ModelConfig> configs, Dictionary dictionary, ByteBuffer target) {
+        ByteOrder order = target.order();
+        target.order(ByteOrder.BIG_ENDIAN);
+        try {
+            int start = target.position();
+            int recordsOffset = recordsOffset(dictionary);
+            target.putInt(MAGIC)
+                .putShort(FORMAT_VERSION)
+                .putShort((short) RECORD_BYTES)
+                .putInt(configs.size())
+                .putInt(dictionary.size())
+                .putInt(recordsOffset);
+            for (byte[] entry : dictionary.encoded) {
+                target.putInt(entry.length).put(entry);
+            }
+            while (target.position() - start < recordsOffset) {
+                target.put((byte) 0);
+            }
+            for (ModelConfig config : configs) {
+                target.putDouble(config.temperature())
+                    .putInt(dictionary.idOf(config.modelName()))
+                    .putInt(dictionary.idOf(config.version()))
+                    .putInt(config.maxTokens())
+                    .putInt(config.timeoutSeconds())
+                    .put(config.streaming() ? STREAMING : 0)
+                    .put((byte) 0).put((byte) 0).put((byte) 0);
+            }
+        } finally {
+            target.order(order);
+        }
+    }
+
+    /**
+     * Records start on an 8-byte boundary so the temperature doubles are aligned.
+     */
+    private static int recordsOffset(Dictionary dictionary) {
+        int end = HEADER_BYTES + dictionary.bytes;
+        return (end + 7) & ~7;
+    }
+
+    /**
+     * Reads the dictionary between the header and {@code end}. Sizes and lengths are checked
+     * against the bytes actually there before anything is allocated, so a corrupt or hostile batch
+     * cannot trigger a huge allocation.
+     */
+    private static String[] readDictionary(ByteBuffer buffer, int size, int end) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Corrupted ModelConfig batch header");
+        }
+        if (size > (end - HEADER_BYTES) / Integer.BYTES) {
+            throw new IllegalArgumentException("Corrupted ModelConfig dictionary");
+        }
+        String[] dictionary = new String[size];
+        int position = HEADER_BYTES;
+        try {
+            for (int id = 0; id < size; id++) {
+                int length = buffer.getInt(position);
+                if (length < 0 || length > end - position - Integer.BYTES) {
+                    throw new IllegalArgumentException("Corrupted ModelConfig dictionary");
+                }
+                byte[] bytes = new byte[length];
+                buffer.get(position + Integer.BYTES, bytes);
+                dictionary[id] = new String(bytes, StandardCharsets.UTF_8);
+                position += Integer.BYTES + length;
+            }
+        } catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+            throw new IllegalArgumentException("Corrupted ModelConfig dictionary", e);
+        }
+        return dictionary;
+    }
+
+    /**
+     * Read-only view of an encoded batch. Field accessors read directly from the buffer.
+     * Also usable as a {@code List<ModelConfig>} that builds each record on access.
+     */
+    public static final class View extends AbstractList<ModelConfig> {
+        private final ByteBuffer buffer;
+        private final String[] dictionary;
+        private final int count;
+        private final int stride;
+        private final int recordsOffset;
+
+        private View(ByteBuffer buffer, String[] dictionary, int count, int stride, int recordsOffset) {
+            this.buffer = buffer;
+            this.dictionary = dictionary;
+            this.count = count;
+            this.stride = stride;
+            this.recordsOffset = recordsOffset;
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+
+        @Override
+        public ModelConfig get(int index) {
+            return new ModelConfig(modelName(index), version(index), maxTokens(index),
+                temperature(index), streaming(index), timeoutSeconds(index));
+        }
+
+        /**
+         * @throws IllegalArgumentException if the record refers to a missing dictionary entry
+         */
+        public String modelName(int index) {
+            return string(index, buffer.getInt(offset(index) + MODEL_NAME_OFFSET));
+        }
+
+        /**
+         * @throws IllegalArgumentException if the record refers to a missing dictionary entry
+         */
+        public String version(int index) {
+            return string(index, buffer.getInt(offset(index) + VERSION_OFFSET));
+        }
+
+        public int maxTokens(int index) {
+            return buffer.getInt(offset(index) + MAX_TOKENS_OFFSET);
+        }
+
+        public double temperature(int index) {
+            return buffer.getDouble(offset(index) + TEMPERATURE_OFFSET);
+        }
+
+        public boolean streaming(int index) {
+            return (buffer.get(offset(index) + FLAGS_OFFSET) & STREAMING) != 0;
+        }
+
+        public int timeoutSeconds(int index) {
+            return buffer.getInt(offset(index) + TIMEOUT_OFFSET);
+        }
+
+        /**
+         * Total bytes of the batch, header included.
+         */
+        public int encodedSize() {
+            return recordsOffset + count * stride;
+        }
+
+        private int offset(int index) {
+            if (index < 0 || index >= count) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return recordsOffset + index * stride;
+        }
+
+        private String string(int index, int id) {
+            if (id == NULL_ID) {
+                return null;
+            }
+            if (id < 0 || id >= dictionary.length) {
+                throw new IllegalArgumentException(
+                    "Corrupted ModelConfig record " + index + ": unknown string id " + id);
+            }
+            return dictionary[id];
+        }
+    }
+
+    /**
+     * Distinct names and versions of a batch in first-seen order.
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<byte[]> encoded = new ArrayList<>();
+        private int bytes;
+
+        static Dictionary of(List<ModelConfig> configs) {
+            Dictionary dictionary = new Dictionary();
+            for (ModelConfig config : configs) {
+                dictionary.add(config.modelName());
+                dictionary.add(config.version());
+            }
+            return dictionary;
+        }
+
+        private void add(String value) {
+            if (value != null && !ids.containsKey(value)) {
+                byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                ids.put(value, encoded.size());
+                encoded.add(utf8);
+                bytes += Integer.BYTES + utf8.length;
+            }
+        }
+
+        int idOf(String value) {
+            return value == null ? NULL_ID : ids.get(value);
+        }
+
+        int size() {
+            return encoded.size();
+        }
+    }
+}
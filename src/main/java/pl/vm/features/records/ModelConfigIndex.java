@@ -0,0 +1,384 @@
+package pl.vm.features.records;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * {@link ModelConfig} collection with secondary indexes for range queries such as "maxTokens
+ * between X and Y and timeout above Z".
+ *
+ * Rows are kept in a {@link ColumnarConfigStore}. {@code maxTokens}, {@code temperature} and
+ * {@code timeoutSeconds} each get a sorted primitive index (keys and row numbers in parallel
+ * arrays) and {@code streaming} a bitmap. A {@link Query} estimates the size of every predicate
+ * by binary search, materializes the most selective one as a {@link BitSet} and intersects it
+ * with the others, checking the remaining columns row by row once the candidate set is smaller
+ * than the next index range.
+ *
+ * Inserts append to an unsorted tail of each index that range queries scan linearly. When the
+ * tail reaches an eighth of the sorted part it is sorted and merged in, so an insert costs
+ * amortized constant time and nothing is ever rebuilt from scratch.
+ *
+ * Not thread-safe.
+ */
+public class ModelConfigIndex {
+
+    private final ColumnarConfigStore store = new ColumnarConfigStore();
+    private final SortedKeyIndex maxTokens = new SortedKeyIndex();
+    private final SortedKeyIndex temperatures = new SortedKeyIndex();
+    private final SortedKeyIndex timeouts = new SortedKeyIndex();
+    private final BitSet streaming = new BitSet();
+
+    /**
+     * Creates an index holding the given configs, in order.
+     */
+    public static ModelConfigIndex of(Collection<ModelConfig> configs) {
+        ModelConfigIndex index = new ModelConfigIndex();
+        for (ModelConfig config : configs) {
+            index.add(config);
+        }
+        return index;
+    }
+
+    /**
+     * Adds {@code config} and returns its row number.
+     */
+    public int add(ModelConfig config) {
+        int row = store.size();
+        store.add(config);
+        maxTokens.add(config.maxTokens(), row);
+        temperatures.add(key(config.temperature()), row);
+        timeouts.add(config.timeoutSeconds(), row);
+        if (config.streaming()) {
+            streaming.set(row);
+        }
+        return row;
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    public ModelConfig get(int row) {
+        return store.get(row);
+    }
+
+    /**
+     * Starts a query matching every row; each predicate narrows it down.
+     */
+    public Query query() {
+        return new Query();
+    }
+
+    /**
+     * Conjunction of predicates over the indexed components. Bounds are inclusive unless stated
+     * otherwise.
+     */
+    public final class Query {
+        private final List<Predicate> predicates = new ArrayList<>();
+
+        private Query() {
+        }
+
+        public Query maxTokensBetween(int min, int max) {
+            return range(maxTokens, min, max, Column.MAX_TOKENS);
+        }
+
+        /**
+         * {@code maxTokens > threshold}, as in {@link ModelConfigProcessor#processConfig(ModelConfig)}.
+         */
+        public Query maxTokensAbove(int threshold) {
+            return threshold == Integer.MAX_VALUE ? none() : maxTokensBetween(threshold + 1, Integer.MAX_VALUE);
+        }
+
+        public Query timeoutBetween(int min, int max) {
+            return range(timeouts, min, max, Column.TIMEOUT);
+        }
+
+        /**
+         * {@code timeoutSeconds > threshold}.
+         */
+        public Query timeoutAbove(int threshold) {
+            return threshold == Integer.MAX_VALUE ? none() : timeoutBetween(threshold + 1, Integer.MAX_VALUE);
+        }
+
+        public Query temperatureBetween(double min, double max) {
+            if (Double.isNaN(min) || Double.isNaN(max)) {
+                return none();
+            }
+            return range(temperatures, key(min), key(max), Column.TEMPERATURE);
+        }
+
+        /**
+         * {@code temperature < threshold}, as in {@link ModelConfigProcessor#processConfig(ModelConfig)}.
+         */
+        public Query temperatureBelow(double threshold) {
+            if (Double.isNaN(threshold)) {
+                return none();
+            }
+            return range(temperatures, key(Double.NEGATIVE_INFINITY), key(threshold) - 1, Column.TEMPERATURE);
+        }
+
+        public Query streaming(boolean value) {
+            predicates.add(new StreamingPredicate(value));
+            return this;
+        }
+
+        /**
+         * Row numbers of all matching configs.
+         */
+        public BitSet rows() {
+            int size = store.size();
+            if (predicates.isEmpty()) {
+                BitSet all = new BitSet(size);
+                all.set(0, size);
+                return all;
+            }
+            predicates.sort(Comparator.comparingInt(Predicate::estimate));
+            BitSet rows = predicates.get(0).rows();
+            for (int i = 1; i < predicates.size() && !rows.isEmpty(); i++) {
+                Predicate predicate = predicates.get(i);
+                if (predicate.estimate() < rows.cardinality()) {
+                    rows.and(predicate.rows());
+                } else {
+                    for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                        if (!predicate.test(row)) {
+                            rows.clear(row);
+                        }
+                    }
+                }
+            }
+            return rows;
+        }
+
+        public int count() {
+            return rows().cardinality();
+        }
+
+        /**
+         * Matching configs in row order.
+         */
+        public List<ModelConfig> list() {
+            BitSet rows = rows();
+            List<ModelConfig> configs = new ArrayList<>(rows.cardinality());
+            for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                configs.add(store.get(row));
+            }
+            return configs;
+        }
+
+        private Query range(SortedKeyIndex index, long min, long max, Column column) {
+            predicates.add(new RangePredicate(index, min, max, column));
+            return this;
+        }
+
+        private Query none() {
+            predicates.add(new RangePredicate(maxTokens, 1, 0, Column.MAX_TOKENS));
+            return this;
+        }
+    }
+
+    private enum Column {
+        MAX_TOKENS, TEMPERATURE, TIMEOUT
+    }
+
+    private interface Predicate {
+        int estimate();
+
+        BitSet rows();
+
+        boolean test(int row);
+    }
+
+    private final class RangePredicate implements Predicate {
+        private final SortedKeyIndex index;
+        private final long min;
+        private final long max;
+        private final Column column;
+        private int estimate = -1;
+
+        RangePredicate(SortedKeyIndex index, long min, long max, Column column) {
+            this.index = index;
+            this.min = min;
+            this.max = max;
+            this.column = column;
+        }
+
+        @Override
+        public int estimate() {
+            if (estimate < 0) {
+                estimate = index.estimate(min, max);
+            }
+            return estimate;
+        }
+
+        @Override
+        public BitSet rows() {
+            BitSet rows = new BitSet(store.size());
+            index.collect(min, max, rows);
+            return rows;
+        }
+
+        @Override
+        public boolean test(int row) {
+            long value = switch (column) {
+                case MAX_TOKENS -> store.maxTokens(row);
+                case TEMPERATURE -> key(store.temperature(row));
+                case TIMEOUT -> store.timeoutSeconds(row);
+            };
+            return value >= min && value <= max;
+        }
+    }
+
+    private final class StreamingPredicate implements Predicate {
+        private final boolean value;
+
+        StreamingPredicate(boolean value) {
+            this.value = value;
+        }
+
+        @Override
+        public int estimate() {
+            int streamingRows = streaming.cardinality();
+            return value ? streamingRows : store.size() - streamingRows;
+        }
+
+        @Override
+        public BitSet rows() {
+            BitSet rows = (BitSet) streaming.clone();
+            if (!value) {
+                rows.flip(0, store.size());
+            }
+            return rows;
+        }
+
+        @Override
+        public boolean test(int row) {
+            return streaming.get(row) == value;
+        }
+    }
+
+    /**
+     * Maps a double to a long with the same order; {@code -0.0} and {@code 0.0} share a key.
+     */
+    private static long key(double value) {
+        long bits = Double.doubleToLongBits(value == 0.0 ? 0.0 : value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * Keys sorted with their row numbers, plus an unsorted tail of recent inserts.
+     */
+    private static final class SortedKeyIndex {
+        private static final int MIN_TAIL = 64;
+
+        private long[] keys = new long[0];
+        private int[] rows = new int[0];
+        private long[] tailKeys = new long[MIN_TAIL];
+        private int[] tailRows = new int[MIN_TAIL];
+        private int tail;
+
+        void add(long key, int row) {
+            if (tail == tailKeys.length) {
+                tailKeys = Arrays.copyOf(tailKeys, tail * 2);
+                tailRows = Arrays.copyOf(tailRows, tail * 2);
+            }
+            tailKeys[tail] = key;
+            tailRows[tail] = row;
+            tail++;
+            if (tail >= Math.max(MIN_TAIL, keys.length >>> 3)) {
+                merge();
+            }
+        }
+
+        int estimate(long min, long max) {
+            if (min > max) {
+                return 0;
+            }
+            return lowerBound(max, true) - lowerBound(min, false) + tail;
+        }
+
+        void collect(long min, long max, BitSet target) {
+            if (min > max) {
+                return;
+            }
+            for (int i = lowerBound(min, false), end = lowerBound(max, true); i < end; i++) {
+                target.set(rows[i]);
+            }
+            for (int i = 0; i < tail; i++) {
+                long key = tailKeys[i];
+                if (key >= min && key <= max) {
+                    target.set(tailRows[i]);
+                }
+            }
+        }
+
+        /**
+         * First position whose key is {@code >= key}, or {@code > key} when {@code after}.
+         */
+        private int lowerBound(long key, boolean after) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                long candidate = keys[middle];
+                if (candidate < key || after && candidate == key) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private void merge() {
+            sort(tailKeys, tailRows, tail);
+            long[] mergedKeys = new long[keys.length + tail];
+            int[] mergedRows = new int[keys.length + tail];
+            int i = 0;
+            int j = 0;
+            for (int k = 0; k < mergedKeys.length; k++) {
+                if (j == tail || i < keys.length && keys[i] <= tailKeys[j]) {
+                    mergedKeys[k] = keys[i];
+                    mergedRows[k] = rows[i++];
+                } else {
+                    mergedKeys[k] = tailKeys[j];
+                    mergedRows[k] = tailRows[j++];
+                }
+            }
+            keys = mergedKeys;
+            rows = mergedRows;
+            tail = 0;
+        }
+
+        /**
+         * Stable merge sort of the first {@code length} key/row pairs by key.
+         */
+        private static void sort(long[] keys, int[] rows, int length) {
+            long[] keyBuffer = new long[length];
+            int[] rowBuffer = new int[length];
+            for (int width = 1; width < length; width *= 2) {
+                for (int start = 0; start < length; start += 2 * width) {
+                    int middle = Math.min(start + width, length);
+                    int end = Math.min(start + 2 * width, length);
+                    int i = start;
+                    int j = middle;
+                    for (int k = start; k < end; k++) {
+                        if (j == end || i < middle && keys[i] <= keys[j]) {
+                            keyBuffer[k] = keys[i];
+                            rowBuffer[k] = rows[i++];
+                        } else {
+                            keyBuffer[k] = keys[j];
+                            rowBuffer[k] = rows[j++];
+                        }
+                    }
+                }
+                System.arraycopy(keyBuffer, 0, keys, 0, length);
+                System.arraycopy(rowBuffer, 0, rows, 0, length);
+            }
+        }
+    }
+}
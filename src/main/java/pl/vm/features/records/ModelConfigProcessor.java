@@ -1,8 +1,15 @@
 package pl.vm.features.records;
 
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Locale;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Demonstrates the use of Records in Java.
@@ -37,18 +44,57 @@ public class ModelConfigProcessor {
      */
     public List<String> processConfigs(List<ModelConfig> configs) {
         return configs.stream()
-            .map(config -> {
-                if (config.streaming()) {
-                    return "Streaming: " + config.modelName() + " (" + config.maxTokens() + " tokens)";
-                } else if (config.maxTokens() > 4000) {
-                    return "Large: " + config.modelName() + " (" + config.maxTokens() + " tokens)";
-                } else if (config.temperature() < 0.3) {
-                    return "Precise: " + config.modelName() + " (temp: " + config.temperature() + ")";
-                }
-                return "Standard: " + config.modelName();
-            })
+            .map(ModelConfigProcessor::describeConfig)
             .collect(Collectors.toList());
     }
+
+    /**
+     * Parallel variant of {@link #processConfigs(List)} running on the given pool.
+     * Results are written into a pre-sized array at the input index, so they keep the input order
+     * and no intermediate lists are merged.
+     */
+    public List<String> processConfigs(List<ModelConfig> configs, ForkJoinPool pool) {
+        ModelConfig[] input = configs.toArray(ModelConfig[]::new);
+        String[] results = new String[input.length];
+        pool.submit(() -> IntStream.range(0, input.length)
+                .parallel()
+                .forEach(i -> results[i] = describeConfig(input[i])))
+            .join();
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Streaming variant of {@link #processConfigs(List)}: results are produced lazily as the
+     * returned stream is consumed, so the full result list is never materialized. The returned
+     * stream is parallel if {@code configs} is.
+     */
+    public Stream<String> processConfigStream(Stream<ModelConfig> configs) {
+        return configs.map(ModelConfigProcessor::describeConfig);
+    }
+
+    /**
+     * Streaming variant of {@link #processConfigs(List)} over an iterator, for example one reading
+     * an export file record by record.
+     */
+    public Stream<String> processConfigStream(Iterator<ModelConfig> configs) {
+        return processConfigStream(StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(configs, Spliterator.ORDERED | Spliterator.NONNULL), false));
+    }
+
+    private static String describeConfig(ModelConfig config) {
+        String modelName = config.modelName();
+        StringBuilder result = new StringBuilder(32 + (modelName == null ? 4 : modelName.length()));
+        if (config.streaming()) {
+            result.append("Streaming: ").append(modelName).append(" (").append(config.maxTokens()).append(" tokens)");
+        } else if (config.maxTokens() > 4000) {
+            result.append("Large: ").append(modelName).append(" (").append(config.maxTokens()).append(" tokens)");
+        } else if (config.temperature() < 0.3) {
+            result.append("Precise: ").append(modelName).append(" (temp: ").append(config.temperature()).append(')');
+        } else {
+            result.append("Standard: ").append(modelName);
+        }
+        return result.toString();
+    }
     
     /**
      * Validate a configuration using record components.
@@ -68,48 +114,13 @@ public class ModelConfigProcessor {
      * Get configuration summary using record components.
      */
     public String getConfigSummary(ModelConfig config) {
-        return String.format(Locale.US, """
-            Model: %s
-            Version: %s
-            Max Tokens: %d
-            Temperature: %.2f
-            Streaming: %s
-            Timeout: %d seconds
-            """,
-            config.modelName(),
-            config.version(),
-            config.maxTokens(),
-            config.temperature(),
-            config.streaming(),
-            config.timeoutSeconds()
-        );
+        return ConfigReportRenderer.summary(config);
     }
 
     /**
      * Get detailed configuration analysis using all record components.
      */
     public String getDetailedAnalysis(ModelConfig config) {
-        String performance = config.maxTokens() > 4000 ? "high" : "standard";
-        String precision = config.temperature() < 0.3 ? "high" : "balanced";
-        String mode = config.streaming() ? "streaming" : "batch";
-        String reliability = config.timeoutSeconds() > 60 ? "high" : "standard";
-        
-        return String.format(Locale.US, """
-            Detailed Analysis for %s (v%s):
-            - Performance: %s (tokens: %d)
-            - Precision: %s (temperature: %.2f)
-            - Mode: %s
-            - Reliability: %s (timeout: %d seconds)
-            """,
-            config.modelName(),
-            config.version(),
-            performance,
-            config.maxTokens(),
-            precision,
-            config.temperature(),
-            mode,
-            reliability,
-            config.timeoutSeconds()
-        );
+        return ConfigReportRenderer.detailedAnalysis(config);
     }
-} 
\ No newline at end of file
+}
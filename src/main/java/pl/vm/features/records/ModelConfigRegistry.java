@@ -0,0 +1,179 @@
+package pl.vm.features.records;
+
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Canonicalizing registry for {@link ModelConfig} records: {@link #intern(ModelConfig)} returns one
+ * shared instance per distinct value, so services building millions of equal configs keep only
+ * one of each alive.
+ *
+ * The presets of {@link ModelConfig#createDefault()}, {@link ModelConfig#createStreamingConfig()}
+ * and {@link ModelConfig#createCodeGenConfig()} are recognized on a lock-free fast path without
+ * touching the table. Other values go into one of two tables, neither of which can leak:
+ * <ul>
+ *   <li>{@link #weak()} holds entries only while some caller still references the canonical
+ *       instance,</li>
+ *   <li>{@link #bounded(int)} keeps at most the given number of entries, dropping the least
+ *       recently used.</li>
+ * </ul>
+ */
+public final class ModelConfigRegistry {
+
+    /**
+     * Estimated shallow size of a {@link ModelConfig} with compressed references: 12 byte header,
+     * two references, two ints, a double and a boolean, padded to 8 bytes.
+     */
+    public static final int ESTIMATED_CONFIG_BYTES = 40;
+
+    private static final ModelConfig[] PRESETS = {
+        ModelConfig.createDefault(),
+        ModelConfig.createStreamingConfig(),
+        ModelConfig.createCodeGenConfig()
+    };
+
+    /**
+     * Registry counters.
+     *
+     * @param presetHits   lookups of a copy of a preset, answered on the fast path
+     * @param hits         lookups of a copy of an already registered instance
+     * @param identityHits lookups of an instance that already is canonical, preset or registered;
+     *                     nothing is deduplicated by these
+     * @param misses       lookups that registered a new instance
+     * @param size         instances currently registered, presets excluded
+     */
+    public record Stats(long presetHits, long hits, long identityHits, long misses, int size) {
+
+        public long requests() {
+            return presetHits + hits + identityHits + misses;
+        }
+
+        /**
+         * Share of lookups of non-canonical instances that returned an existing instance instead of
+         * the argument. Identity hits are left out.
+         */
+        public double dedupRatio() {
+            long lookups = presetHits + hits + misses;
+            return lookups == 0 ? 0.0 : (double) (presetHits + hits) / lookups;
+        }
+
+        /**
+         * Estimated heap no longer retained thanks to deduplicated instances.
+         */
+        public long estimatedBytesSaved() {
+            return (presetHits + hits) * ESTIMATED_CONFIG_BYTES;
+        }
+    }
+
+    private final Table table;
+    private final LongAdder presetHits = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder identityHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private ModelConfigRegistry(Table table) {
+        this.table = table;
+    }
+
+    /**
+     * Creates a registry whose entries are released once no caller references them.
+     */
+    public static ModelConfigRegistry weak() {
+        return new ModelConfigRegistry(new WeakTable());
+    }
+
+    /**
+     * Creates a registry holding at most {@code maxEntries} non-preset instances.
+     */
+    public static ModelConfigRegistry bounded(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Max entries must be positive: " + maxEntries);
+        }
+        return new ModelConfigRegistry(new BoundedTable(maxEntries));
+    }
+
+    /**
+     * Returns the canonical instance equal to {@code config}, registering {@code config} itself
+     * when no equal instance is known.
+     */
+    public ModelConfig intern(ModelConfig config) {
+        Objects.requireNonNull(config, "config");
+        for (ModelConfig preset : PRESETS) {
+            if (preset == config) {
+                identityHits.increment();
+                return preset;
+            }
+            if (preset.equals(config)) {
+                presetHits.increment();
+                return preset;
+            }
+        }
+        ModelConfig existing = table.putIfAbsent(config);
+        if (existing == null) {
+            misses.increment();
+            return config;
+        }
+        (existing == config ? identityHits : hits).increment();
+        return existing;
+    }
+
+    public Stats stats() {
+        return new Stats(presetHits.sum(), hits.sum(), identityHits.sum(), misses.sum(), table.size());
+    }
+
+    private interface Table {
+        /**
+         * Registers {@code config} unless an equal instance is registered, and returns that
+         * instance, or {@code null} if {@code config} was inserted.
+         */
+        ModelConfig putIfAbsent(ModelConfig config);
+
+        int size();
+    }
+
+    private static final class WeakTable implements Table {
+        private final Map<ModelConfig, WeakReference<ModelConfig>> entries = new WeakHashMap<>();
+
+        @Override
+        public synchronized ModelConfig putIfAbsent(ModelConfig config) {
+            WeakReference<ModelConfig> reference = entries.get(config);
+            ModelConfig canonical = reference == null ? null : reference.get();
+            if (canonical == null) {
+                entries.put(config, new WeakReference<>(config));
+            }
+            return canonical;
+        }
+
+        @Override
+        public synchronized int size() {
+            return entries.size();
+        }
+    }
+
+    private static final class BoundedTable implements Table {
+        private final Map<ModelConfig, ModelConfig> entries;
+
+        BoundedTable(int maxEntries) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<ModelConfig, ModelConfig> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+
+        @Override
+        public synchronized ModelConfig putIfAbsent(ModelConfig config) {
+            return entries.putIfAbsent(config, config);
+        }
+
+        @Override
+        public synchronized int size() {
+            return entries.size();
+        }
+    }
+}
@@ -0,0 +1,640 @@
+package pl.vm.features.sequenced;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.SequencedMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Thread-safe {@link SequencedMap} in insertion or access order, usable as an LRU cache shared by
+ * many (virtual) threads where {@code Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true))}
+ * would serialize every read.
+ *
+ * Lookups go to a {@link ConcurrentHashMap} without locking. In access order a lookup only records
+ * the entry in one of several striped, bounded read buffers; the buffers are drained into the
+ * linked order list by whichever thread wins a {@code tryLock}, so readers never wait for each
+ * other. Like other high-throughput LRU caches the read buffers are lossy: when a stripe is full
+ * an access is dropped, so the order is an approximation of strict LRU under heavy contention.
+ *
+ * Writes and the polling methods take a single {@link ReentrantLock} (which does not pin virtual
+ * threads), drain pending reads and then update the map and the list together.
+ * {@link #firstEntry()} and {@link #lastEntry()} read the ends of the list without locking, and
+ * all operations at the ends are O(1).
+ *
+ * Iteration works on a snapshot taken under the lock. {@code null} keys and values are not
+ * supported.
+ */
+public class ConcurrentLinkedSequencedMap<K, V> extends AbstractMap<K, V>
+    implements SequencedMap<K, V>, ConcurrentMap<K, V> {
+
+    private static final int STRIPES = Math.min(64,
+        Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) * 2);
+    private static final int BUFFER_SIZE = 16;
+    private static final int DRAIN_THRESHOLD = BUFFER_SIZE / 2;
+
+    private final ConcurrentHashMap<K, Node<K, V>> nodes = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReadBuffer[] readBuffers;
+    private final boolean accessOrder;
+    private final int maxEntries;
+
+    private volatile Node<K, V> head;
+    private volatile Node<K, V> tail;
+
+    /**
+     * Creates an unbounded map in insertion order.
+     */
+    public ConcurrentLinkedSequencedMap() {
+        this(false, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates an unbounded map in insertion or access order.
+     */
+    public ConcurrentLinkedSequencedMap(boolean accessOrder) {
+        this(accessOrder, Integer.MAX_VALUE);
+    }
+
+    private ConcurrentLinkedSequencedMap(boolean accessOrder, int maxEntries) {
+        this.accessOrder = accessOrder;
+        this.maxEntries = maxEntries;
+        this.readBuffers = new ReadBuffer[accessOrder ? STRIPES : 0];
+        for (int i = 0; i < readBuffers.length; i++) {
+            readBuffers[i] = new ReadBuffer();
+        }
+    }
+
+    /**
+     * Creates an access-ordered map that evicts its first (least recently used) entry once it
+     * holds more than {@code maxEntries}.
+     */
+    public static <K, V> ConcurrentLinkedSequencedMap<K, V> lru(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Max entries must be positive: " + maxEntries);
+        }
+        return new ConcurrentLinkedSequencedMap<>(true, maxEntries);
+    }
+
+    @Override
+    public int size() {
+        return nodes.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return nodes.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return nodes.containsKey(key);
+    }
+
+    @Override
+    public V get(Object key) {
+        Node<K, V> node = nodes.get(key);
+        if (node == null) {
+            return null;
+        }
+        if (accessOrder) {
+            recordAccess(node);
+        }
+        return node.value;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return put(key, value, Position.DEFAULT, false);
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        return put(key, value, Position.DEFAULT, true);
+    }
+
+    @Override
+    public V putFirst(K key, V value) {
+        return put(key, value, Position.FIRST, false);
+    }
+
+    @Override
+    public V putLast(K key, V value) {
+        return put(key, value, Position.LAST, false);
+    }
+
+    /**
+     * Runs {@code mappingFunction} under the write lock when the key is absent.
+     */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        lock.lock();
+        try {
+            Node<K, V> node = nodes.get(key);
+            if (node != null) {
+                return node.value;
+            }
+            value = mappingFunction.apply(key);
+            if (value != null) {
+                put(key, value, Position.DEFAULT, true);
+            }
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public V remove(Object key) {
+        lock.lock();
+        try {
+            Node<K, V> node = nodes.remove(key);
+            if (node == null) {
+                return null;
+            }
+            unlink(node);
+            return node.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        lock.lock();
+        try {
+            Node<K, V> node = nodes.get(key);
+            if (node == null || !node.value.equals(value)) {
+                return false;
+            }
+            nodes.remove(key);
+            unlink(node);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        Objects.requireNonNull(value, "value");
+        lock.lock();
+        try {
+            Node<K, V> node = nodes.get(key);
+            if (node == null) {
+                return null;
+            }
+            V previous = node.value;
+            node.value = value;
+            recordReplace(node);
+            return previous;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        Objects.requireNonNull(newValue, "newValue");
+        lock.lock();
+        try {
+            Node<K, V> node = nodes.get(key);
+            if (node == null || !node.value.equals(oldValue)) {
+                return false;
+            }
+            node.value = newValue;
+            recordReplace(node);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            drainReadBuffers();
+            for (Node<K, V> node = head; node != null; node = node.next) {
+                node.linked = false;
+            }
+            nodes.clear();
+            head = null;
+            tail = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Snapshot of the first entry, read without locking.
+     */
+    @Override
+    public Entry<K, V> firstEntry() {
+        Node<K, V> node = head;
+        return node == null ? null : new SimpleImmutableEntry<>(node.key, node.value);
+    }
+
+    /**
+     * Snapshot of the last entry, read without locking.
+     */
+    @Override
+    public Entry<K, V> lastEntry() {
+        Node<K, V> node = tail;
+        return node == null ? null : new SimpleImmutableEntry<>(node.key, node.value);
+    }
+
+    @Override
+    public Entry<K, V> pollFirstEntry() {
+        lock.lock();
+        try {
+            drainReadBuffers();
+            return poll(head);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Entry<K, V> pollLastEntry() {
+        lock.lock();
+        try {
+            drainReadBuffers();
+            return poll(tail);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public SequencedMap<K, V> reversed() {
+        return new ReversedView();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new SnapshotIterator(snapshot(false));
+            }
+
+            @Override
+            public int size() {
+                return ConcurrentLinkedSequencedMap.this.size();
+            }
+        };
+    }
+
+    private enum Position {
+        DEFAULT, FIRST, LAST
+    }
+
+    private V put(K key, V value, Position position, boolean onlyIfAbsent) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        lock.lock();
+        try {
+            drainReadBuffers();
+            Node<K, V> node = nodes.get(key);
+            if (node != null) {
+                V previous = node.value;
+                if (!onlyIfAbsent) {
+                    node.value = value;
+                }
+                if (position == Position.FIRST) {
+                    unlink(node);
+                    linkFirst(node);
+                } else if (position == Position.LAST || accessOrder) {
+                    moveToLast(node);
+                }
+                return previous;
+            }
+            node = new Node<>(key, value);
+            nodes.put(key, node);
+            if (position == Position.FIRST) {
+                linkFirst(node);
+            } else {
+                linkLast(node);
+            }
+            if (nodes.size() > maxEntries) {
+                poll(head);
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Entry<K, V> poll(Node<K, V> node) {
+        if (node == null) {
+            return null;
+        }
+        nodes.remove(node.key);
+        unlink(node);
+        return new SimpleImmutableEntry<>(node.key, node.value);
+    }
+
+    private List<Entry<K, V>> snapshot(boolean reversed) {
+        lock.lock();
+        try {
+            drainReadBuffers();
+            List<Entry<K, V>> entries = new ArrayList<>(nodes.size());
+            for (Node<K, V> node = reversed ? tail : head; node != null; node = reversed ? node.prev : node.next) {
+                entries.add(new NodeEntry(node));
+            }
+            return entries;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recordAccess(Node<K, V> node) {
+        int stripe = (int) (Thread.currentThread().threadId() * 0x9E3779B9L) & (readBuffers.length - 1);
+        if (readBuffers[stripe].offer(node) && lock.tryLock()) {
+            try {
+                drainReadBuffers();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Applies the recorded accesses to the order list. Caller holds the lock.
+     */
+    @SuppressWarnings("unchecked")
+    private void drainReadBuffers() {
+        for (ReadBuffer buffer : readBuffers) {
+            buffer.drain(node -> moveToLast((Node<K, V>) node));
+        }
+    }
+
+    /**
+     * A successful replace counts as an access, as in an access-ordered
+     * {@link java.util.LinkedHashMap}. Caller holds the lock.
+     */
+    private void recordReplace(Node<K, V> node) {
+        if (accessOrder) {
+            drainReadBuffers();
+            moveToLast(node);
+        }
+    }
+
+    private void moveToLast(Node<K, V> node) {
+        if (node.linked && node != tail) {
+            unlink(node);
+            linkLast(node);
+        }
+    }
+
+    private void linkFirst(Node<K, V> node) {
+        Node<K, V> first = head;
+        node.prev = null;
+        node.next = first;
+        node.linked = true;
+        if (first == null) {
+            tail = node;
+        } else {
+            first.prev = node;
+        }
+        head = node;
+    }
+
+    private void linkLast(Node<K, V> node) {
+        Node<K, V> last = tail;
+        node.prev = last;
+        node.next = null;
+        node.linked = true;
+        if (last == null) {
+            head = node;
+        } else {
+            last.next = node;
+        }
+        tail = node;
+    }
+
+    private void unlink(Node<K, V> node) {
+        Node<K, V> prev = node.prev;
+        Node<K, V> next = node.next;
+        if (prev == null) {
+            head = next;
+        } else {
+            prev.next = next;
+        }
+        if (next == null) {
+            tail = prev;
+        } else {
+            next.prev = prev;
+        }
+        node.prev = null;
+        node.next = null;
+        node.linked = false;
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        volatile V value;
+        Node<K, V> prev;
+        Node<K, V> next;
+        boolean linked;
+
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Bounded multi-producer buffer of accessed nodes, drained by the lock holder.
+     */
+    private static final class ReadBuffer {
+        private final AtomicReferenceArray<Object> slots = new AtomicReferenceArray<>(BUFFER_SIZE);
+        private final AtomicLong writes = new AtomicLong();
+        private volatile long reads;
+
+        /**
+         * Records {@code node} unless the buffer is full or another thread raced for the slot.
+         * Returns {@code true} when the buffer should be drained.
+         */
+        boolean offer(Object node) {
+            long write = writes.get();
+            long pending = write - reads;
+            if (pending >= BUFFER_SIZE) {
+                return true;
+            }
+            if (writes.compareAndSet(write, write + 1)) {
+                slots.lazySet((int) (write & (BUFFER_SIZE - 1)), node);
+                return pending + 1 >= DRAIN_THRESHOLD;
+            }
+            return false;
+        }
+
+        void drain(Consumer<Object> action) {
+            long read = reads;
+            long write = writes.get();
+            for (; read < write; read++) {
+                int index = (int) (read & (BUFFER_SIZE - 1));
+                Object node = slots.get(index);
+                if (node == null) {
+                    break;
+                }
+                slots.lazySet(index, null);
+                action.accept(node);
+            }
+            reads = read;
+        }
+    }
+
+    /**
+     * Entry of an iteration snapshot; {@link #setValue} writes through to the live node.
+     */
+    private final class NodeEntry extends SimpleEntry<K, V> {
+        private final Node<K, V> node;
+
+        NodeEntry(Node<K, V> node) {
+            super(node.key, node.value);
+            this.node = node;
+        }
+
+        @Override
+        public V setValue(V value) {
+            Objects.requireNonNull(value, "value");
+            super.setValue(value);
+            lock.lock();
+            try {
+                V previous = node.value;
+                node.value = value;
+                return previous;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private final class SnapshotIterator implements Iterator<Entry<K, V>> {
+        private final Iterator<Entry<K, V>> delegate;
+        private Entry<K, V> current;
+
+        SnapshotIterator(List<Entry<K, V>> snapshot) {
+            this.delegate = snapshot.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return delegate.hasNext();
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            current = delegate.next();
+            return current;
+        }
+
+        @Override
+        public void remove() {
+            if (current == null) {
+                throw new IllegalStateException();
+            }
+            ConcurrentLinkedSequencedMap.this.remove(current.getKey(), current.getValue());
+            current = null;
+        }
+    }
+
+    private final class ReversedView extends AbstractMap<K, V> implements SequencedMap<K, V> {
+
+        @Override
+        public int size() {
+            return ConcurrentLinkedSequencedMap.this.size();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return ConcurrentLinkedSequencedMap.this.containsKey(key);
+        }
+
+        @Override
+        public V get(Object key) {
+            return ConcurrentLinkedSequencedMap.this.get(key);
+        }
+
+        @Override
+        public V put(K key, V value) {
+            return ConcurrentLinkedSequencedMap.this.put(key, value);
+        }
+
+        @Override
+        public V remove(Object key) {
+            return ConcurrentLinkedSequencedMap.this.remove(key);
+        }
+
+        @Override
+        public void clear() {
+            ConcurrentLinkedSequencedMap.this.clear();
+        }
+
+        @Override
+        public V putFirst(K key, V value) {
+            return ConcurrentLinkedSequencedMap.this.putLast(key, value);
+        }
+
+        @Override
+        public V putLast(K key, V value) {
+            return ConcurrentLinkedSequencedMap.this.putFirst(key, value);
+        }
+
+        @Override
+        public Entry<K, V> firstEntry() {
+            return ConcurrentLinkedSequencedMap.this.lastEntry();
+        }
+
+        @Override
+        public Entry<K, V> lastEntry() {
+            return ConcurrentLinkedSequencedMap.this.firstEntry();
+        }
+
+        @Override
+        public Entry<K, V> pollFirstEntry() {
+            return ConcurrentLinkedSequencedMap.this.pollLastEntry();
+        }
+
+        @Override
+        public Entry<K, V> pollLastEntry() {
+            return ConcurrentLinkedSequencedMap.this.pollFirstEntry();
+        }
+
+        @Override
+        public SequencedMap<K, V> reversed() {
+            return ConcurrentLinkedSequencedMap.this;
+        }
+
+        @Override
+        public Set<Entry<K, V>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    return new SnapshotIterator(snapshot(true));
+                }
+
+                @Override
+                public int size() {
+                    return ConcurrentLinkedSequencedMap.this.size();
+                }
+            };
+        }
+    }
+}
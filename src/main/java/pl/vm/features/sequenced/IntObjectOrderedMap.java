@@ -0,0 +1,288 @@
+package pl.vm.features.sequenced;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+/**
+ * Insertion-ordered {@code int -> V} hash map without boxed keys, for looking up configs and
+ * models by numeric id.
+ *
+ * Same layout and {@link java.util.SequencedMap}-style operations as {@link IntIntOrderedMap},
+ * with values in a dense {@code Object[]}. Per entry it needs neither an {@code Integer} key nor a
+ * linked node, so excluding the values themselves it uses less than half the memory of a
+ * {@code LinkedHashMap<Integer, V>}. {@code null} values are not permitted, so {@link #get(int)}
+ * returning {@code null} always means the key is absent. Not thread-safe.
+ */
+public final class IntObjectOrderedMap<V> {
+
+    private final Table<V> table;
+    private final boolean reversed;
+
+    public IntObjectOrderedMap() {
+        this(0);
+    }
+
+    public IntObjectOrderedMap(int expectedSize) {
+        this.table = new Table<>(expectedSize);
+        this.reversed = false;
+    }
+
+    private IntObjectOrderedMap(Table<V> table, boolean reversed) {
+        this.table = table;
+        this.reversed = reversed;
+    }
+
+    public int size() {
+        return table.size;
+    }
+
+    public boolean isEmpty() {
+        return table.size == 0;
+    }
+
+    public boolean containsKey(int key) {
+        return table.slots[table.slotFor(key)] != 0;
+    }
+
+    public V get(int key) {
+        return table.valueAt(table.slots[table.slotFor(key)] - 1);
+    }
+
+    public V getOrDefault(int key, V defaultValue) {
+        V value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Associates {@code value} with {@code key} and returns the previous value, or {@code null}.
+     */
+    public V put(int key, V value) {
+        Objects.requireNonNull(value, "value");
+        int slot = table.slotFor(key);
+        int entry = table.slots[slot] - 1;
+        if (entry >= 0) {
+            V previous = table.valueAt(entry);
+            table.values[entry] = value;
+            return previous;
+        }
+        table.append(slot, key, value);
+        return null;
+    }
+
+    public V putIfAbsent(int key, V value) {
+        Objects.requireNonNull(value, "value");
+        int slot = table.slotFor(key);
+        int entry = table.slots[slot] - 1;
+        if (entry >= 0) {
+            return table.valueAt(entry);
+        }
+        table.append(slot, key, value);
+        return null;
+    }
+
+    public V computeIfAbsent(int key, IntFunction<? extends V> mappingFunction) {
+        int slot = table.slotFor(key);
+        int entry = table.slots[slot] - 1;
+        if (entry >= 0) {
+            return table.valueAt(entry);
+        }
+        V value = mappingFunction.apply(key);
+        if (value != null) {
+            // The function may have modified this map, so probe again.
+            int current = table.slotFor(key);
+            if (table.slots[current] != 0) {
+                throw new ConcurrentModificationException();
+            }
+            table.append(current, key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Removes {@code key} and returns its value, or {@code null} if it was absent.
+     */
+    public V remove(int key) {
+        int slot = table.slotFor(key);
+        int entry = table.slots[slot] - 1;
+        if (entry < 0) {
+            return null;
+        }
+        V value = table.valueAt(entry);
+        table.removeAt(entry, slot);
+        return value;
+    }
+
+    public void clear() {
+        table.clearTable();
+    }
+
+    public Entry<V> firstEntry() {
+        int entry = firstPosition();
+        return entry < 0 ? null : table.entryAt(entry);
+    }
+
+    public Entry<V> lastEntry() {
+        int entry = lastPosition();
+        return entry < 0 ? null : table.entryAt(entry);
+    }
+
+    public Entry<V> pollFirstEntry() {
+        return poll(firstPosition());
+    }
+
+    public Entry<V> pollLastEntry() {
+        return poll(lastPosition());
+    }
+
+    public int firstKey() {
+        return table.keys[checkedPosition(firstPosition())];
+    }
+
+    public int lastKey() {
+        return table.keys[checkedPosition(lastPosition())];
+    }
+
+    /**
+     * Constant-time reverse-ordered view sharing this map's storage.
+     */
+    public IntObjectOrderedMap<V> reversed() {
+        return new IntObjectOrderedMap<>(table, !reversed);
+    }
+
+    /**
+     * Visits the entries in this map's encounter order.
+     */
+    public void forEach(EntryConsumer<? super V> action) {
+        for (int entry = firstPosition(); entry >= 0; entry = nextPosition(entry)) {
+            action.accept(table.keys[entry], table.valueAt(entry));
+        }
+    }
+
+    public int[] keys() {
+        int[] keys = new int[table.size];
+        int i = 0;
+        for (int entry = firstPosition(); entry >= 0; entry = nextPosition(entry)) {
+            keys[i++] = table.keys[entry];
+        }
+        return keys;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("{");
+        forEach((key, value) -> {
+            if (text.length() > 1) {
+                text.append(", ");
+            }
+            text.append(key).append('=').append(value);
+        });
+        return text.append('}').toString();
+    }
+
+    private int firstPosition() {
+        return reversed ? table.lastEntry() : table.firstEntry();
+    }
+
+    private int lastPosition() {
+        return reversed ? table.firstEntry() : table.lastEntry();
+    }
+
+    private int nextPosition(int entry) {
+        return reversed ? table.previousEntry(entry) : table.nextEntry(entry);
+    }
+
+    private Entry<V> poll(int entry) {
+        if (entry < 0) {
+            return null;
+        }
+        Entry<V> polled = table.entryAt(entry);
+        table.removeAt(entry, table.slotOf(entry));
+        return polled;
+    }
+
+    private static int checkedPosition(int entry) {
+        if (entry < 0) {
+            throw new NoSuchElementException();
+        }
+        return entry;
+    }
+
+    /**
+     * Snapshot of a single mapping.
+     */
+    public record Entry<V>(int key, V value) {
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(int key, V value);
+    }
+
+    private static final class Table<V> extends OrderedHashTable {
+        private int[] keys;
+        private Object[] values;
+
+        Table(int expectedSize) {
+            super(expectedSize);
+            this.keys = new int[capacity];
+            this.values = new Object[capacity];
+        }
+
+        /**
+         * Slot holding {@code key}, or the empty slot where it belongs.
+         */
+        int slotFor(int key) {
+            int mask = slots.length - 1;
+            for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+                int entry = slots[slot] - 1;
+                if (entry < 0 || keys[entry] == key) {
+                    return slot;
+                }
+            }
+        }
+
+        void append(int slot, int key, V value) {
+            if (end == capacity) {
+                prepareInsert();
+                slot = slotFor(key);
+            }
+            keys[end] = key;
+            values[end] = value;
+            insertAt(slot);
+        }
+
+        @SuppressWarnings("unchecked")
+        V valueAt(int entry) {
+            return entry < 0 ? null : (V) values[entry];
+        }
+
+        Entry<V> entryAt(int entry) {
+            return new Entry<>(keys[entry], valueAt(entry));
+        }
+
+        @Override
+        void resizeEntries(int capacity) {
+            keys = Arrays.copyOf(keys, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        int hashAt(int entry) {
+            return mix(keys[entry]);
+        }
+
+        @Override
+        void moveEntry(int from, int to) {
+            keys[to] = keys[from];
+            values[to] = values[from];
+        }
+
+        @Override
+        void clearEntry(int entry) {
+            values[entry] = null;
+        }
+    }
+}
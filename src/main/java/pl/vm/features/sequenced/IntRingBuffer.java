@@ -0,0 +1,186 @@
+package pl.vm.features.sequenced;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
+/**
+ * {@code int} specialization of {@link RingBufferList}: a growable circular {@code int[]} with
+ * the {@link java.util.SequencedCollection} operations at both ends in amortized constant time and
+ * no boxing.
+ *
+ * {@link #reversed()} returns a constant-time view sharing the same storage, with the ends and
+ * indices swapped. Not thread-safe.
+ */
+public final class IntRingBuffer {
+
+    private final Ring ring;
+    private final boolean reversed;
+
+    public IntRingBuffer() {
+        this(0);
+    }
+
+    public IntRingBuffer(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity must not be negative: " + initialCapacity);
+        }
+        this.ring = new Ring(RingBufferList.capacityFor(initialCapacity));
+        this.reversed = false;
+    }
+
+    private IntRingBuffer(Ring ring, boolean reversed) {
+        this.ring = ring;
+        this.reversed = reversed;
+    }
+
+    public int size() {
+        return ring.size;
+    }
+
+    public boolean isEmpty() {
+        return ring.size == 0;
+    }
+
+    public int get(int index) {
+        return ring.get(position(index));
+    }
+
+    public int set(int index, int value) {
+        return ring.set(position(index), value);
+    }
+
+    public void addFirst(int value) {
+        if (reversed) {
+            ring.addLast(value);
+        } else {
+            ring.addFirst(value);
+        }
+    }
+
+    public void addLast(int value) {
+        if (reversed) {
+            ring.addFirst(value);
+        } else {
+            ring.addLast(value);
+        }
+    }
+
+    public int getFirst() {
+        checkNotEmpty();
+        return ring.get(reversed ? ring.size - 1 : 0);
+    }
+
+    public int getLast() {
+        checkNotEmpty();
+        return ring.get(reversed ? 0 : ring.size - 1);
+    }
+
+    public int removeFirst() {
+        checkNotEmpty();
+        return reversed ? ring.removeLast() : ring.removeFirst();
+    }
+
+    public int removeLast() {
+        checkNotEmpty();
+        return reversed ? ring.removeFirst() : ring.removeLast();
+    }
+
+    public void clear() {
+        ring.head = 0;
+        ring.size = 0;
+    }
+
+    /**
+     * Constant-time reverse-ordered view sharing this buffer's storage.
+     */
+    public IntRingBuffer reversed() {
+        return new IntRingBuffer(ring, !reversed);
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int i = 0, size = ring.size; i < size; i++) {
+            action.accept(get(i));
+        }
+    }
+
+    public int[] toArray() {
+        int[] values = new int[ring.size];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = get(i);
+        }
+        return values;
+    }
+
+    private int position(int index) {
+        Objects.checkIndex(index, ring.size);
+        return reversed ? ring.size - 1 - index : index;
+    }
+
+    private void checkNotEmpty() {
+        if (ring.size == 0) {
+            throw new NoSuchElementException();
+        }
+    }
+
+    private static final class Ring {
+        private int[] elements;
+        private int head;
+        private int size;
+
+        Ring(int capacity) {
+            elements = new int[capacity];
+        }
+
+        int get(int index) {
+            return elements[(head + index) & (elements.length - 1)];
+        }
+
+        int set(int index, int value) {
+            int slot = (head + index) & (elements.length - 1);
+            int previous = elements[slot];
+            elements[slot] = value;
+            return previous;
+        }
+
+        void addFirst(int value) {
+            grow();
+            head = (head - 1) & (elements.length - 1);
+            elements[head] = value;
+            size++;
+        }
+
+        void addLast(int value) {
+            grow();
+            elements[(head + size) & (elements.length - 1)] = value;
+            size++;
+        }
+
+        int removeFirst() {
+            int value = elements[head];
+            head = (head + 1) & (elements.length - 1);
+            size--;
+            return value;
+        }
+
+        int removeLast() {
+            size--;
+            return elements[(head + size) & (elements.length - 1)];
+        }
+
+        private void grow() {
+            if (size < elements.length) {
+                return;
+            }
+            if (elements.length == 1 << 30) {
+                throw new IllegalStateException("Ring buffer is full");
+            }
+            int[] grown = new int[elements.length << 1];
+            int tail = elements.length - head;
+            System.arraycopy(elements, head, grown, 0, tail);
+            System.arraycopy(elements, 0, grown, tail, head);
+            elements = grown;
+            head = 0;
+        }
+    }
+}
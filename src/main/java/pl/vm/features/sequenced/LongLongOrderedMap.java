@@ -0,0 +1,298 @@
+package pl.vm.features.sequenced;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Insertion-ordered {@code long -> long} hash map without boxing, for counters keyed by wide ids
+ * such as request or token-sequence hashes.
+ *
+ * Mirrors the {@link java.util.SequencedMap} operations ({@code firstEntry}, {@code lastEntry},
+ * {@code pollFirstEntry}, {@code pollLastEntry} and {@link #reversed()}) with primitive signatures
+ * instead of implementing the boxed interface. Keys and values are stored in two dense
+ * {@code long[]} arrays in insertion order, indexed by an open-addressing {@code int[]} table, which
+ * takes well under half the memory of a {@code LinkedHashMap<Long, Long>} holding the same entries.
+ *
+ * Re-inserting an existing key keeps its position, as in {@link java.util.LinkedHashMap}. Lookups
+ * of absent keys return the {@linkplain #missingValue() missing value} given at construction.
+ * Not thread-safe.
+ */
+public final class LongLongOrderedMap {
+
+    private final Table table;
+    private final boolean reversed;
+
+    public LongLongOrderedMap() {
+        this(0, 0);
+    }
+
+    public LongLongOrderedMap(int expectedSize) {
+        this(expectedSize, 0);
+    }
+
+    /**
+     * @param missingValue value returned by {@link #get(long)} and {@link #remove(long)} for absent keys
+     */
+    public LongLongOrderedMap(int expectedSize, long missingValue) {
+        this.table = new Table(expectedSize, missingValue);
+        this.reversed = false;
+    }
+
+    private LongLongOrderedMap(Table table, boolean reversed) {
+        this.table = table;
+        this.reversed = reversed;
+    }
+
+    public int size() {
+        return table.size;
+    }
+
+    public boolean isEmpty() {
+        return table.size == 0;
+    }
+
+    public long missingValue() {
+        return table.missingValue;
+    }
+
+    public boolean containsKey(long key) {
+        return table.find(key) >= 0;
+    }
+
+    public long get(long key) {
+        return getOrDefault(key, table.missingValue);
+    }
+
+    public long getOrDefault(long key, long defaultValue) {
+        int entry = table.find(key);
+        return entry >= 0 ? table.values[entry] : defaultValue;
+    }
+
+    /**
+     * Associates {@code value} with {@code key} and returns the previous value, or the missing
+     * value if the key was absent.
+     */
+    public long put(long key, long value) {
+        int slot = table.slotFor(key);
+        int entry = table.slots[slot] - 1;
+        if (entry >= 0) {
+            long previous = table.values[entry];
+            table.values[entry] = value;
+            return previous;
+        }
+        table.append(slot, key, value);
+        return table.missingValue;
+    }
+
+    /**
+     * Adds {@code delta} to the value of {@code key}, starting from zero when absent, and returns
+     * the new value.
+     */
+    public long addTo(long key, long delta) {
+        int slot = table.slotFor(key);
+        int entry = table.slots[slot] - 1;
+        if (entry >= 0) {
+            return table.values[entry] += delta;
+        }
+        table.append(slot, key, delta);
+        return delta;
+    }
+
+    /**
+     * Removes {@code key} and returns its value, or the missing value if it was absent.
+     */
+    public long remove(long key) {
+        int slot = table.slotFor(key);
+        int entry = table.slots[slot] - 1;
+        if (entry < 0) {
+            return table.missingValue;
+        }
+        long value = table.values[entry];
+        table.removeAt(entry, slot);
+        return value;
+    }
+
+    public void clear() {
+        table.clearTable();
+    }
+
+    public Entry firstEntry() {
+        int entry = firstPosition();
+        return entry < 0 ? null : table.entryAt(entry);
+    }
+
+    public Entry lastEntry() {
+        int entry = lastPosition();
+        return entry < 0 ? null : table.entryAt(entry);
+    }
+
+    public Entry pollFirstEntry() {
+        return poll(firstPosition());
+    }
+
+    public Entry pollLastEntry() {
+        return poll(lastPosition());
+    }
+
+    public long firstKey() {
+        return table.keys[checkedPosition(firstPosition())];
+    }
+
+    public long lastKey() {
+        return table.keys[checkedPosition(lastPosition())];
+    }
+
+    /**
+     * Constant-time reverse-ordered view sharing this map's storage.
+     */
+    public LongLongOrderedMap reversed() {
+        return new LongLongOrderedMap(table, !reversed);
+    }
+
+    /**
+     * Visits the entries in this map's encounter order.
+     */
+    public void forEach(EntryConsumer action) {
+        long[] keys = table.keys;
+        long[] values = table.values;
+        for (int entry = firstPosition(); entry >= 0; entry = nextPosition(entry)) {
+            action.accept(keys[entry], values[entry]);
+        }
+    }
+
+    public long[] keys() {
+        long[] keys = new long[table.size];
+        int i = 0;
+        for (int entry = firstPosition(); entry >= 0; entry = nextPosition(entry)) {
+            keys[i++] = table.keys[entry];
+        }
+        return keys;
+    }
+
+    public long[] values() {
+        long[] values = new long[table.size];
+        int i = 0;
+        for (int entry = firstPosition(); entry >= 0; entry = nextPosition(entry)) {
+            values[i++] = table.values[entry];
+        }
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("{");
+        forEach((key, value) -> {
+            if (text.length() > 1) {
+                text.append(", ");
+            }
+            text.append(key).append('=').append(value);
+        });
+        return text.append('}').toString();
+    }
+
+    private int firstPosition() {
+        return reversed ? table.lastEntry() : table.firstEntry();
+    }
+
+    private int lastPosition() {
+        return reversed ? table.firstEntry() : table.lastEntry();
+    }
+
+    private int nextPosition(int entry) {
+        return reversed ? table.previousEntry(entry) : table.nextEntry(entry);
+    }
+
+    private Entry poll(int entry) {
+        if (entry < 0) {
+            return null;
+        }
+        Entry polled = table.entryAt(entry);
+        table.removeAt(entry, table.slotOf(entry));
+        return polled;
+    }
+
+    private static int checkedPosition(int entry) {
+        if (entry < 0) {
+            throw new NoSuchElementException();
+        }
+        return entry;
+    }
+
+    /**
+     * Snapshot of a single mapping.
+     */
+    public record Entry(long key, long value) {
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, long value);
+    }
+
+    private static final class Table extends OrderedHashTable {
+        private final long missingValue;
+        private long[] keys;
+        private long[] values;
+
+        Table(int expectedSize, long missingValue) {
+            super(expectedSize);
+            this.missingValue = missingValue;
+            this.keys = new long[capacity];
+            this.values = new long[capacity];
+        }
+
+        int find(long key) {
+            int mask = slots.length - 1;
+            for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+                int entry = slots[slot] - 1;
+                if (entry < 0 || keys[entry] == key) {
+                    return entry;
+                }
+            }
+        }
+
+        /**
+         * Slot holding {@code key}, or the empty slot where it belongs.
+         */
+        int slotFor(long key) {
+            int mask = slots.length - 1;
+            for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+                int entry = slots[slot] - 1;
+                if (entry < 0 || keys[entry] == key) {
+                    return slot;
+                }
+            }
+        }
+
+        void append(int slot, long key, long value) {
+            if (end == capacity) {
+                prepareInsert();
+                slot = slotFor(key);
+            }
+            keys[end] = key;
+            values[end] = value;
+            insertAt(slot);
+        }
+
+        Entry entryAt(int entry) {
+            return new Entry(keys[entry], values[entry]);
+        }
+
+        @Override
+        void resizeEntries(int capacity) {
+            keys = Arrays.copyOf(keys, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        int hashAt(int entry) {
+            return mix(keys[entry]);
+        }
+
+        @Override
+        void moveEntry(int from, int to) {
+            keys[to] = keys[from];
+            values[to] = values[from];
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package pl.vm.features.sequenced;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.LongConsumer;
+
+/**
+ * {@code long} specialization of {@link RingBufferList}: a growable circular {@code long[]} with
+ * the {@link java.util.SequencedCollection} operations at both ends in amortized constant time and
+ * no boxing.
+ *
+ * {@link #reversed()} returns a constant-time view sharing the same storage, with the ends and
+ * indices swapped. Not thread-safe.
+ */
+public final class LongRingBuffer {
+
+    private final Ring ring;
+    private final boolean reversed;
+
+    public LongRingBuffer() {
+        this(0);
+    }
+
+    public LongRingBuffer(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity must not be negative: " + initialCapacity);
+        }
+        this.ring = new Ring(RingBufferList.capacityFor(initialCapacity));
+        this.reversed = false;
+    }
+
+    private LongRingBuffer(Ring ring, boolean reversed) {
+        this.ring = ring;
+        this.reversed = reversed;
+    }
+
+    public int size() {
+        return ring.size;
+    }
+
+    public boolean isEmpty() {
+        return ring.size == 0;
+    }
+
+    public long get(int index) {
+        return ring.get(position(index));
+    }
+
+    public long set(int index, long value) {
+        return ring.set(position(index), value);
+    }
+
+    public void addFirst(long value) {
+        if (reversed) {
+            ring.addLast(value);
+        } else {
+            ring.addFirst(value);
+        }
+    }
+
+    public void addLast(long value) {
+        if (reversed) {
+            ring.addFirst(value);
+        } else {
+            ring.addLast(value);
+        }
+    }
+
+    public long getFirst() {
+        checkNotEmpty();
+        return ring.get(reversed ? ring.size - 1 : 0);
+    }
+
+    public long getLast() {
+        checkNotEmpty();
+        return ring.get(reversed ? 0 : ring.size - 1);
+    }
+
+    public long removeFirst() {
+        checkNotEmpty();
+        return reversed ? ring.removeLast() : ring.removeFirst();
+    }
+
+    public long removeLast() {
+        checkNotEmpty();
+        return reversed ? ring.removeFirst() : ring.removeLast();
+    }
+
+    public void clear() {
+        ring.head = 0;
+        ring.size = 0;
+    }
+
+    /**
+     * Constant-time reverse-ordered view sharing this buffer's storage.
+     */
+    public LongRingBuffer reversed() {
+        return new LongRingBuffer(ring, !reversed);
+    }
+
+    public void forEach(LongConsumer action) {
+        for (int i = 0, size = ring.size; i < size; i++) {
+            action.accept(get(i));
+        }
+    }
+
+    public long[] toArray() {
+        long[] values = new long[ring.size];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = get(i);
+        }
+        return values;
+    }
+
+    private int position(int index) {
+        Objects.checkIndex(index, ring.size);
+        return reversed ? ring.size - 1 - index : index;
+    }
+
+    private void checkNotEmpty() {
+        if (ring.size == 0) {
+            throw new NoSuchElementException();
+        }
+    }
+
+    private static final class Ring {
+        private long[] elements;
+        private int head;
+        private int size;
+
+        Ring(int capacity) {
+            elements = new long[capacity];
+        }
+
+        long get(int index) {
+            return elements[(head + index) & (elements.length - 1)];
+        }
+
+        long set(int index, long value) {
+            int slot = (head + index) & (elements.length - 1);
+            long previous = elements[slot];
+            elements[slot] = value;
+            return previous;
+        }
+
+        void addFirst(long value) {
+            grow();
+            head = (head - 1) & (elements.length - 1);
+            elements[head] = value;
+            size++;
+        }
+
+        void addLast(long value) {
+            grow();
+            elements[(head + size) & (elements.length - 1)] = value;
+            size++;
+        }
+
+        long removeFirst() {
+            long value = elements[head];
+            head = (head + 1) & (elements.length - 1);
+            size--;
+            return value;
+        }
+
+        long removeLast() {
+            size--;
+            return elements[(head + size) & (elements.length - 1)];
+        }
+
+        private void grow() {
+            if (size < elements.length) {
+                return;
+            }
+            if (elements.length == 1 << 30) {
+                throw new IllegalStateException("Ring buffer is full");
+            }
+            long[] grown = new long[elements.length << 1];
+            int tail = elements.length - head;
+            System.arraycopy(elements, head, grown, 0, tail);
+            System.arraycopy(elements, 0, grown, tail, head);
+            elements = grown;
+            head = 0;
+        }
+    }
+}
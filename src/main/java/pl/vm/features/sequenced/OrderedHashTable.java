@@ -0,0 +1,235 @@
+package pl.vm.features.sequenced;
+
+import java.util.Arrays;
+
+/**
+ * Insertion-ordered open-addressing hash table shared by the primitive-keyed maps.
+ *
+ * Entries live in dense arrays owned by the subclass, in insertion order. The hash table
+ * ({@code slots}) stores entry position + 1 with linear probing and is kept at most half full.
+ * Removing an entry marks its position in a bitset and deletes its slot by backward shifting, so
+ * no tombstones slow down probing. Removed positions are reclaimed by compacting the entry arrays
+ * once they fill up.
+ */
+abstract class OrderedHashTable {
+
+    static final int MIN_CAPACITY = 8;
+    private static final int MAX_CAPACITY = 1 << 29;
+
+    int[] slots;
+    private long[] removed;
+    int capacity;
+    int size;
+    int end;
+    private int first;
+
+    OrderedHashTable(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative: " + expectedSize);
+        }
+        capacity = Math.max(MIN_CAPACITY, expectedSize);
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Expected size too large: " + expectedSize);
+        }
+        slots = new int[tableSizeFor(capacity)];
+        removed = new long[words(capacity)];
+    }
+
+    /**
+     * Resizes the entry arrays to {@code capacity}, keeping the first {@code end} entries.
+     */
+    abstract void resizeEntries(int capacity);
+
+    /**
+     * Mixed hash of the key at entry position {@code entry}.
+     */
+    abstract int hashAt(int entry);
+
+    abstract void moveEntry(int from, int to);
+
+    /**
+     * Releases references held by a removed entry.
+     */
+    void clearEntry(int entry) {
+    }
+
+    /**
+     * Makes room for one more entry at position {@link #end} by compacting or growing the entry
+     * arrays. Rebuilds {@link #slots}, so the insert slot must be probed again afterwards.
+     */
+    final void prepareInsert() {
+        if (end < capacity) {
+            return;
+        }
+        if (size < capacity - (capacity >>> 2)) {
+            compact();
+            Arrays.fill(slots, 0);
+        } else {
+            if (capacity == MAX_CAPACITY) {
+                throw new IllegalStateException("Map is full");
+            }
+            int grown = (int) Math.min(MAX_CAPACITY, capacity + (long) (capacity >>> 1));
+            compact();
+            resizeEntries(grown);
+            capacity = grown;
+            removed = new long[words(grown)];
+            slots = new int[tableSizeFor(grown)];
+        }
+        rebuildSlots();
+    }
+
+    /**
+     * Registers the entry just written at position {@link #end} in {@code slot}.
+     */
+    final void insertAt(int slot) {
+        slots[slot] = end + 1;
+        end++;
+        size++;
+    }
+
+    /**
+     * Removes the entry at position {@code entry}, found in {@code slot}.
+     */
+    final void removeAt(int entry, int slot) {
+        removed[entry >>> 6] |= 1L << entry;
+        clearEntry(entry);
+        deleteSlot(slot);
+        size--;
+        if (size == 0) {
+            clearRemoved();
+            end = 0;
+            first = 0;
+            return;
+        }
+        while (isRemoved(end - 1)) {
+            end--;
+            removed[end >>> 6] &= ~(1L << end);
+        }
+        while (isRemoved(first)) {
+            first++;
+        }
+    }
+
+    final void clearTable() {
+        for (int entry = first; entry < end; entry++) {
+            clearEntry(entry);
+        }
+        Arrays.fill(slots, 0);
+        clearRemoved();
+        size = 0;
+        end = 0;
+        first = 0;
+    }
+
+    /**
+     * Slot holding {@code entry}.
+     */
+    final int slotOf(int entry) {
+        int mask = slots.length - 1;
+        int slot = hashAt(entry) & mask;
+        while (slots[slot] != entry + 1) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    final int firstEntry() {
+        return size == 0 ? -1 : first;
+    }
+
+    final int lastEntry() {
+        return size == 0 ? -1 : end - 1;
+    }
+
+    final int nextEntry(int entry) {
+        for (int next = entry + 1; next < end; next++) {
+            if (!isRemoved(next)) {
+                return next;
+            }
+        }
+        return -1;
+    }
+
+    final int previousEntry(int entry) {
+        for (int previous = entry - 1; previous >= first; previous--) {
+            if (!isRemoved(previous)) {
+                return previous;
+            }
+        }
+        return -1;
+    }
+
+    static int mix(int hash) {
+        int mixed = hash * 0x9E3779B9;
+        return mixed ^ (mixed >>> 16);
+    }
+
+    static int mix(long hash) {
+        long mixed = hash * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    private boolean isRemoved(int entry) {
+        return (removed[entry >>> 6] & (1L << entry)) != 0;
+    }
+
+    private void clearRemoved() {
+        Arrays.fill(removed, 0L);
+    }
+
+    private void compact() {
+        int to = 0;
+        for (int from = 0; from < end; from++) {
+            if (!isRemoved(from)) {
+                if (from != to) {
+                    moveEntry(from, to);
+                }
+                to++;
+            }
+        }
+        for (int entry = to; entry < end; entry++) {
+            clearEntry(entry);
+        }
+        clearRemoved();
+        end = to;
+        first = 0;
+    }
+
+    private void rebuildSlots() {
+        int mask = slots.length - 1;
+        for (int entry = 0; entry < end; entry++) {
+            int slot = hashAt(entry) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = entry + 1;
+        }
+    }
+
+    /**
+     * Backward-shift deletion: moves later members of the probe chain into the hole so lookups
+     * never need tombstones.
+     */
+    private void deleteSlot(int slot) {
+        int mask = slots.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (slots[next] != 0) {
+            int ideal = hashAt(slots[next] - 1) & mask;
+            if (((next - ideal) & mask) >= ((next - hole) & mask)) {
+                slots[hole] = slots[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        slots[hole] = 0;
+    }
+
+    private static int tableSizeFor(int capacity) {
+        return Integer.highestOneBit(capacity * 2 - 1) << 1;
+    }
+
+    private static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+}
@@ -0,0 +1,334 @@
+package pl.vm.features.sequenced;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * {@link List} backed by a growable circular array.
+ *
+ * Unlike {@link java.util.ArrayList}, where {@code addFirst} and {@code removeFirst} shift every
+ * element, all {@link java.util.SequencedCollection} operations at both ends run in amortized
+ * constant time, and so does {@link #get(int)}. Inserting or removing in the middle shifts the
+ * elements on the shorter side. {@link #reversed()} is a constant-time view that maps indices and
+ * swaps the ends instead of copying.
+ *
+ * Capacity is always a power of two, so index wrapping is a mask. Not thread-safe; iterators are
+ * fail-fast.
+ */
+public class RingBufferList<E> extends AbstractList<E> implements RandomAccess {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private Object[] elements;
+    private int head;
+    private int size;
+    private ReversedView reversed;
+
+    public RingBufferList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public RingBufferList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity must not be negative: " + initialCapacity);
+        }
+        elements = new Object[capacityFor(initialCapacity)];
+    }
+
+    public RingBufferList(Collection<? extends E> source) {
+        this(source.size());
+        addAll(source);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Objects.checkIndex(index, size);
+        return (E) elements[slot(index)];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        Objects.checkIndex(index, size);
+        int slot = slot(index);
+        E previous = (E) elements[slot];
+        elements[slot] = element;
+        return previous;
+    }
+
+    @Override
+    public boolean add(E element) {
+        addLast(element);
+        return true;
+    }
+
+    @Override
+    public void addFirst(E element) {
+        ensureCapacity(size + 1);
+        head = (head - 1) & (elements.length - 1);
+        elements[head] = element;
+        size++;
+        modified();
+    }
+
+    @Override
+    public void addLast(E element) {
+        ensureCapacity(size + 1);
+        elements[slot(size)] = element;
+        size++;
+        modified();
+    }
+
+    @Override
+    public void add(int index, E element) {
+        Objects.checkIndex(index, size + 1);
+        if (index == size) {
+            addLast(element);
+            return;
+        }
+        if (index == 0) {
+            addFirst(element);
+            return;
+        }
+        ensureCapacity(size + 1);
+        int mask = elements.length - 1;
+        if (index < size >>> 1) {
+            head = (head - 1) & mask;
+            for (int i = 0; i < index; i++) {
+                elements[(head + i) & mask] = elements[(head + i + 1) & mask];
+            }
+        } else {
+            for (int i = size; i > index; i--) {
+                elements[(head + i) & mask] = elements[(head + i - 1) & mask];
+            }
+        }
+        elements[slot(index)] = element;
+        size++;
+        modified();
+    }
+
+    @Override
+    public E getFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return get(0);
+    }
+
+    @Override
+    public E getLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return get(size - 1);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E removeFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        E element = (E) elements[head];
+        elements[head] = null;
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        modified();
+        return element;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E removeLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        int slot = slot(size - 1);
+        E element = (E) elements[slot];
+        elements[slot] = null;
+        size--;
+        modified();
+        return element;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int index) {
+        Objects.checkIndex(index, size);
+        if (index == 0) {
+            return removeFirst();
+        }
+        if (index == size - 1) {
+            return removeLast();
+        }
+        int mask = elements.length - 1;
+        E element = (E) elements[slot(index)];
+        if (index < size >>> 1) {
+            for (int i = index; i > 0; i--) {
+                elements[(head + i) & mask] = elements[(head + i - 1) & mask];
+            }
+            elements[head] = null;
+            head = (head + 1) & mask;
+        } else {
+            for (int i = index; i < size - 1; i++) {
+                elements[(head + i) & mask] = elements[(head + i + 1) & mask];
+            }
+            elements[slot(size - 1)] = null;
+        }
+        size--;
+        modified();
+        return element;
+    }
+
+    @Override
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(elements, null);
+            head = 0;
+            size = 0;
+            modified();
+        }
+    }
+
+    /**
+     * Constant-time reverse-ordered view. Changes through either list are visible in the other.
+     */
+    @Override
+    public List<E> reversed() {
+        if (reversed == null) {
+            reversed = new ReversedView();
+        }
+        return reversed;
+    }
+
+    private int slot(int index) {
+        return (head + index) & (elements.length - 1);
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= elements.length) {
+            return;
+        }
+        if (elements.length == MAX_CAPACITY) {
+            throw new IllegalStateException("Ring buffer is full");
+        }
+        Object[] grown = new Object[elements.length << 1];
+        int tail = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, grown, 0, tail);
+        System.arraycopy(elements, 0, grown, tail, size - tail);
+        elements = grown;
+        head = 0;
+    }
+
+    /**
+     * Records a structural modification, also in the reversed view, whose inherited iterators and
+     * sub-lists check their own {@code modCount}.
+     */
+    private void modified() {
+        modCount++;
+        if (reversed != null) {
+            reversed.outerModified();
+        }
+    }
+
+    static int capacityFor(int requested) {
+        if (requested > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity too large: " + requested);
+        }
+        return Math.max(DEFAULT_CAPACITY, Integer.highestOneBit(Math.max(1, requested) * 2 - 1));
+    }
+
+    private final class ReversedView extends AbstractList<E> implements RandomAccess {
+
+        void outerModified() {
+            modCount++;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public E get(int index) {
+            Objects.checkIndex(index, size);
+            return RingBufferList.this.get(size - 1 - index);
+        }
+
+        @Override
+        public E set(int index, E element) {
+            Objects.checkIndex(index, size);
+            return RingBufferList.this.set(size - 1 - index, element);
+        }
+
+        @Override
+        public boolean add(E element) {
+            RingBufferList.this.addFirst(element);
+            return true;
+        }
+
+        @Override
+        public void add(int index, E element) {
+            Objects.checkIndex(index, size + 1);
+            RingBufferList.this.add(size - index, element);
+        }
+
+        @Override
+        public E remove(int index) {
+            Objects.checkIndex(index, size);
+            return RingBufferList.this.remove(size - 1 - index);
+        }
+
+        @Override
+        public void addFirst(E element) {
+            RingBufferList.this.addLast(element);
+        }
+
+        @Override
+        public void addLast(E element) {
+            RingBufferList.this.addFirst(element);
+        }
+
+        @Override
+        public E getFirst() {
+            return RingBufferList.this.getLast();
+        }
+
+        @Override
+        public E getLast() {
+            return RingBufferList.this.getFirst();
+        }
+
+        @Override
+        public E removeFirst() {
+            return RingBufferList.this.removeLast();
+        }
+
+        @Override
+        public E removeLast() {
+            return RingBufferList.this.removeFirst();
+        }
+
+        @Override
+        public void clear() {
+            RingBufferList.this.clear();
+        }
+
+        @Override
+        public List<E> reversed() {
+            return RingBufferList.this;
+        }
+    }
+}
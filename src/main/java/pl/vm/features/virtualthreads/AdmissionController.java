@@ -0,0 +1,267 @@
+package pl.vm.features.virtualthreads;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admission control in front of a {@link RequestHandler}, so overload turns into fast
+ * {@code 503} responses instead of unbounded queues of virtual threads.
+ *
+ * A request is admitted while fewer than {@code min(maxInFlight, limit.current())} requests are
+ * in flight. Otherwise it waits in a bounded FIFO queue for at most {@code maxQueueTime}; a
+ * request that finds the queue full, or whose queue time runs out, is rejected. Every completed
+ * request feeds its latency into the {@link ConcurrencyLimit}, so an adaptive limit follows the
+ * capacity of whatever the handler depends on. Released permits are handed directly to the
+ * oldest waiter.
+ *
+ * Decisions are counted in {@link #metrics()}. Uses a {@link ReentrantLock} rather than
+ * {@code synchronized} so queued virtual threads do not pin their carriers.
+ */
+public class AdmissionController {
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionController.class);
+
+    static final ServerResponse OVERLOADED = StaticPayload.text("Service Unavailable").response(503);
+
+    private final int maxInFlight;
+    private final ConcurrencyLimit limit;
+    private final int queueCapacity;
+    private final long maxQueueNanos;
+    private final Duration dropLatency;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+    private int inFlight;
+    private long admitted;
+    private long admittedAfterQueueing;
+    private long rejectedQueueFull;
+    private long rejectedQueueTimeout;
+    private long dropped;
+    private int lastLimit;
+
+    /**
+     * The controller owns {@code config.limit()}; do not share a limit between controllers.
+     */
+    public AdmissionController(Config config) {
+        this.maxInFlight = config.maxInFlight();
+        this.limit = config.limit();
+        this.queueCapacity = config.queueCapacity();
+        this.maxQueueNanos = config.maxQueueTime().toNanos();
+        this.dropLatency = config.dropLatency();
+        this.lastLimit = effectiveLimit();
+    }
+
+    /**
+     * Wraps {@code handler} so that each request needs a permit. Rejected requests get a
+     * {@code 503} without reaching the handler; {@code 5xx} responses and exceptions count as
+     * drops for the concurrency limit.
+     */
+    public RequestHandler protect(RequestHandler handler) {
+        return request -> {
+            Permit permit = acquire();
+            if (permit == null) {
+                return OVERLOADED;
+            }
+            boolean failed = true;
+            try {
+                ServerResponse response = handler.handle(request);
+                failed = response.status() >= 500;
+                return response;
+            } finally {
+                permit.release(failed);
+            }
+        };
+    }
+
+    /**
+     * Admits the caller, waiting in the queue if necessary.
+     *
+     * @return the permit to release when the request completes, or {@code null} if rejected
+     */
+    public Permit acquire() throws InterruptedException {
+        lock.lock();
+        try {
+            if (waiters.isEmpty() && inFlight < effectiveLimit()) {
+                admitted++;
+                return admit();
+            }
+            if (waiters.size() >= queueCapacity) {
+                rejectedQueueFull++;
+                return null;
+            }
+            Waiter waiter = new Waiter(lock.newCondition());
+            waiters.addLast(waiter);
+            long remaining = maxQueueNanos;
+            try {
+                while (!waiter.granted && remaining > 0) {
+                    remaining = waiter.condition.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                if (waiter.granted) {
+                    // The permit was handed over just before the interrupt; pass it on.
+                    inFlight--;
+                    grantWaiters();
+                } else {
+                    waiters.remove(waiter);
+                }
+                throw e;
+            }
+            if (!waiter.granted) {
+                waiters.remove(waiter);
+                rejectedQueueTimeout++;
+                return null;
+            }
+            admitted++;
+            admittedAfterQueueing++;
+            return new Permit(inFlight);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Metrics metrics() {
+        lock.lock();
+        try {
+            return new Metrics(effectiveLimit(), inFlight, waiters.size(), admitted, admittedAfterQueueing,
+                    rejectedQueueFull, rejectedQueueTimeout, dropped);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Permit admit() {
+        inFlight++;
+        return new Permit(inFlight);
+    }
+
+    private int effectiveLimit() {
+        return Math.min(maxInFlight, limit.current());
+    }
+
+    private void release(Permit permit, boolean failed) {
+        long rtt = System.nanoTime() - permit.startNanos;
+        boolean drop = failed || dropLatency != null && rtt > dropLatency.toNanos();
+        lock.lock();
+        try {
+            inFlight--;
+            if (drop) {
+                dropped++;
+            }
+            limit.onSample(rtt, permit.inFlightAtStart, drop);
+            int current = effectiveLimit();
+            if (current != lastLimit) {
+                logger.debug("Concurrency limit changed from {} to {} ({})", lastLimit, current, limit);
+                lastLimit = current;
+            }
+            grantWaiters();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void grantWaiters() {
+        while (!waiters.isEmpty() && inFlight < effectiveLimit()) {
+            Waiter waiter = waiters.pollFirst();
+            waiter.granted = true;
+            inFlight++;
+            waiter.condition.signal();
+        }
+    }
+
+    /**
+     * Admission of a single request; release it exactly once.
+     */
+    public final class Permit {
+        private final long startNanos = System.nanoTime();
+        private final int inFlightAtStart;
+        private boolean released;
+
+        private Permit(int inFlightAtStart) {
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /**
+         * @param failed whether the request failed, which the concurrency limit treats as overload
+         */
+        public void release(boolean failed) {
+            if (released) {
+                throw new IllegalStateException("Permit already released");
+            }
+            released = true;
+            AdmissionController.this.release(this, failed);
+        }
+    }
+
+    /**
+     * Snapshot of admission decisions since creation.
+     *
+     * @param limit                 current effective concurrency limit
+     * @param inFlight              requests holding a permit
+     * @param queued                requests waiting for a permit
+     * @param admitted              requests admitted, directly or after queueing
+     * @param admittedAfterQueueing requests admitted after waiting in the queue
+     * @param rejectedQueueFull     requests rejected because the queue was full
+     * @param rejectedQueueTimeout  requests rejected because their queue time ran out
+     * @param dropped               admitted requests that failed or exceeded the drop latency
+     */
+    public record Metrics(int limit, int inFlight, int queued, long admitted, long admittedAfterQueueing,
+                          long rejectedQueueFull, long rejectedQueueTimeout, long dropped) {
+
+        public long rejected() {
+            return rejectedQueueFull + rejectedQueueTimeout;
+        }
+
+        public double rejectionRate() {
+            long total = admitted + rejected();
+            return total == 0 ? 0.0 : (double) rejected() / total;
+        }
+    }
+
+    private static final class Waiter {
+        private final Condition condition;
+        private boolean granted;
+
+        Waiter(Condition condition) {
+            this.condition = condition;
+        }
+    }
+
+    /**
+     * Admission settings.
+     *
+     * @param maxInFlight   hard cap on requests in flight, whatever the concurrency limit says
+     * @param limit         fixed or adaptive concurrency limit; {@code null} means fixed at {@code maxInFlight}
+     * @param queueCapacity requests allowed to wait for a permit; 0 rejects as soon as the limit is reached
+     * @param maxQueueTime  longest a request may wait in the queue before it is rejected
+     * @param dropLatency   requests slower than this count as drops for the limit; {@code null} disables
+     */
+    public record Config(int maxInFlight, ConcurrencyLimit limit, int queueCapacity, Duration maxQueueTime,
+                         Duration dropLatency) {
+
+        public Config {
+            if (maxInFlight < 1) {
+                throw new IllegalArgumentException("Max in-flight must be positive: " + maxInFlight);
+            }
+            if (queueCapacity < 0) {
+                throw new IllegalArgumentException("Queue capacity must not be negative: " + queueCapacity);
+            }
+            if (maxQueueTime.isNegative()) {
+                throw new IllegalArgumentException("Max queue time must not be negative: " + maxQueueTime);
+            }
+            if (limit == null) {
+                limit = ConcurrencyLimit.fixed(maxInFlight);
+            }
+        }
+
+        /**
+         * Fixed limit of {@code maxInFlight}, with room for 100 requests queued for up to 100 ms.
+         */
+        public static Config fixed(int maxInFlight) {
+            return new Config(maxInFlight, null, 100, Duration.ofMillis(100), null);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package pl.vm.features.virtualthreads;
+
+/**
+ * Concurrency limit used by {@link AdmissionController}, updated from the latency of every
+ * completed request.
+ *
+ * Implementations are not thread-safe; the controller calls them under its lock.
+ */
+public sealed interface ConcurrencyLimit permits ConcurrencyLimit.Fixed, ConcurrencyLimit.Aimd, ConcurrencyLimit.Vegas {
+
+    /**
+     * Current number of requests allowed in flight, at least 1.
+     */
+    int current();
+
+    /**
+     * Records a completed request.
+     *
+     * @param rttNanos time the request spent in flight, excluding queueing
+     * @param inFlight requests in flight when it was admitted, including itself
+     * @param dropped  whether it failed or was too slow, which signals overload
+     */
+    void onSample(long rttNanos, int inFlight, boolean dropped);
+
+    static ConcurrencyLimit fixed(int limit) {
+        return new Fixed(limit);
+    }
+
+    /**
+     * Additive increase / multiplicative decrease: grows by one per fully utilized limit's worth
+     * of successful requests, and shrinks by {@code backoffRatio} on every dropped one.
+     */
+    static ConcurrencyLimit aimd(int initial, int min, int max, double backoffRatio) {
+        return new Aimd(initial, min, max, backoffRatio);
+    }
+
+    /**
+     * Vegas-style limit: estimates the queue building up downstream from how far the observed
+     * latency exceeds the lowest latency seen, and adjusts the limit to keep that queue small.
+     */
+    static ConcurrencyLimit vegas(int initial, int min, int max) {
+        return new Vegas(initial, min, max);
+    }
+
+    final class Fixed implements ConcurrencyLimit {
+        private final int limit;
+
+        private Fixed(int limit) {
+            if (limit < 1) {
+                throw new IllegalArgumentException("Limit must be positive: " + limit);
+            }
+            this.limit = limit;
+        }
+
+        @Override
+        public int current() {
+            return limit;
+        }
+
+        @Override
+        public void onSample(long rttNanos, int inFlight, boolean dropped) {
+        }
+
+        @Override
+        public String toString() {
+            return "Fixed[limit=" + limit + "]";
+        }
+    }
+
+    final class Aimd implements ConcurrencyLimit {
+        private final int min;
+        private final int max;
+        private final double backoffRatio;
+        private double limit;
+
+        private Aimd(int initial, int min, int max, double backoffRatio) {
+            checkBounds(initial, min, max);
+            if (!(backoffRatio > 0 && backoffRatio < 1)) {
+                throw new IllegalArgumentException("Backoff ratio must be in (0, 1): " + backoffRatio);
+            }
+            this.min = min;
+            this.max = max;
+            this.backoffRatio = backoffRatio;
+            this.limit = initial;
+        }
+
+        @Override
+        public int current() {
+            return (int) limit;
+        }
+
+        @Override
+        public void onSample(long rttNanos, int inFlight, boolean dropped) {
+            if (dropped) {
+                limit = Math.max(min, Math.floor(limit * backoffRatio));
+            } else if (inFlight >= current()) {
+                // Only grow while the limit is actually the bottleneck.
+                limit = Math.min(max, limit + 1.0 / current());
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Aimd[limit=" + current() + "]";
+        }
+    }
+
+    final class Vegas implements ConcurrencyLimit {
+        private static final int PROBE_INTERVAL = 1_000;
+
+        private final int min;
+        private final int max;
+        private double limit;
+        private long rttNoLoad = Long.MAX_VALUE;
+        private int samples;
+
+        private Vegas(int initial, int min, int max) {
+            checkBounds(initial, min, max);
+            this.min = min;
+            this.max = max;
+            this.limit = initial;
+        }
+
+        @Override
+        public int current() {
+            return (int) limit;
+        }
+
+        @Override
+        public void onSample(long rttNanos, int inFlight, boolean dropped) {
+            if (++samples % PROBE_INTERVAL == 0) {
+                // Forget the baseline now and then, in case the downstream got permanently slower.
+                rttNoLoad = rttNanos;
+            }
+            rttNoLoad = Math.max(1, Math.min(rttNoLoad, rttNanos));
+            double step = Math.max(1.0, Math.log10(limit));
+            if (dropped) {
+                limit = Math.max(min, limit - step);
+                return;
+            }
+            double queue = limit * (1.0 - (double) rttNoLoad / Math.max(rttNanos, 1));
+            if (queue > 6 * step) {
+                limit = Math.max(min, limit - step);
+            } else if (queue < 3 * step && inFlight * 2 >= current()) {
+                limit = Math.min(max, limit + step);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Vegas[limit=" + current() + "]";
+        }
+    }
+
+    private static void checkBounds(int initial, int min, int max) {
+        if (min < 1 || min > initial || initial > max) {
+            throw new IllegalArgumentException("Expected 1 <= min <= initial <= max, got "
+                    + min + ", " + initial + ", " + max);
+        }
+    }
+}
@@ -0,0 +1,539 @@
+package pl.vm.features.virtualthreads;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * HTTP/1.1 server engine on a single {@link Selector} event loop, with the same
+ * {@link RequestHandler} API and lifecycle as {@link VirtualThreadServer}.
+ *
+ * The event loop thread accepts connections, reads and parses requests and writes responses
+ * without blocking, so an idle keep-alive connection costs only its channel and a read buffer.
+ * Only the handler call is handed off to a virtual thread; when it returns, the encoded response
+ * is queued back to the loop, which wakes up and writes it. Each connection has at most one
+ * request in flight; pipelined requests are parsed after the previous response has been written.
+ *
+ * Responses go out as a queue of buffers per connection, written with gathering writes: the head
+ * is encoded into a pooled direct buffer and a {@link ResponseBody.Fixed} body is written from its
+ * own buffer without copying, so a {@link StaticPayload} is served with no per-request copy.
+ * {@link ResponseBody.Streamed} bodies are framed into pooled chunks as the handler writes them;
+ * the handler blocks once {@value #MAX_PENDING_SEGMENTS} buffers are waiting for the socket.
+ *
+ * Request bodies need a {@code Content-Length}; chunked request bodies are rejected with
+ * {@code 501}.
+ */
+public class NioServer implements ServerEngine {
+    private static final Logger logger = LoggerFactory.getLogger(NioServer.class);
+
+    private static final int READ_BUFFER_SIZE = 8 * 1024;
+    private static final int MAX_HEAD_BYTES = 16 * 1024;
+    private static final int MAX_BODY_BYTES = 1024 * 1024;
+    private static final byte[] HEAD_END = {'\r', '\n', '\r', '\n'};
+    private static final int OUTPUT_BUFFER_SIZE = 16 * 1024;
+    private static final int MAX_POOLED_BUFFERS = 1024;
+    private static final int MAX_PENDING_SEGMENTS = 16;
+
+    private final RequestHandler handler;
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final Queue<Connection> completed = new ConcurrentLinkedQueue<>();
+    private final BufferPool buffers = new BufferPool(OUTPUT_BUFFER_SIZE, MAX_POOLED_BUFFERS);
+    private Thread eventLoop;
+    private volatile boolean running;
+
+    public NioServer(int port) throws IOException {
+        this(port, VirtualThreadServer.defaultHandler());
+    }
+
+    public NioServer(int port, RequestHandler handler) throws IOException {
+        this.handler = handler;
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        try {
+            serverChannel.bind(new InetSocketAddress(port), 1024);
+            serverChannel.configureBlocking(false);
+        } catch (IOException e) {
+            serverChannel.close();
+            selector.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        try {
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot register server channel", e);
+        }
+        running = true;
+        eventLoop = Thread.ofPlatform().name("nio-event-loop").start(this::runEventLoop);
+        logger.info("NIO server started on port {}", getPort());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (eventLoop == null) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        try {
+            eventLoop.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        eventLoop = null;
+        workers.shutdownNow();
+    }
+
+    @Override
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    private void runEventLoop() {
+        try {
+            while (running) {
+                selector.select();
+                for (Connection connection; (connection = completed.poll()) != null; ) {
+                    connection.scheduled.set(false);
+                    connection.onWritable();
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else if (key.isReadable()) {
+                        ((Connection) key.attachment()).onReadable();
+                    } else if (key.isWritable()) {
+                        ((Connection) key.attachment()).onWritable();
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            if (running) {
+                logger.error("Event loop failed", e);
+            }
+        } finally {
+            running = false;
+            closeAll();
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            try {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                key.attach(new Connection(channel, key));
+            } catch (IOException e) {
+                // For example a client that reset right after connecting; only this socket is lost
+                logger.debug("Error setting up accepted connection", e);
+                try {
+                    channel.close();
+                } catch (IOException closeFailure) {
+                    e.addSuppressed(closeFailure);
+                }
+            }
+        }
+    }
+
+    private void closeAll() {
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof Connection connection) {
+                connection.close();
+                continue;
+            }
+            try {
+                key.channel().close();
+            } catch (IOException e) {
+                logger.debug("Error closing channel", e);
+            }
+        }
+        try {
+            selector.close();
+        } catch (IOException e) {
+            logger.debug("Error closing selector", e);
+        }
+    }
+
+    /**
+     * Per-connection state. {@link #in} is only touched by the event loop. The response is a queue
+     * of buffers filled by the handler thread and drained by the event loop, both under
+     * {@link #outputLock}.
+     */
+    private final class Connection {
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final ReentrantLock outputLock = new ReentrantLock();
+        private final Condition drained = outputLock.newCondition();
+        private final ArrayDeque<Segment> pending = new ArrayDeque<>();
+        private final ByteBuffer[] gather = new ByteBuffer[MAX_PENDING_SEGMENTS + 1];
+        private ByteBuffer in = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        private boolean responseComplete;
+        private boolean closeAfterWrite;
+        private boolean closed;
+
+        Connection(SocketChannel channel, SelectionKey key) {
+            this.channel = channel;
+            this.key = key;
+        }
+
+        /**
+         * Event loop entry points. A failure here is a bug in handling this connection, so it only
+         * closes this connection instead of ending the loop for all of them.
+         */
+        void onReadable() {
+            try {
+                read();
+            } catch (RuntimeException e) {
+                logger.error("Error reading from connection", e);
+                close();
+            }
+        }
+
+        void onWritable() {
+            try {
+                write();
+            } catch (RuntimeException e) {
+                logger.error("Error writing to connection", e);
+                close();
+            }
+        }
+
+        private void read() {
+            try {
+                if (channel.read(in) < 0) {
+                    close();
+                    return;
+                }
+            } catch (IOException e) {
+                close();
+                return;
+            }
+            dispatch();
+        }
+
+        /**
+         * Hands the buffered request to a worker once it is complete.
+         */
+        private void dispatch() {
+            ParsedRequest parsed;
+            try {
+                parsed = parse();
+            } catch (BadRequestException e) {
+                key.interestOps(0);
+                send(ServerResponse.text(e.status, ServerResponse.reasonPhrase(e.status)), false);
+                return;
+            }
+            if (parsed == null) {
+                return;
+            }
+            key.interestOps(0);
+            workers.execute(() -> send(invoke(parsed.request()), parsed.keepAlive()));
+        }
+
+        /**
+         * Encodes {@code response} onto the output queue. Runs on the handler thread, except for
+         * error responses to unparseable requests.
+         */
+        private void send(ServerResponse response, boolean keepAlive) {
+            try {
+                switch (response.body()) {
+                    case ResponseBody.Fixed fixed -> {
+                        enqueue(head(response, fixed.length(), keepAlive), true);
+                        if (fixed.length() > 0) {
+                            enqueue(fixed.content(), false);
+                        }
+                    }
+                    case ResponseBody.Streamed streamed -> {
+                        enqueue(head(response, -1, keepAlive), true);
+                        var out = new ResponseEncoder.ChunkedOutputStream(buffers, this::enqueue);
+                        streamed.writer().writeTo(out);
+                        out.close();
+                    }
+                }
+                finish(!keepAlive);
+            } catch (IOException | RuntimeException e) {
+                // The head may already be out, so the only safe signal left is closing the connection.
+                logger.debug("Aborting response", e);
+                finish(true);
+            }
+        }
+
+        private ByteBuffer head(ServerResponse response, long contentLength, boolean keepAlive) {
+            ByteBuffer head = buffers.acquire();
+            ResponseEncoder.encodeHead(head, response, contentLength, keepAlive);
+            return head.flip();
+        }
+
+        private void enqueue(ByteBuffer buffer, boolean pooled) throws IOException {
+            outputLock.lock();
+            try {
+                while (pending.size() >= MAX_PENDING_SEGMENTS && !closed) {
+                    try {
+                        drained.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Interrupted while waiting for the socket");
+                    }
+                }
+                if (closed) {
+                    if (pooled) {
+                        buffers.release(buffer);
+                    }
+                    throw new IOException("Connection closed");
+                }
+                pending.addLast(new Segment(buffer, pooled));
+            } finally {
+                outputLock.unlock();
+            }
+            schedule();
+        }
+
+        private void finish(boolean close) {
+            outputLock.lock();
+            try {
+                responseComplete = true;
+                closeAfterWrite = close;
+            } finally {
+                outputLock.unlock();
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                completed.add(this);
+                selector.wakeup();
+            }
+        }
+
+        /**
+         * Writes as much of the queued output as the socket accepts. Event loop only.
+         */
+        private void write() {
+            if (!key.isValid()) {
+                return;
+            }
+            outputLock.lock();
+            try {
+                while (!pending.isEmpty()) {
+                    int count = 0;
+                    for (Segment segment : pending) {
+                        gather[count++] = segment.buffer();
+                    }
+                    try {
+                        channel.write(gather, 0, count);
+                    } catch (IOException e) {
+                        close();
+                        return;
+                    } finally {
+                        Arrays.fill(gather, 0, count, null);
+                    }
+                    while (!pending.isEmpty() && !pending.peekFirst().buffer().hasRemaining()) {
+                        Segment segment = pending.pollFirst();
+                        if (segment.pooled()) {
+                            buffers.release(segment.buffer());
+                        }
+                    }
+                    drained.signalAll();
+                    if (!pending.isEmpty()) {
+                        key.interestOps(SelectionKey.OP_WRITE);
+                        return;
+                    }
+                }
+                if (!responseComplete) {
+                    key.interestOps(0);
+                    return;
+                }
+                responseComplete = false;
+                if (closeAfterWrite) {
+                    close();
+                    return;
+                }
+            } finally {
+                outputLock.unlock();
+            }
+            key.interestOps(SelectionKey.OP_READ);
+            if (in.position() > 0) {
+                dispatch();
+            }
+        }
+
+        /**
+         * Parses a complete request from the start of {@link #in} and consumes it, or returns
+         * {@code null} if more bytes are needed.
+         */
+        private ParsedRequest parse() throws BadRequestException {
+            byte[] data = in.array();
+            int available = in.position();
+            int headEnd = indexOf(data, available, HEAD_END);
+            if (headEnd < 0) {
+                if (available >= MAX_HEAD_BYTES) {
+                    throw new BadRequestException(431);
+                }
+                ensureCapacity(available + 1);
+                return null;
+            }
+            String[] lines = new String(data, 0, headEnd, StandardCharsets.ISO_8859_1).split("\r\n");
+            String[] requestLine = lines[0].split(" ");
+            if (requestLine.length != 3 || !requestLine[2].startsWith("HTTP/1.")) {
+                throw new BadRequestException(400);
+            }
+            Map<String, String> headers = new HashMap<>();
+            for (int i = 1; i < lines.length; i++) {
+                int colon = lines[i].indexOf(':');
+                if (colon <= 0) {
+                    throw new BadRequestException(400);
+                }
+                headers.putIfAbsent(lines[i].substring(0, colon).trim().toLowerCase(Locale.ROOT),
+                        lines[i].substring(colon + 1).trim());
+            }
+            if (headers.containsKey("transfer-encoding")) {
+                throw new BadRequestException(501);
+            }
+            int contentLength = contentLength(headers.get("content-length"));
+            int bodyStart = headEnd + HEAD_END.length;
+            int total = bodyStart + contentLength;
+            if (available < total) {
+                ensureCapacity(total);
+                return null;
+            }
+            byte[] body = Arrays.copyOfRange(data, bodyStart, total);
+            in.flip().position(total);
+            in.compact();
+
+            String connection = headers.getOrDefault("connection", "");
+            boolean keepAlive = requestLine[2].equals("HTTP/1.1")
+                    ? !connection.equalsIgnoreCase("close")
+                    : connection.equalsIgnoreCase("keep-alive");
+            return new ParsedRequest(new ServerRequest(requestLine[0], requestLine[1], headers, body), keepAlive);
+        }
+
+        private void ensureCapacity(int required) {
+            if (required > in.capacity()) {
+                in = ByteBuffer.allocate(Math.max(required, in.capacity() * 2)).put(in.flip());
+            }
+        }
+
+        private void close() {
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.debug("Error closing connection", e);
+            }
+            outputLock.lock();
+            try {
+                closed = true;
+                for (Segment segment : pending) {
+                    if (segment.pooled()) {
+                        buffers.release(segment.buffer());
+                    }
+                }
+                pending.clear();
+                drained.signalAll();
+            } finally {
+                outputLock.unlock();
+            }
+        }
+    }
+
+    private ServerResponse invoke(ServerRequest request) {
+        try {
+            return handler.handle(request);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ServerResponse.text(500, "Interrupted");
+        } catch (Exception e) {
+            logger.error("Error handling request", e);
+            return ServerResponse.text(500, "Internal Server Error");
+        }
+    }
+
+    private static int contentLength(String value) throws BadRequestException {
+        if (value == null) {
+            return 0;
+        }
+        long length;
+        try {
+            length = Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(400);
+        }
+        if (length < 0) {
+            throw new BadRequestException(400);
+        }
+        if (length > MAX_BODY_BYTES) {
+            throw new BadRequestException(413);
+        }
+        return (int) length;
+    }
+
+    private static int indexOf(byte[] data, int length, byte[] pattern) {
+        outer:
+        for (int i = 0; i <= length - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private record ParsedRequest(ServerRequest request, boolean keepAlive) {
+    }
+
+    private record Segment(ByteBuffer buffer, boolean pooled) {
+    }
+
+    private static final class BadRequestException extends Exception {
+        private final int status;
+
+        BadRequestException(int status) {
+            super(null, null, false, false);
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package pl.vm.features.virtualthreads;
+
+/**
+ * Application logic shared by the server engines ({@link VirtualThreadServer}, {@link NioServer}).
+ *
+ * Handlers always run on a virtual thread, so they may block on I/O or sleep. Any exception is
+ * turned into a {@code 500} response by the engine.
+ */
+@FunctionalInterface
+public interface RequestHandler {
+
+    ServerResponse handle(ServerRequest request) throws Exception;
+}
@@ -0,0 +1,97 @@
+package pl.vm.features.virtualthreads;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * Body of a {@link ServerResponse}: either already-encoded content of known length, sent with an
+ * exact {@code Content-Length}, or a writer that streams it with chunked transfer encoding.
+ */
+public sealed interface ResponseBody permits ResponseBody.Fixed, ResponseBody.Streamed {
+
+    Fixed EMPTY = new Fixed(new byte[0], null);
+
+    /**
+     * Wraps {@code bytes} without copying; the caller must not modify them afterwards.
+     */
+    static Fixed of(byte[] bytes) {
+        return bytes.length == 0 ? EMPTY : new Fixed(bytes, null);
+    }
+
+    /**
+     * Like {@link #of(byte[])}, plus a direct copy for channel writes, for content that is served
+     * many times.
+     */
+    static Fixed cached(byte[] bytes) {
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip().asReadOnlyBuffer();
+        return new Fixed(bytes, direct);
+    }
+
+    static Streamed streaming(BodyWriter writer) {
+        return new Streamed(writer);
+    }
+
+    /**
+     * Pre-encoded content. Stream-based engines write the array directly with
+     * {@link #writeTo(OutputStream)}; channel-based ones use {@link #content()}, which returns an
+     * independent read-only view each time. Either way one instance can be shared by any number of
+     * concurrent responses.
+     */
+    final class Fixed implements ResponseBody {
+        private final byte[] bytes;
+        private final ByteBuffer direct;
+
+        private Fixed(byte[] bytes, ByteBuffer direct) {
+            this.bytes = bytes;
+            this.direct = direct;
+        }
+
+        /**
+         * Read-only view of the content, direct if this body was {@linkplain #cached cached}.
+         */
+        public ByteBuffer content() {
+            return direct != null ? direct.duplicate() : ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+        }
+
+        public int length() {
+            return bytes.length;
+        }
+
+        /**
+         * Writes the content with a single {@link OutputStream#write(byte[], int, int)}, without
+         * copying.
+         */
+        public void writeTo(OutputStream out) throws IOException {
+            out.write(bytes, 0, bytes.length);
+        }
+
+        /**
+         * Copy of the content.
+         */
+        public byte[] toByteArray() {
+            return bytes.clone();
+        }
+
+        String decode(Charset charset) {
+            return new String(bytes, charset);
+        }
+    }
+
+    /**
+     * Body produced incrementally, for content too large to buffer or not known up front.
+     */
+    record Streamed(BodyWriter writer) implements ResponseBody {
+    }
+
+    @FunctionalInterface
+    interface BodyWriter {
+
+        /**
+         * Writes the body. Each {@code flush()} sends the bytes written so far as a chunk; closing
+         * {@code out} is optional.
+         */
+        void writeTo(OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,183 @@
+package pl.vm.features.virtualthreads;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * Writes HTTP/1.1 response heads and chunked bodies straight into (pooled) byte buffers, without
+ * building intermediate strings.
+ */
+final class ResponseEncoder {
+
+    /**
+     * Upper bound on an encoded head, with room for a long content type.
+     */
+    static final int MAX_HEAD_BYTES = 512;
+
+    private static final ByteBuffer LAST_CHUNK = ByteBuffer.wrap(new byte[] {'0', '\r', '\n', '\r', '\n'})
+            .asReadOnlyBuffer();
+
+    private ResponseEncoder() {
+    }
+
+    /**
+     * Appends the status line and headers to {@code target}.
+     *
+     * @param contentLength body length, or {@code -1} for chunked transfer encoding
+     */
+    static void encodeHead(ByteBuffer target, ServerResponse response, long contentLength, boolean keepAlive) {
+        putAscii(target, "HTTP/1.1 ");
+        putDecimal(target, response.status());
+        target.put((byte) ' ');
+        putHeaderValue(target, ServerResponse.reasonPhrase(response.status()));
+        putAscii(target, "\r\nContent-Type: ");
+        putHeaderValue(target, response.contentType());
+        if (contentLength >= 0) {
+            putAscii(target, "\r\nContent-Length: ");
+            putDecimal(target, contentLength);
+        } else {
+            putAscii(target, "\r\nTransfer-Encoding: chunked");
+        }
+        if (!keepAlive) {
+            putAscii(target, "\r\nConnection: close");
+        }
+        putAscii(target, "\r\n\r\n");
+    }
+
+    /**
+     * The terminating zero-length chunk, as a fresh read-only view.
+     */
+    static ByteBuffer lastChunk() {
+        return LAST_CHUNK.duplicate();
+    }
+
+    private static void putAscii(ByteBuffer target, String text) {
+        for (int i = 0, length = text.length(); i < length; i++) {
+            target.put((byte) text.charAt(i));
+        }
+    }
+
+    private static void putHeaderValue(ByteBuffer target, String value) {
+        for (int i = 0, length = value.length(); i < length; i++) {
+            char c = value.charAt(i);
+            if (c > 0x7E || c < 0x20) {
+                throw new IllegalArgumentException("Header value must be printable ASCII: " + value);
+            }
+            target.put((byte) c);
+        }
+    }
+
+    private static void putDecimal(ByteBuffer target, long value) {
+        if (value >= 10) {
+            putDecimal(target, value / 10);
+        }
+        target.put((byte) ('0' + value % 10));
+    }
+
+    /**
+     * Receives encoded buffers in order. Pooled buffers are handed over and must be released by
+     * the sink once written.
+     */
+    interface Sink {
+        void accept(ByteBuffer buffer, boolean pooled) throws IOException;
+    }
+
+    /**
+     * {@link OutputStream} that frames what is written into HTTP chunks, each built in a pooled
+     * buffer with space reserved for the size line in front, so a chunk is written with no copy.
+     */
+    static final class ChunkedOutputStream extends OutputStream {
+        private static final int SIZE_LINE_BYTES = 6; // up to four hex digits plus CRLF
+        private static final int TRAILER_BYTES = 2;
+
+        private final BufferPool pool;
+        private final Sink sink;
+        private ByteBuffer chunk;
+        private boolean closed;
+
+        ChunkedOutputStream(BufferPool pool, Sink sink) {
+            if (pool.bufferSize() - SIZE_LINE_BYTES - TRAILER_BYTES > 0xFFFF) {
+                throw new IllegalArgumentException("Pool buffers too large for four-digit chunk sizes");
+            }
+            this.pool = pool;
+            this.sink = sink;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            ensureOpen();
+            if (chunk == null || chunk.remaining() == TRAILER_BYTES) {
+                flush();
+                chunk = newChunk();
+            }
+            chunk.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            ensureOpen();
+            Objects.checkFromIndexSize(offset, length, bytes.length);
+            while (length > 0) {
+                if (chunk == null || chunk.remaining() == TRAILER_BYTES) {
+                    flush();
+                    chunk = newChunk();
+                }
+                int count = Math.min(length, chunk.remaining() - TRAILER_BYTES);
+                chunk.put(bytes, offset, count);
+                offset += count;
+                length -= count;
+            }
+        }
+
+        /**
+         * Sends the bytes written since the last flush as one chunk.
+         */
+        @Override
+        public void flush() throws IOException {
+            if (chunk == null) {
+                return;
+            }
+            ByteBuffer full = chunk;
+            chunk = null;
+            int size = full.position() - SIZE_LINE_BYTES;
+            if (size == 0) {
+                pool.release(full);
+                return;
+            }
+            full.put((byte) '\r').put((byte) '\n');
+            int digits = Math.max(1, (35 - Integer.numberOfLeadingZeros(size)) / 4);
+            int start = SIZE_LINE_BYTES - digits - 2;
+            for (int i = 0; i < digits; i++) {
+                full.put(start + i, (byte) Character.forDigit((size >>> (4 * (digits - 1 - i))) & 0xF, 16));
+            }
+            full.put(SIZE_LINE_BYTES - 2, (byte) '\r').put(SIZE_LINE_BYTES - 1, (byte) '\n');
+            full.limit(full.position()).position(start);
+            sink.accept(full, true);
+        }
+
+        /**
+         * Flushes the last chunk and ends the body.
+         */
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            flush();
+            closed = true;
+            sink.accept(lastChunk(), false);
+        }
+
+        private ByteBuffer newChunk() {
+            return pool.acquire().position(SIZE_LINE_BYTES);
+        }
+
+        private void ensureOpen() throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+        }
+    }
+}
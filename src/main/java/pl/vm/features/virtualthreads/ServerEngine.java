@@ -0,0 +1,18 @@
+package pl.vm.features.virtualthreads;
+
+/**
+ * Start/stop lifecycle common to the HTTP server engines. The listening socket is bound on
+ * construction, so {@link #getPort()} is valid before {@link #start()}.
+ */
+public interface ServerEngine {
+
+    void start();
+
+    void stop();
+
+    /**
+     * Returns the port the server is bound to. When created with port 0 this is the
+     * ephemeral port chosen by the operating system.
+     */
+    int getPort();
+}
@@ -0,0 +1,31 @@
+package pl.vm.features.virtualthreads;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * An HTTP request as seen by a {@link RequestHandler}, independent of the server engine.
+ *
+ * @param method  request method, e.g. {@code GET}
+ * @param target  request target as sent by the client (path plus optional query)
+ * @param headers header values keyed by lower-case name; repeated headers keep the first value
+ * @param body    request body, empty when there is none
+ */
+public record ServerRequest(String method, String target, Map<String, String> headers, byte[] body) {
+
+    public ServerRequest {
+        headers = Map.copyOf(headers);
+    }
+
+    /**
+     * Value of the header {@code name} (case-insensitive), or {@code null}.
+     */
+    public String header(String name) {
+        return headers.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    public String bodyAsString() {
+        return new String(body, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,70 @@
+package pl.vm.features.virtualthreads;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An HTTP response produced by a {@link RequestHandler}. A {@link ResponseBody.Fixed} body is sent
+ * as-is with a {@code Content-Length} equal to its length in bytes; a
+ * {@link ResponseBody.Streamed} one with chunked transfer encoding.
+ *
+ * Responses with a fixed body are immutable and can be shared; see {@link StaticPayload}.
+ */
+public record ServerResponse(int status, String contentType, ResponseBody body) {
+
+    static final String TEXT_PLAIN = "text/plain; charset=utf-8";
+
+    /**
+     * Plain-text response encoded as UTF-8.
+     */
+    public static ServerResponse text(int status, String text) {
+        return new ServerResponse(status, TEXT_PLAIN, ResponseBody.of(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Response with pre-encoded content, wrapped without copying.
+     */
+    public static ServerResponse bytes(int status, String contentType, byte[] body) {
+        return new ServerResponse(status, contentType, ResponseBody.of(body));
+    }
+
+    /**
+     * Response streamed with chunked transfer encoding.
+     */
+    public static ServerResponse streaming(int status, String contentType, ResponseBody.BodyWriter writer) {
+        return new ServerResponse(status, contentType, ResponseBody.streaming(writer));
+    }
+
+    /**
+     * Fixed body decoded as UTF-8.
+     *
+     * @throws IllegalStateException if the body is streamed
+     */
+    public String bodyAsString() {
+        if (body instanceof ResponseBody.Fixed fixed) {
+            return fixed.decode(StandardCharsets.UTF_8);
+        }
+        throw new IllegalStateException("Streamed body cannot be read back");
+    }
+
+    /**
+     * Standard reason phrase for the status line.
+     */
+    static String reasonPhrase(int status) {
+        return switch (status) {
+            case 200 -> "OK";
+            case 201 -> "Created";
+            case 204 -> "No Content";
+            case 400 -> "Bad Request";
+            case 404 -> "Not Found";
+            case 405 -> "Method Not Allowed";
+            case 408 -> "Request Timeout";
+            case 413 -> "Content Too Large";
+            case 431 -> "Request Header Fields Too Large";
+            case 500 -> "Internal Server Error";
+            case 501 -> "Not Implemented";
+            case 503 -> "Service Unavailable";
+            case 504 -> "Gateway Timeout";
+            default -> "Status " + status;
+        };
+    }
+}
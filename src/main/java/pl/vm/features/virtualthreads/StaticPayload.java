@@ -0,0 +1,54 @@
+package pl.vm.features.virtualthreads;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Response content that never changes, encoded once and kept as a private immutable byte array
+ * plus a read-only direct copy of it.
+ *
+ * {@link #response()} returns the same {@link ServerResponse} on every call.
+ * {@link VirtualThreadServer} writes the array straight into the exchange stream, and
+ * {@link NioServer} writes the direct copy with a gathering write, so neither engine encodes or
+ * copies the body per request.
+ */
+public final class StaticPayload {
+
+    private final String contentType;
+    private final ResponseBody.Fixed body;
+    private final ServerResponse ok;
+
+    private StaticPayload(String contentType, byte[] bytes) {
+        this.contentType = contentType;
+        this.body = ResponseBody.cached(bytes);
+        this.ok = new ServerResponse(200, contentType, body);
+    }
+
+    /**
+     * Payload holding a copy of {@code bytes}.
+     */
+    public static StaticPayload of(String contentType, byte[] bytes) {
+        return new StaticPayload(contentType, bytes.clone());
+    }
+
+    /**
+     * Plain-text payload encoded as UTF-8.
+     */
+    public static StaticPayload text(String text) {
+        return new StaticPayload(ServerResponse.TEXT_PLAIN, text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The shared {@code 200} response.
+     */
+    public ServerResponse response() {
+        return ok;
+    }
+
+    public ServerResponse response(int status) {
+        return status == 200 ? ok : new ServerResponse(status, contentType, body);
+    }
+
+    public int length() {
+        return body.length();
+    }
+}
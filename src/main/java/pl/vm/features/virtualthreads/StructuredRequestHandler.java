@@ -0,0 +1,127 @@
+package pl.vm.features.virtualthreads;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * {@link RequestHandler} that runs each request's subtasks under a {@link StructuredTaskScope}
+ * with a per-request deadline.
+ *
+ * The pipeline forks its subtasks (for example retrieval and model processing) through the
+ * {@link Scope} it is given, so they run in parallel on virtual threads and the request takes as
+ * long as the slowest of them rather than their sum. The scope shuts down on the first failure,
+ * cancelling the siblings, and {@link Scope#join()} throws once the deadline passes. A deadline
+ * miss becomes a {@code 504}; a failed subtask propagates to the engine as a {@code 500}. In both
+ * cases every forked subtask has been interrupted and has finished before the response is sent.
+ */
+public class StructuredRequestHandler implements RequestHandler {
+    private static final Logger logger = LoggerFactory.getLogger(StructuredRequestHandler.class);
+
+    private final Duration timeout;
+    private final Pipeline pipeline;
+
+    /**
+     * @param timeout  time budget per request, measured from the start of {@link #handle}
+     * @param pipeline request logic forking its subtasks through the given scope
+     */
+    public StructuredRequestHandler(Duration timeout, Pipeline pipeline) {
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Timeout must be positive: " + timeout);
+        }
+        this.timeout = timeout;
+        this.pipeline = pipeline;
+    }
+
+    @Override
+    public ServerResponse handle(ServerRequest request) throws Exception {
+        Instant deadline = Instant.now().plus(timeout);
+        try (var taskScope = new StructuredTaskScope.ShutdownOnFailure("request", Thread.ofVirtual().factory())) {
+            Scope scope = new Scope(taskScope, deadline);
+            try {
+                return pipeline.handle(request, scope);
+            } catch (TimeoutException e) {
+                logger.warn("Request {} {} missed its {} deadline", request.method(), request.target(), timeout);
+                return ServerResponse.text(504, "Deadline of " + timeout.toMillis() + " ms exceeded");
+            } finally {
+                scope.cancelPending();
+            }
+        }
+    }
+
+    /**
+     * Request logic run inside a structured scope.
+     */
+    @FunctionalInterface
+    public interface Pipeline {
+        ServerResponse handle(ServerRequest request, Scope scope) throws Exception;
+    }
+
+    /**
+     * Forks subtasks of one request. Only the thread running the {@link Pipeline} may use it.
+     */
+    public static final class Scope {
+        private final StructuredTaskScope.ShutdownOnFailure taskScope;
+        private final Instant deadline;
+        private boolean joined = true;
+
+        private Scope(StructuredTaskScope.ShutdownOnFailure taskScope, Instant deadline) {
+            this.taskScope = taskScope;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Starts {@code task} in its own virtual thread. The returned supplier yields the result
+         * after a successful {@link #join()}.
+         */
+        public <T> Supplier<T> fork(Callable<? extends T> task) {
+            joined = false;
+            return taskScope.fork(task);
+        }
+
+        /**
+         * Waits for every forked subtask to finish.
+         *
+         * @throws TimeoutException   if the deadline passes first; the remaining subtasks are cancelled
+         * @throws ExecutionException if any subtask failed; its siblings have been cancelled
+         */
+        public void join() throws InterruptedException, TimeoutException, ExecutionException {
+            try {
+                taskScope.joinUntil(deadline);
+            } finally {
+                joined = true;
+            }
+            taskScope.throwIfFailed();
+        }
+
+        public Instant deadline() {
+            return deadline;
+        }
+
+        /**
+         * Time left until the deadline, never negative; useful as a timeout for downstream calls.
+         */
+        public Duration remaining() {
+            Duration remaining = Duration.between(Instant.now(), deadline);
+            return remaining.isNegative() ? Duration.ZERO : remaining;
+        }
+
+        /**
+         * Interrupts subtasks the pipeline did not join, e.g. because it threw first.
+         */
+        private void cancelPending() throws InterruptedException {
+            taskScope.shutdown();
+            if (!joined) {
+                joined = true;
+                taskScope.join();
+            }
+        }
+    }
+}
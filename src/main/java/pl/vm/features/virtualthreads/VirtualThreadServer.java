@@ -1,80 +1,61 @@
 package pl.vm.features.virtualthreads;
 
+import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpServer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 
 /**
  * A simple web server that demonstrates the use of virtual threads in Java 24.
  * This server uses Java's built-in Simple Web Server with virtual threads.
+ *
+ * Requests are passed to a {@link RequestHandler}; see {@link NioServer} for an engine with the
+ * same handler API built on a selector event loop.
  */
-public class VirtualThreadServer {
+public class VirtualThreadServer implements ServerEngine {
     private static final Logger logger = LoggerFactory.getLogger(VirtualThreadServer.class);
+    static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(2);
+    private static final Duration SIMULATED_IO = Duration.ofMillis(100);
+    private static final StaticPayload HEALTH = StaticPayload.text("OK");
     private final int port;
+    private final RequestHandler handler;
     private HttpServer server;
     private volatile boolean running;
 
     public VirtualThreadServer(int port) throws IOException {
+        this(port, defaultHandler());
+    }
+
+    public VirtualThreadServer(int port, RequestHandler handler) throws IOException {
         this.port = port;
+        this.handler = handler;
         this.server = HttpServer.create(new InetSocketAddress(port), 0);
         this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
     }
 
+    @Override
     public void start() {
         // Add handler for root path
-        server.createContext("/", exchange -> {
-            try {
-                // Simulate some I/O-bound work
-                Thread.sleep(Duration.ofMillis(100));
-                
-                String threadName = Thread.currentThread().getName();
-                boolean isVirtual = Thread.currentThread().isVirtual();
-                
-                logger.info("Handling request in thread: {} (isVirtual: {})", threadName, isVirtual);
-                
-                String response = String.format("Hello from %s thread: %s%nRequest started at: %d",
-                        isVirtual ? "virtual" : "platform",
-                        threadName,
-                        System.currentTimeMillis());
-                
-                // Send response
-                exchange.sendResponseHeaders(200, response.length());
-                try (OutputStream os = exchange.getResponseBody()) {
-                    os.write(response.getBytes());
-                } catch (IOException ex) {
-                    logger.error("Error sending response", ex);
-                    exchange.sendResponseHeaders(500, 0);
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                try {
-                    exchange.sendResponseHeaders(500, 0);
-                } catch (IOException ex) {
-                    logger.error("Error sending error response", ex);
-                }
-                exchange.close();
-            } catch (IOException e) {
-                logger.error("Error handling request", e);
-                try {
-                    exchange.sendResponseHeaders(500, 0);
-                } catch (IOException ex) {
-                    logger.error("Error sending error response", ex);
-                }
-                exchange.close();
-            }
-        });
-        
+        server.createContext("/", this::handle);
+
         server.start();
         running = true;
         logger.info("Server started on port {}", port);
     }
 
+    @Override
     public void stop() {
         if (server != null) {
             server.stop(0);
@@ -82,16 +63,103 @@ public class VirtualThreadServer {
         }
     }
 
+    /**
+     * Returns the port the server is bound to. When created with port 0 this is the
+     * ephemeral port chosen by the operating system.
+     */
+    @Override
     public int getPort() {
-        return port;
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Default handler: a cached payload for {@code /health}, otherwise {@link #hello} under a
+     * {@link StructuredRequestHandler} with {@link #REQUEST_TIMEOUT} per request.
+     */
+    static RequestHandler defaultHandler() {
+        RequestHandler hello = new StructuredRequestHandler(REQUEST_TIMEOUT, VirtualThreadServer::hello);
+        return request -> request.target().equals("/health") ? HEALTH.response() : hello.handle(request);
+    }
+
+    /**
+     * Simulates two independent I/O-bound calls (retrieval and model processing) in parallel,
+     * then reports the thread the request ran on.
+     */
+    static ServerResponse hello(ServerRequest request, StructuredRequestHandler.Scope scope) throws Exception {
+        Supplier<Duration> retrieval = scope.fork(() -> simulateIo(SIMULATED_IO));
+        Supplier<Duration> processing = scope.fork(() -> simulateIo(SIMULATED_IO));
+        scope.join();
+        logger.debug("Retrieval took {}, processing took {}", retrieval.get(), processing.get());
+
+        String threadName = Thread.currentThread().getName();
+        boolean isVirtual = Thread.currentThread().isVirtual();
+
+        logger.info("Handling request in thread: {} (isVirtual: {})", threadName, isVirtual);
+
+        String response = "Hello from " + (isVirtual ? "virtual" : "platform") + " thread: " + threadName
+                + System.lineSeparator() + "Request started at: " + System.currentTimeMillis();
+        return ServerResponse.text(200, response);
+    }
+
+    private static Duration simulateIo(Duration duration) throws InterruptedException {
+        long start = System.nanoTime();
+        Thread.sleep(duration);
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        ServerResponse response;
+        try {
+            response = handler.handle(toRequest(exchange));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response = ServerResponse.text(500, "Interrupted");
+        } catch (Exception e) {
+            logger.error("Error handling request", e);
+            response = ServerResponse.text(500, "Internal Server Error");
+        }
+
+        // Send response
+        try (exchange; OutputStream os = exchange.getResponseBody()) {
+            exchange.getResponseHeaders().set("Content-Type", response.contentType());
+            switch (response.body()) {
+                case ResponseBody.Fixed fixed -> {
+                    exchange.sendResponseHeaders(response.status(), fixed.length() == 0 ? -1 : fixed.length());
+                    fixed.writeTo(os);
+                }
+                case ResponseBody.Streamed streamed -> {
+                    // A length of 0 makes HttpServer use chunked transfer encoding.
+                    exchange.sendResponseHeaders(response.status(), 0);
+                    streamed.writer().writeTo(os);
+                }
+            }
+        } catch (IOException ex) {
+            logger.error("Error sending response", ex);
+        }
+    }
+
+    private static ServerRequest toRequest(HttpExchange exchange) throws IOException {
+        Map<String, String> headers = new HashMap<>();
+        for (Map.Entry<String, List<String>> header : exchange.getRequestHeaders().entrySet()) {
+            if (!header.getValue().isEmpty()) {
+                headers.put(header.getKey().toLowerCase(Locale.ROOT), header.getValue().getFirst());
+            }
+        }
+        byte[] body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = in.readAllBytes();
+        }
+        return new ServerRequest(exchange.getRequestMethod(), exchange.getRequestURI().toString(), headers, body);
     }
 
     public static void main(String[] args) {
         try {
-            VirtualThreadServer server = new VirtualThreadServer(8080);
+            AdmissionController admission = new AdmissionController(new AdmissionController.Config(
+                    1_000, ConcurrencyLimit.vegas(100, 10, 1_000), 200, Duration.ofMillis(250), REQUEST_TIMEOUT));
+            VirtualThreadServer server = new VirtualThreadServer(8080, admission.protect(defaultHandler()));
             server.start();
         } catch (IOException e) {
             System.err.println("Server error: " + e.getMessage());
         }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,112 @@
+package pl.vm.features.gatherers;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+import pl.vm.features.gatherers.BatchMetrics.FlushReason;
+import pl.vm.features.sealed.model.ClaudeModel;
+
+class BatchingGatherersTest {
+    private static final Duration ONE_SECOND = Duration.ofSeconds(1);
+
+    private final BatchMetrics metrics = new BatchMetrics();
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void should_flush_batches_when_item_limit_is_reached() {
+        // given
+        BatchPolicy policy = new BatchPolicy(3, 1_000, ONE_SECOND);
+
+        // when
+        List<List<Integer>> batches = IntStream.range(0, 7).boxed()
+            .gather(BatchingGatherers.microBatch(policy, n -> 1, metrics, clock::get))
+            .toList();
+
+        // then
+        assertEquals(List.of(List.of(0, 1, 2), List.of(3, 4, 5), List.of(6)), batches);
+        BatchMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(3, snapshot.batches());
+        assertEquals(2, snapshot.flushes().get(FlushReason.SIZE));
+        assertEquals(1, snapshot.flushes().get(FlushReason.END_OF_STREAM));
+        assertEquals(7.0 / 9.0, snapshot.itemFillRatio(), 1e-9);
+    }
+
+    @Test
+    void should_flush_batch_before_element_that_would_exceed_token_budget() {
+        // given
+        BatchPolicy policy = new BatchPolicy(10, 10, ONE_SECOND);
+
+        // when
+        List<List<Integer>> batches = Stream.of(4, 4, 4, 6, 20, 1)
+            .gather(BatchingGatherers.microBatch(policy, Integer::intValue, metrics, clock::get))
+            .toList();
+
+        // then
+        assertEquals(List.of(List.of(4, 4), List.of(4, 6), List.of(20), List.of(1)), batches);
+        BatchMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(3, snapshot.flushes().get(FlushReason.TOKENS));
+        assertEquals(39, snapshot.tokens());
+    }
+
+    @Test
+    void should_flush_stale_batch_when_next_element_arrives_after_max_wait() {
+        // given
+        BatchPolicy policy = new BatchPolicy(10, 1_000, Duration.ofMillis(100));
+        Iterator<Long> arrivals = List.of(0L, 50L, 150L, 160L).iterator();
+
+        // when
+        List<List<String>> batches = Stream.of("a", "b", "c", "d")
+            .peek(prompt -> clock.set(Duration.ofMillis(arrivals.next()).toNanos()))
+            .gather(BatchingGatherers.microBatch(policy, prompt -> 1, metrics, clock::get))
+            .toList();
+
+        // then
+        assertEquals(List.of(List.of("a", "b"), List.of("c", "d")), batches);
+        assertEquals(1, metrics.snapshot().flushes().get(FlushReason.TIMEOUT));
+    }
+
+    @Test
+    void should_batch_unbounded_stream_without_waiting_for_its_end() {
+        // given
+        BatchPolicy policy = new BatchPolicy(5, 1_000, ONE_SECOND);
+
+        // when
+        List<List<Integer>> batches = Stream.iterate(0, n -> n + 1)
+            .gather(BatchingGatherers.microBatch(policy, n -> 1, metrics, clock::get))
+            .limit(2)
+            .toList();
+
+        // then
+        assertEquals(List.of(List.of(0, 1, 2, 3, 4), List.of(5, 6, 7, 8, 9)), batches);
+    }
+
+    @Test
+    void should_use_model_max_tokens_as_token_budget() {
+        // given
+        ClaudeModel model = new ClaudeModel("1.0", "haiku", 10, 0.5);
+        List<String> prompts = List.of("x".repeat(16), "x".repeat(16), "x".repeat(16));
+
+        // when
+        List<List<String>> batches = prompts.stream()
+            .gather(BatchingGatherers.forModel(model, 100, ONE_SECOND, metrics))
+            .toList();
+
+        // then
+        assertEquals(List.of(2, 1), batches.stream().map(List::size).toList());
+        assertEquals(12.0 / 20.0, metrics.snapshot().tokenFillRatio(), 1e-9);
+    }
+
+    @Test
+    void should_reject_invalid_policy() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchPolicy(0, 10, ONE_SECOND));
+        assertThrows(IllegalArgumentException.class, () -> new BatchPolicy(1, 10, Duration.ZERO));
+    }
+}
@@ -0,0 +1,108 @@
+package pl.vm.features.gatherers;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class ChunkingGatherersTest {
+
+    @Test
+    void should_group_elements_in_pairs_with_trailing_single_element() {
+        // given
+        List<String> words = List.of("apple", "banana", "cherry", "date", "elderberry");
+
+        // when
+        List<List<String>> pairs = words.stream()
+            .gather(ChunkingGatherers.<String>pairs())
+            .toList();
+
+        // then
+        assertEquals(List.of(
+            List.of("apple", "banana"),
+            List.of("cherry", "date"),
+            List.of("elderberry")), pairs);
+    }
+
+    @Test
+    void should_produce_same_pairs_for_parallel_and_sequential_streams() {
+        // given
+        List<Integer> numbers = IntStream.range(0, 100_001).boxed().toList();
+
+        // when
+        List<List<Integer>> sequential = numbers.stream()
+            .gather(ChunkingGatherers.<Integer>pairs())
+            .toList();
+        List<List<Integer>> parallel = numbers.parallelStream()
+            .gather(ChunkingGatherers.<Integer>pairs())
+            .toList();
+
+        // then
+        assertEquals(50_001, parallel.size());
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    void should_produce_same_chunks_for_parallel_and_sequential_streams_for_any_size() {
+        // given
+        List<Integer> numbers = IntStream.range(0, 10_007).boxed().toList();
+
+        for (int size : new int[]{1, 3, 7, 16, 1000, 20_000}) {
+            // when
+            List<List<Integer>> sequential = numbers.stream()
+                .gather(ChunkingGatherers.<Integer>fixedSize(size))
+                .toList();
+            List<List<Integer>> parallel = numbers.parallelStream()
+                .gather(ChunkingGatherers.<Integer>fixedSize(size))
+                .toList();
+
+            // then
+            assertEquals(sequential, parallel, "chunk size " + size);
+            assertEquals(numbers, parallel.stream().flatMap(List::stream).toList());
+        }
+    }
+
+    @Test
+    void should_emit_nothing_for_empty_stream() {
+        // when
+        List<List<String>> chunks = List.<String>of().parallelStream()
+            .gather(ChunkingGatherers.<String>fixedSize(3))
+            .toList();
+
+        // then
+        assertTrue(chunks.isEmpty());
+    }
+
+    @Test
+    void should_stop_emitting_when_downstream_is_short_circuited() {
+        // when
+        List<List<Integer>> chunks = IntStream.range(0, 100).boxed()
+            .gather(ChunkingGatherers.<Integer>fixedSize(10))
+            .limit(2)
+            .toList();
+
+        // then
+        assertEquals(List.of(
+            IntStream.range(0, 10).boxed().toList(),
+            IntStream.range(10, 20).boxed().toList()), chunks);
+    }
+
+    @Test
+    void should_return_read_only_chunks() {
+        // when
+        List<List<String>> chunks = List.of("A", "B").stream()
+            .gather(ChunkingGatherers.<String>pairs())
+            .toList();
+
+        // then
+        assertThrows(UnsupportedOperationException.class, () -> chunks.get(0).set(0, "C"));
+    }
+
+    @Test
+    void should_reject_non_positive_chunk_size() {
+        assertThrows(IllegalArgumentException.class, () -> ChunkingGatherers.fixedSize(0));
+    }
+}
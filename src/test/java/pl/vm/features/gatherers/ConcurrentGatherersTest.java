@@ -0,0 +1,184 @@
+package pl.vm.features.gatherers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import pl.vm.features.gatherers.ConcurrentGatherers.ConcurrentMappingException;
+import pl.vm.features.gatherers.ConcurrentGatherers.OutputOrder;
+
+class ConcurrentGatherersTest {
+
+    @Test
+    void should_emit_results_in_encounter_order() {
+        // given
+        List<Integer> numbers = IntStream.range(0, 50).boxed().toList();
+
+        // when
+        List<Integer> result = numbers.stream()
+            .gather(ConcurrentGatherers.mapConcurrent(8, n -> {
+                sleep((50 - n) % 7);
+                return n * 2;
+            }))
+            .toList();
+
+        // then
+        assertEquals(numbers.stream().map(n -> n * 2).toList(), result);
+    }
+
+    @Test
+    void should_emit_all_results_in_completion_order() {
+        // given
+        List<Integer> numbers = IntStream.range(0, 50).boxed().toList();
+
+        // when
+        List<Integer> result = numbers.stream()
+            .gather(ConcurrentGatherers.mapConcurrent(8, OutputOrder.COMPLETION, null, n -> {
+                sleep((50 - n) % 7);
+                return n;
+            }))
+            .toList();
+
+        // then
+        assertEquals(numbers, result.stream().sorted().toList());
+    }
+
+    @Test
+    void should_never_run_more_mappings_than_max_concurrency() {
+        // given
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        // when
+        long count = IntStream.range(0, 100).boxed()
+            .gather(ConcurrentGatherers.mapConcurrent(5, n -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(2);
+                running.decrementAndGet();
+                return n;
+            }))
+            .count();
+
+        // then
+        assertEquals(100, count);
+        assertTrue(maxRunning.get() <= 5, "max running was " + maxRunning.get());
+    }
+
+    @Test
+    void should_run_on_virtual_threads_and_overlap_slow_calls() {
+        // given
+        List<Integer> numbers = IntStream.range(0, 20).boxed().toList();
+
+        // when
+        long start = System.nanoTime();
+        List<Boolean> virtual = numbers.stream()
+            .gather(ConcurrentGatherers.mapConcurrent(20, n -> {
+                sleep(100);
+                return Thread.currentThread().isVirtual();
+            }))
+            .toList();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // then
+        assertTrue(virtual.stream().allMatch(Boolean::booleanValue));
+        assertTrue(elapsed.compareTo(Duration.ofMillis(1_000)) < 0, "took " + elapsed);
+    }
+
+    @Test
+    void should_fail_when_mapping_exceeds_timeout() {
+        // given
+        Duration timeout = Duration.ofMillis(50);
+
+        // when
+        ConcurrentMappingException exception = assertThrows(ConcurrentMappingException.class, () ->
+            IntStream.range(0, 4).boxed()
+                .gather(ConcurrentGatherers.mapConcurrent(2, OutputOrder.ENCOUNTER, timeout, n -> {
+                    sleep(n == 1 ? 5_000 : 1);
+                    return n;
+                }))
+                .toList());
+
+        // then
+        assertTrue(exception.getMessage().contains("timed out"));
+    }
+
+    @Test
+    void should_fail_when_mapping_completes_after_timeout_before_being_awaited() {
+        for (OutputOrder order : OutputOrder.values()) {
+            // given
+            Duration timeout = Duration.ofMillis(50);
+
+            // when
+            ConcurrentMappingException exception = assertThrows(ConcurrentMappingException.class, () ->
+                IntStream.range(0, 2).boxed()
+                    .peek(n -> sleep(n == 1 ? 300 : 0))
+                    .gather(ConcurrentGatherers.mapConcurrent(4, order, timeout, n -> {
+                        sleep(n == 0 ? 150 : 1);
+                        return n;
+                    }))
+                    .toList());
+
+            // then
+            assertTrue(exception.getMessage().contains("timed out"), order.name());
+        }
+    }
+
+    @Test
+    void should_fail_at_next_element_when_head_is_overdue_and_window_is_not_full() {
+        // given
+        Duration timeout = Duration.ofMillis(50);
+        long start = System.nanoTime();
+
+        // when
+        assertThrows(ConcurrentMappingException.class, () ->
+            IntStream.range(0, 6).boxed()
+                .peek(n -> sleep(n == 0 ? 0 : 100))
+                .gather(ConcurrentGatherers.mapConcurrent(8, OutputOrder.ENCOUNTER, timeout, n -> {
+                    sleep(n == 0 ? 5_000 : 1);
+                    return n;
+                }))
+                .toList());
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // then
+        assertTrue(elapsed.compareTo(Duration.ofMillis(350)) < 0, "took " + elapsed);
+    }
+
+    @Test
+    void should_fail_with_cause_when_mapping_throws() {
+        // when
+        ConcurrentMappingException exception = assertThrows(ConcurrentMappingException.class, () ->
+            IntStream.range(0, 10).boxed()
+                .gather(ConcurrentGatherers.mapConcurrent(4, OutputOrder.COMPLETION, null, n -> {
+                    if (n == 3) {
+                        throw new IllegalStateException("boom");
+                    }
+                    return n;
+                }))
+                .toList());
+
+        // then
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+    }
+
+    @Test
+    void should_reject_non_positive_concurrency() {
+        assertThrows(IllegalArgumentException.class, () -> ConcurrentGatherers.mapConcurrent(0, n -> n));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package pl.vm.features.gatherers;
+
+import java.util.List;
+import java.util.stream.Gatherers;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+class GathererPipelineTest {
+
+    @Test
+    void should_apply_map_and_filter_stages_in_order() {
+        // given
+        List<Integer> numbers = IntStream.range(0, 20).boxed().toList();
+
+        // when
+        List<String> result = numbers.stream()
+            .gather(GathererPipeline.<Integer>of()
+                .map(n -> n * 3)
+                .filter(n -> n % 2 == 0)
+                .map(n -> "#" + n)
+                .compile())
+            .toList();
+
+        // then
+        assertEquals(numbers.stream().map(n -> n * 3).filter(n -> n % 2 == 0).map(n -> "#" + n).toList(), result);
+    }
+
+    @Test
+    void should_match_and_then_chain_of_pair_and_filter_gatherers() {
+        // given
+        List<String> words = List.of("apple", "avocado", "banana", "cherry", "date", "dragonfruit", "elderberry");
+
+        // when
+        List<List<String>> fused = words.stream()
+            .gather(GathererPipeline.<String>of()
+                .windowFixed(2)
+                .filter(pair -> pair.size() == 2 && pair.get(0).charAt(0) == pair.get(1).charAt(0))
+                .compile())
+            .toList();
+        List<List<String>> chained = words.stream()
+            .gather(GatherersDemo.groupByPairs().andThen(GatherersDemo.sameFirstLetterFilter()))
+            .toList();
+
+        // then
+        assertEquals(List.of(List.of("apple", "avocado"), List.of("date", "dragonfruit")), fused);
+        assertEquals(chained, fused);
+    }
+
+    @Test
+    void should_emit_independent_windows_including_partial_last_window() {
+        // when
+        List<List<Integer>> windows = IntStream.range(0, 8).boxed()
+            .gather(GathererPipeline.<Integer>of().windowFixed(3).compile())
+            .toList();
+
+        // then
+        assertEquals(List.of(List.of(0, 1, 2), List.of(3, 4, 5), List.of(6, 7)), windows);
+    }
+
+    @Test
+    void should_flush_nested_windows_like_chained_window_gatherers() {
+        // given
+        List<Integer> numbers = IntStream.range(0, 11).boxed().toList();
+
+        // when
+        List<List<List<Integer>>> fused = numbers.stream()
+            .gather(GathererPipeline.<Integer>of().windowFixed(2).windowFixed(2).compile())
+            .toList();
+        List<List<List<Integer>>> chained = numbers.stream()
+            .gather(Gatherers.<Integer>windowFixed(2).andThen(Gatherers.windowFixed(2)))
+            .toList();
+
+        // then
+        assertEquals(chained, fused);
+    }
+
+    @Test
+    void should_produce_same_result_for_parallel_stateless_pipeline() {
+        // given
+        List<Integer> numbers = IntStream.range(0, 10_000).boxed().toList();
+        GathererPipeline<Integer, Integer> pipeline = GathererPipeline.<Integer>of()
+            .map(n -> n + 1)
+            .filter(n -> n % 3 != 0)
+            .map(n -> n * 2);
+
+        // when
+        List<Integer> sequential = numbers.stream().gather(pipeline.compile()).toList();
+        List<Integer> parallel = numbers.parallelStream().gather(pipeline.compile()).toList();
+
+        // then
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    void should_stop_when_downstream_is_short_circuited() {
+        // when
+        List<List<Integer>> windows = IntStream.iterate(0, n -> n + 1).boxed()
+            .limit(1_000)
+            .gather(GathererPipeline.<Integer>of().windowFixed(4).compile())
+            .limit(2)
+            .toList();
+
+        // then
+        assertEquals(List.of(List.of(0, 1, 2, 3), List.of(4, 5, 6, 7)), windows);
+    }
+
+    @Test
+    void should_reject_non_positive_window_size() {
+        assertThrows(IllegalArgumentException.class, () -> GathererPipeline.<Integer>of().windowFixed(0));
+    }
+}
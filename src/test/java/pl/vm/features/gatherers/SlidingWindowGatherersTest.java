@@ -0,0 +1,111 @@
+package pl.vm.features.gatherers;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Gatherers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+class SlidingWindowGatherersTest {
+    private static final double EPSILON = 1e-9;
+
+    private final List<Integer> samples = new SplittableRandom(11).ints(5_000, -1_000, 1_000).boxed().toList();
+
+    @Test
+    void should_emit_sliding_sums_like_window_sliding() {
+        for (int window : new int[]{1, 3, 100}) {
+            // when
+            List<Long> sums = samples.stream()
+                .gather(SlidingWindowGatherers.slidingSumOfLong(window, Integer::longValue))
+                .toList();
+            List<Double> doubleSums = samples.stream()
+                .gather(SlidingWindowGatherers.slidingSum(window, Integer::doubleValue))
+                .toList();
+
+            // then
+            List<Long> expected = samples.stream()
+                .gather(Gatherers.<Integer>windowSliding(window))
+                .map(w -> w.stream().mapToLong(Integer::longValue).sum())
+                .toList();
+            assertEquals(expected, sums);
+            assertEquals(expected.size(), doubleSums.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i), doubleSums.get(i), EPSILON);
+            }
+        }
+    }
+
+    @Test
+    void should_emit_sliding_means() {
+        // when
+        List<Double> means = List.of(1, 2, 3, 4, 5).stream()
+            .gather(SlidingWindowGatherers.slidingMean(2, Integer::doubleValue))
+            .toList();
+
+        // then
+        assertEquals(List.of(1.5, 2.5, 3.5, 4.5), means);
+    }
+
+    @Test
+    void should_emit_sliding_min_and_max_like_window_sliding() {
+        for (int window : new int[]{1, 2, 7, 500}) {
+            // when
+            List<Double> minimums = samples.stream()
+                .gather(SlidingWindowGatherers.slidingMin(window, Integer::doubleValue))
+                .toList();
+            List<Double> maximums = samples.stream()
+                .gather(SlidingWindowGatherers.slidingMax(window, Integer::doubleValue))
+                .toList();
+
+            // then
+            List<List<Integer>> windows = samples.stream().gather(Gatherers.<Integer>windowSliding(window)).toList();
+            assertEquals(windows.stream().map(w -> (double) w.stream().mapToInt(i -> i).min().orElseThrow()).toList(),
+                minimums, "window " + window);
+            assertEquals(windows.stream().map(w -> (double) w.stream().mapToInt(i -> i).max().orElseThrow()).toList(),
+                maximums, "window " + window);
+        }
+    }
+
+    @Test
+    void should_emit_sliding_distinct_counts_like_window_sliding() {
+        // given
+        List<Integer> keys = samples.stream().map(n -> Math.floorMod(n, 13)).toList();
+
+        // when
+        List<Integer> counts = keys.stream()
+            .gather(SlidingWindowGatherers.slidingCountDistinct(10, n -> n))
+            .toList();
+
+        // then
+        List<Integer> expected = keys.stream()
+            .gather(Gatherers.<Integer>windowSliding(10))
+            .map(HashSet::new)
+            .map(Collection::size)
+            .toList();
+        assertEquals(expected, counts);
+    }
+
+    @Test
+    void should_emit_single_result_when_stream_is_shorter_than_window() {
+        // when
+        List<Double> maximums = List.of(3, 9, 4).stream()
+            .gather(SlidingWindowGatherers.slidingMax(10, Integer::doubleValue))
+            .toList();
+        List<Double> means = List.<Integer>of().stream()
+            .gather(SlidingWindowGatherers.slidingMean(10, Integer::doubleValue))
+            .toList();
+
+        // then
+        assertEquals(List.of(9.0), maximums);
+        assertEquals(List.of(), means);
+    }
+
+    @Test
+    void should_reject_non_positive_window_size() {
+        assertThrows(IllegalArgumentException.class, () -> SlidingWindowGatherers.slidingSum(0, Integer::doubleValue));
+    }
+}
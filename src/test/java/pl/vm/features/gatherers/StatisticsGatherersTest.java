@@ -0,0 +1,188 @@
+package pl.vm.features.gatherers;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import pl.vm.features.gatherers.StatisticsGatherers.Statistic;
+import pl.vm.features.gatherers.StatisticsGatherers.Summary;
+
+class StatisticsGatherersTest {
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    void should_emit_running_mean_for_ints() {
+        // given
+        List<Integer> numbers = List.of(2, 4, 6);
+
+        // when
+        List<Double> means = numbers.stream()
+            .gather(StatisticsGatherers.runningOfInt(Statistic.MEAN, Integer::intValue))
+            .toList();
+
+        // then
+        assertEquals(List.of(2.0, 3.0, 4.0), means);
+    }
+
+    @Test
+    void should_emit_running_variance_min_and_max_for_longs() {
+        // given
+        List<Long> samples = List.of(5L, 1L, 9L);
+
+        // when
+        List<Double> variances = samples.stream()
+            .gather(StatisticsGatherers.runningOfLong(Statistic.VARIANCE, Long::longValue))
+            .toList();
+        List<Double> minimums = samples.stream()
+            .gather(StatisticsGatherers.runningOfLong(Statistic.MIN, Long::longValue))
+            .toList();
+        List<Double> maximums = samples.stream()
+            .gather(StatisticsGatherers.runningOfLong(Statistic.MAX, Long::longValue))
+            .toList();
+
+        // then
+        assertEquals(0.0, variances.get(0), EPSILON);
+        assertEquals(4.0, variances.get(1), EPSILON);
+        assertEquals(32.0 / 3.0, variances.get(2), EPSILON);
+        assertEquals(List.of(5.0, 1.0, 1.0), minimums);
+        assertEquals(List.of(5.0, 5.0, 9.0), maximums);
+    }
+
+    @Test
+    void should_emit_same_running_values_for_parallel_and_sequential_streams() {
+        // given
+        List<Integer> numbers = IntStream.range(0, 10_000).boxed().toList();
+
+        // when
+        List<Double> sequential = numbers.stream()
+            .gather(StatisticsGatherers.runningOfInt(Statistic.MEAN, Integer::intValue))
+            .toList();
+        List<Double> parallel = numbers.parallelStream()
+            .gather(StatisticsGatherers.runningOfInt(Statistic.MEAN, Integer::intValue))
+            .toList();
+
+        // then
+        assertEquals(sequential, parallel);
+        assertEquals(4999.5, parallel.getLast(), EPSILON);
+    }
+
+    @Test
+    void should_emit_running_ewma_seeded_with_first_value() {
+        // given
+        List<Double> samples = List.of(10.0, 20.0, 30.0);
+
+        // when
+        List<Double> averages = samples.stream()
+            .gather(StatisticsGatherers.runningEwma(0.5, Double::doubleValue))
+            .toList();
+
+        // then
+        assertEquals(List.of(10.0, 15.0, 22.5), averages);
+    }
+
+    @Test
+    void should_summarize_parallel_stream_same_as_sequential() {
+        // given
+        List<Double> samples = randomSamples(100_003);
+
+        // when
+        Summary sequential = samples.stream()
+            .gather(StatisticsGatherers.summarize(Double::doubleValue))
+            .findFirst().orElseThrow();
+        Summary parallel = samples.parallelStream()
+            .gather(StatisticsGatherers.summarize(Double::doubleValue))
+            .findFirst().orElseThrow();
+
+        // then
+        assertEquals(sequential.count(), parallel.count());
+        assertEquals(sequential.mean(), parallel.mean(), EPSILON);
+        assertEquals(sequential.variance(), parallel.variance(), 1e-6);
+        assertEquals(sequential.min(), parallel.min());
+        assertEquals(sequential.max(), parallel.max());
+    }
+
+    @Test
+    void should_merge_ewma_of_parallel_splits_exactly() {
+        // given
+        List<Double> samples = randomSamples(1_001);
+        List<Double> running = samples.stream()
+            .gather(StatisticsGatherers.runningEwma(0.1, Double::doubleValue))
+            .toList();
+
+        // when
+        double parallel = samples.parallelStream()
+            .gather(StatisticsGatherers.ewma(0.1, Double::doubleValue))
+            .findFirst().orElseThrow();
+
+        // then
+        assertEquals(running.getLast(), parallel, EPSILON);
+    }
+
+    @Test
+    void should_report_percentiles_within_relative_accuracy() {
+        // given
+        List<Integer> latencies = IntStream.rangeClosed(1, 10_000).boxed().toList();
+
+        // when
+        double[] percentiles = latencies.parallelStream()
+            .gather(StatisticsGatherers.percentilesOfInt(Integer::intValue, 0, 50, 99, 100))
+            .findFirst().orElseThrow();
+
+        // then
+        assertEquals(1.0, percentiles[0], 1.0 * StatisticsGatherers.PERCENTILE_RELATIVE_ACCURACY);
+        assertEquals(5000.0, percentiles[1], 5000.0 * StatisticsGatherers.PERCENTILE_RELATIVE_ACCURACY);
+        assertEquals(9900.0, percentiles[2], 9900.0 * StatisticsGatherers.PERCENTILE_RELATIVE_ACCURACY);
+        assertEquals(10_000.0, percentiles[3], EPSILON);
+    }
+
+    @Test
+    void should_report_percentiles_of_negative_and_zero_values() {
+        // given
+        List<Double> samples = List.of(-100.0, -10.0, 0.0, 10.0, 100.0);
+
+        // when
+        List<Double> medians = samples.stream()
+            .gather(StatisticsGatherers.runningPercentile(50, Double::doubleValue))
+            .toList();
+
+        // then
+        assertEquals(-100.0, medians.get(0), EPSILON);
+        assertEquals(-100.0, medians.get(1), 1.0);
+        assertEquals(-10.0, medians.get(2), 0.1);
+        assertEquals(-10.0, medians.get(3), 0.1);
+        assertEquals(0.0, medians.get(4), EPSILON);
+    }
+
+    @Test
+    void should_emit_empty_summary_for_empty_stream() {
+        // when
+        List<Summary> summaries = List.<Integer>of().stream()
+            .gather(StatisticsGatherers.summarizeInt(Integer::intValue))
+            .toList();
+        List<double[]> percentiles = List.<Integer>of().stream()
+            .gather(StatisticsGatherers.percentilesOfInt(Integer::intValue, 50))
+            .toList();
+
+        // then
+        assertEquals(0, summaries.getFirst().count());
+        assertTrue(Double.isNaN(summaries.getFirst().mean()));
+        assertArrayEquals(new double[]{Double.NaN}, percentiles.getFirst());
+    }
+
+    @Test
+    void should_reject_invalid_parameters() {
+        assertThrows(IllegalArgumentException.class, () -> StatisticsGatherers.runningEwma(0.0, Double::doubleValue));
+        assertThrows(IllegalArgumentException.class, () -> StatisticsGatherers.percentiles(Double::doubleValue, 101));
+    }
+
+    private static List<Double> randomSamples(int count) {
+        SplittableRandom random = new SplittableRandom(7);
+        return random.doubles(count, -500.0, 1500.0).boxed().toList();
+    }
+}
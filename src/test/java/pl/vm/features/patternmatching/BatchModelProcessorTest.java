@@ -0,0 +1,103 @@
+package pl.vm.features.patternmatching;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import pl.vm.features.sealed.model.ChatGPTModel;
+import pl.vm.features.sealed.model.ClaudeModel;
+import pl.vm.features.sealed.model.DeepSeekModel;
+import pl.vm.features.sealed.model.GeminiModel;
+import pl.vm.features.sealed.model.LLMModel;
+
+/**
+ * Test class for BatchModelProcessor.
+ */
+class BatchModelProcessorTest {
+
+    private final ModelProcessor reference = new ModelProcessor();
+
+    @Test
+    void test_processAll_keeps_input_order_across_subtypes() {
+        // given
+        BatchModelProcessor processor = new BatchModelProcessor();
+        List<LLMModel> models = Arrays.asList(
+            new ClaudeModel("1.0", "opus", 2048, 0.7),
+            new ChatGPTModel("1.0", "gpt-4", 2048, 0.7),
+            null,
+            new GeminiModel("1.0", "pro", 2048, 0.7),
+            new ChatGPTModel("1.0", "gpt-3.5-turbo", 2048, 0.7),
+            new DeepSeekModel("1.0", "coder", 2048, 0.7));
+
+        // when
+        List<String> results = processor.processAll(models);
+
+        // then
+        assertEquals(List.of(
+            "Processing Claude model with variant: opus",
+            "Processing ChatGPT model with variant: gpt-4",
+            "Unknown model type",
+            "Processing Gemini model with size: pro",
+            "Processing ChatGPT model with variant: gpt-3.5-turbo",
+            "Processing DeepSeek model with variant: coder"), results);
+    }
+
+    @Test
+    void test_parallel_batch_matches_model_processor_for_every_operation() {
+        // given
+        List<LLMModel> models = randomModels(3 * BatchModelProcessor.SLICE_SIZE + 17);
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            BatchModelProcessor processor = new BatchModelProcessor(pool);
+
+            // when
+            List<String> processed = processor.processAll(models);
+            List<String> conditions = processor.processAllWithConditions(models);
+            List<String> capabilities = processor.getAllCapabilities(models);
+
+            // then
+            assertEquals(models.size(), processed.size());
+            for (int i = 0; i < models.size(); i++) {
+                LLMModel model = models.get(i);
+                assertEquals(reference.processModel(model), processed.get(i));
+                assertEquals(reference.processModelWithConditions(model), conditions.get(i));
+                assertEquals(reference.getModelCapabilities(model), capabilities.get(i));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void test_processAll_with_empty_collection() {
+        // given
+        BatchModelProcessor processor = new BatchModelProcessor(ForkJoinPool.commonPool());
+
+        // when
+        List<String> results = processor.processAll(List.of());
+
+        // then
+        assertTrue(results.isEmpty());
+    }
+
+    private static List<LLMModel> randomModels(int count) {
+        Random random = new Random(42);
+        List<LLMModel> models = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            models.add(switch (random.nextInt(4)) {
+                case 0 -> new ChatGPTModel("1.0", random.nextBoolean() ? "gpt-4" : "gpt-3.5-turbo", 2048, 0.7);
+                case 1 -> new GeminiModel("1.0", random.nextBoolean() ? "pro" : "ultra", 2048, 0.7);
+                case 2 -> new ClaudeModel("1.0", random.nextBoolean() ? "opus" : "sonnet", 2048, 0.7);
+                default -> new DeepSeekModel("1.0", random.nextBoolean() ? "coder" : "chat", 2048, 0.7);
+            });
+        }
+        return models;
+    }
+}
@@ -0,0 +1,107 @@
+package pl.vm.features.patternmatching;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import pl.vm.features.sealed.model.ChatGPTModel;
+import pl.vm.features.sealed.model.ClaudeModel;
+import pl.vm.features.sealed.model.GeminiModel;
+import pl.vm.features.sealed.model.LLMModel;
+
+/**
+ * Test class for CachingModelProcessor.
+ */
+class CachingModelProcessorTest {
+
+    private final ModelProcessor reference = new ModelProcessor();
+
+    @Test
+    void test_results_match_model_processor_and_repeated_lookups_hit_cache() {
+        // given
+        CachingModelProcessor processor = new CachingModelProcessor();
+        ClaudeModel first = new ClaudeModel("1.0", "opus", 2048, 0.7);
+        ClaudeModel second = new ClaudeModel("2.0", "opus", 8192, 0.1);
+
+        // when
+        String firstCapabilities = processor.getModelCapabilities(first);
+        String secondCapabilities = processor.getModelCapabilities(second);
+        String conditions = processor.processModelWithConditions(second);
+
+        // then
+        assertEquals(reference.getModelCapabilities(first), firstCapabilities);
+        assertEquals(reference.getModelCapabilities(second), secondCapabilities);
+        assertEquals(reference.processModelWithConditions(second), conditions);
+        CachingModelProcessor.Stats stats = processor.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(2, stats.misses());
+        assertEquals(2, stats.size());
+    }
+
+    @Test
+    void test_cache_is_bounded_and_counts_evictions() {
+        // given
+        CachingModelProcessor processor = new CachingModelProcessor(new ModelProcessor(), 4);
+
+        // when
+        for (int i = 0; i < 20; i++) {
+            processor.processModel(new GeminiModel("1.0", "size-" + i, 2048, 0.7));
+        }
+
+        // then
+        CachingModelProcessor.Stats stats = processor.stats();
+        assertEquals(4, stats.size());
+        assertEquals(16, stats.evictions());
+    }
+
+    @Test
+    void test_recently_used_entries_survive_eviction() {
+        // given
+        CachingModelProcessor processor = new CachingModelProcessor(new ModelProcessor(), 2);
+        ChatGPTModel hot = new ChatGPTModel("1.0", "gpt-4", 2048, 0.7);
+        processor.processModel(hot);
+        processor.processModel(new ChatGPTModel("1.0", "cold-1", 2048, 0.7));
+
+        // when
+        processor.processModel(hot);
+        processor.processModel(new ChatGPTModel("1.0", "cold-2", 2048, 0.7));
+        processor.processModel(hot);
+
+        // then
+        assertEquals(2, processor.stats().hits());
+    }
+
+    @Test
+    void test_shared_instance_is_consistent_across_virtual_threads() throws Exception {
+        // given
+        CachingModelProcessor processor = new CachingModelProcessor(new ModelProcessor(), 8);
+        List<LLMModel> models = List.of(
+            new ChatGPTModel("1.0", "gpt-4", 2048, 0.7),
+            new GeminiModel("1.0", "ultra", 2048, 0.7),
+            new ClaudeModel("1.0", "sonnet", 2048, 0.7));
+
+        // when
+        List<Future<Boolean>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 1_000; i++) {
+                LLMModel model = models.get(i % models.size());
+                results.add(executor.submit(() ->
+                    processor.getModelCapabilities(model).equals(reference.getModelCapabilities(model))));
+            }
+        }
+
+        // then
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get());
+        }
+        CachingModelProcessor.Stats stats = processor.stats();
+        assertEquals(1_000, stats.hits() + stats.misses());
+        assertEquals(3, stats.size());
+    }
+}
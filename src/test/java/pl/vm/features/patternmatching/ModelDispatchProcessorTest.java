@@ -0,0 +1,75 @@
+package pl.vm.features.patternmatching;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import org.junit.jupiter.api.Test;
+
+import pl.vm.features.sealed.model.ChatGPTModel;
+import pl.vm.features.sealed.model.ClaudeModel;
+import pl.vm.features.sealed.model.DeepSeekModel;
+import pl.vm.features.sealed.model.GeminiModel;
+import pl.vm.features.sealed.model.LLMModel;
+
+/**
+ * Test class for ModelDispatchProcessor checking it matches ModelProcessor for every model type and variant.
+ */
+class ModelDispatchProcessorTest {
+
+    private final ModelProcessor reference = new ModelProcessor();
+    private final ModelDispatchProcessor processor = new ModelDispatchProcessor();
+
+    @Test
+    void test_all_methods_match_model_processor_for_known_and_unknown_variants() {
+        // given
+        List<LLMModel> models = allModels();
+
+        for (LLMModel model : models) {
+            // when / then
+            assertEquals(reference.processModel(model), processor.processModel(model));
+            assertEquals(reference.processModelWithConditions(model), processor.processModelWithConditions(model));
+            assertEquals(reference.getModelCapabilities(model), processor.getModelCapabilities(model));
+        }
+    }
+
+    @Test
+    void test_null_model_matches_model_processor() {
+        assertEquals(reference.processModel(null), processor.processModel(null));
+        assertEquals(reference.processModelWithConditions(null), processor.processModelWithConditions(null));
+        assertEquals(reference.getModelCapabilities(null), processor.getModelCapabilities(null));
+    }
+
+    @Test
+    void test_processModel_returns_shared_instance_for_known_variant() {
+        // given
+        ClaudeModel first = new ClaudeModel("1.0", "opus", 2048, 0.7);
+        ClaudeModel second = new ClaudeModel("2.0", new String("opus"), 4096, 0.2);
+
+        // when
+        String firstResult = processor.processModel(first);
+        String secondResult = processor.processModel(second);
+
+        // then
+        assertEquals("Processing Claude model with variant: opus", firstResult);
+        assertSame(firstResult, secondResult);
+    }
+
+    private static List<LLMModel> allModels() {
+        List<LLMModel> models = new ArrayList<>();
+        for (String variant : List.of("gpt-4", "gpt-3.5-turbo", "gpt-5")) {
+            models.add(new ChatGPTModel("1.0", variant, 2048, 0.7));
+        }
+        for (String size : List.of("pro", "ultra", "nano")) {
+            models.add(new GeminiModel("1.0", size, 2048, 0.7));
+        }
+        for (String variant : List.of("opus", "sonnet", "haiku")) {
+            models.add(new ClaudeModel("1.0", variant, 2048, 0.7));
+        }
+        for (String variant : List.of("coder", "chat", "math")) {
+            models.add(new DeepSeekModel("1.0", variant, 2048, 0.7));
+        }
+        return models;
+    }
+}
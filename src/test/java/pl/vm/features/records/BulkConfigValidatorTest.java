@@ -0,0 +1,87 @@
+package pl.vm.features.records;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import pl.vm.features.records.BulkConfigValidator.Report;
+import pl.vm.features.records.BulkConfigValidator.Rule;
+
+/**
+ * Test class for BulkConfigValidator.
+ */
+class BulkConfigValidatorTest {
+
+    private final ModelConfigProcessor processor = new ModelConfigProcessor();
+
+    private final List<ModelConfig> configs = List.of(
+        ModelConfig.createDefault(),
+        new ModelConfig("no-tokens", "1.0", 0, 0.5, false, 30),
+        new ModelConfig("hot", "1.0", 2048, 1.5, false, 30),
+        new ModelConfig("broken", "1.0", -1, -0.1, false, 0),
+        ModelConfig.createCodeGenConfig());
+
+    @Test
+    void test_validate_reports_every_broken_rule_per_record() {
+        // when
+        Report report = BulkConfigValidator.validate(configs);
+
+        // then
+        assertTrue(report.isValid(0));
+        assertEquals(Rule.TOKENS_POSITIVE.bit(), report.mask(1));
+        assertEquals(Set.of(Rule.TEMPERATURE_RANGE), report.violations(2));
+        assertEquals(Set.of(Rule.TOKENS_POSITIVE, Rule.TEMPERATURE_RANGE, Rule.TIMEOUT_POSITIVE),
+            report.violations(3));
+        assertFalse(report.violates(4, Rule.TIMEOUT_POSITIVE));
+    }
+
+    @Test
+    void test_validate_counts_failures_per_rule() {
+        // when
+        Report report = BulkConfigValidator.validate(configs);
+
+        // then
+        assertEquals(2, report.failures(Rule.TOKENS_POSITIVE));
+        assertEquals(2, report.failures(Rule.TEMPERATURE_RANGE));
+        assertEquals(1, report.failures(Rule.TIMEOUT_POSITIVE));
+        assertEquals(2, report.validCount());
+        assertEquals(3, report.invalidCount());
+    }
+
+    @Test
+    void test_first_message_matches_validateConfig() {
+        // when
+        Report report = BulkConfigValidator.validate(configs);
+
+        // then
+        for (int i = 0; i < configs.size(); i++) {
+            String expected = processor.validateConfig(configs.get(i));
+            if (report.isValid(i)) {
+                assertTrue(expected.startsWith("Valid configuration"));
+                assertTrue(report.messages(i).isEmpty());
+            } else {
+                assertEquals(expected, report.messages(i).get(0));
+            }
+        }
+    }
+
+    @Test
+    void test_validate_columnar_store_matches_list() {
+        // given
+        ColumnarConfigStore store = ColumnarConfigStore.of(configs);
+
+        // when
+        Report fromStore = BulkConfigValidator.validate(store);
+        Report fromList = BulkConfigValidator.validate(configs);
+
+        // then
+        for (int i = 0; i < configs.size(); i++) {
+            assertEquals(fromList.mask(i), fromStore.mask(i));
+        }
+        assertEquals(fromList.invalidCount(), fromStore.invalidCount());
+    }
+}
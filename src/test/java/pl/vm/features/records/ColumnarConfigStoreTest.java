@@ -0,0 +1,88 @@
+package pl.vm.features.records;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for ColumnarConfigStore.
+ */
+class ColumnarConfigStoreTest {
+
+    @Test
+    void test_record_views_equal_added_configs() {
+        // given
+        List<ModelConfig> configs = randomConfigs(500);
+
+        // when
+        ColumnarConfigStore store = ColumnarConfigStore.of(configs);
+
+        // then
+        assertEquals(configs, store);
+        assertEquals(configs.get(137), store.get(137));
+        assertEquals(6, store.dictionarySize());
+    }
+
+    @Test
+    void test_store_grows_from_empty() {
+        // given
+        ColumnarConfigStore store = new ColumnarConfigStore(0);
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            store.add(new ModelConfig("m", "1.0", i, 0.5, i == 99, 30));
+        }
+
+        // then
+        assertEquals(100, store.size());
+        assertEquals(99, store.maxTokens(99));
+        assertTrue(store.streaming(99));
+        assertFalse(store.streaming(98));
+    }
+
+    @Test
+    void test_scans_match_processConfig_predicates() {
+        // given
+        List<ModelConfig> configs = randomConfigs(1_000);
+        ColumnarConfigStore store = ColumnarConfigStore.of(configs);
+
+        // when
+        BitSet streaming = store.streaming();
+        BitSet large = store.maxTokensAbove(4000);
+        BitSet precise = store.temperatureBelow(0.3);
+
+        // then
+        for (int i = 0; i < configs.size(); i++) {
+            ModelConfig config = configs.get(i);
+            assertEquals(config.streaming(), streaming.get(i));
+            assertEquals(config.maxTokens() > 4000, large.get(i));
+            assertEquals(config.temperature() < 0.3, precise.get(i));
+        }
+        assertEquals(streaming.cardinality(), store.countStreaming());
+        assertEquals(large.cardinality(), store.countMaxTokensAbove(4000));
+        assertEquals(precise.cardinality(), store.countTemperatureBelow(0.3));
+    }
+
+    private static List<ModelConfig> randomConfigs(int count) {
+        Random random = new Random(42);
+        String[] names = {"default", "streaming", "code-gen"};
+        String[] versions = {"1.0", "1.1", "2.0"};
+        List<ModelConfig> configs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            configs.add(new ModelConfig(
+                names[random.nextInt(names.length)],
+                versions[random.nextInt(versions.length)],
+                1 + random.nextInt(8192),
+                random.nextDouble(),
+                random.nextBoolean(),
+                1 + random.nextInt(120)));
+        }
+        return configs;
+    }
+}
@@ -0,0 +1,95 @@
+package pl.vm.features.records;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for ConfigReportRenderer, comparing against the former String.format rendering.
+ */
+class ConfigReportRendererTest {
+
+    private static final double[] EDGE_TEMPERATURES = {
+        0.0, -0.0, 0.005, 0.125, 0.135, 1.005, 2.675, 0.994999, 0.995, -0.001, -0.005, -1.255,
+        0.1 + 0.2, 99.995, 999_999.995, 1e6, 1e20, Double.MIN_VALUE, Double.MAX_VALUE,
+        Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY
+    };
+
+    @Test
+    void test_summary_matches_string_format_for_random_configs() throws IOException {
+        // given
+        Random random = new Random(42);
+
+        for (int i = 0; i < 10_000; i++) {
+            ModelConfig config = new ModelConfig("model-" + i, "v" + random.nextInt(10),
+                random.nextInt() % 10_000, random.nextDouble() * 2 - 0.5, random.nextBoolean(),
+                random.nextInt(200) - 20);
+
+            // when / then
+            assertEquals(formatSummary(config), ConfigReportRenderer.summary(config));
+            assertEquals(formatDetailedAnalysis(config), ConfigReportRenderer.detailedAnalysis(config));
+            assertEquals(formatDetailedAnalysis(config),
+                ConfigReportRenderer.appendDetailedAnalysis(config, new StringWriter()).toString());
+        }
+    }
+
+    @Test
+    void test_temperature_rounding_matches_string_format_at_edges() {
+        for (double temperature : EDGE_TEMPERATURES) {
+            // given
+            ModelConfig config = new ModelConfig(null, null, 1, temperature, false, 1);
+
+            // when / then
+            assertEquals(formatSummary(config), ConfigReportRenderer.summary(config), "temperature " + temperature);
+        }
+    }
+
+    @Test
+    void test_append_reuses_builder_and_supports_appendable() throws IOException {
+        // given
+        StringBuilder builder = new StringBuilder();
+        StringWriter writer = new StringWriter();
+        ModelConfig config = ModelConfig.createCodeGenConfig();
+
+        // when
+        ConfigReportRenderer.appendSummary(config, builder);
+        ConfigReportRenderer.appendDetailedAnalysis(config, builder);
+        ConfigReportRenderer.appendSummary(config, writer);
+
+        // then
+        assertEquals(formatSummary(config) + formatDetailedAnalysis(config), builder.toString());
+        assertEquals(formatSummary(config), writer.toString());
+    }
+
+    private static String formatSummary(ModelConfig config) {
+        return String.format(Locale.US, """
+            Model: %s
+            Version: %s
+            Max Tokens: %d
+            Temperature: %.2f
+            Streaming: %s
+            Timeout: %d seconds
+            """,
+            config.modelName(), config.version(), config.maxTokens(), config.temperature(),
+            config.streaming(), config.timeoutSeconds());
+    }
+
+    private static String formatDetailedAnalysis(ModelConfig config) {
+        return String.format(Locale.US, """
+            Detailed Analysis for %s (v%s):
+            - Performance: %s (tokens: %d)
+            - Precision: %s (temperature: %.2f)
+            - Mode: %s
+            - Reliability: %s (timeout: %d seconds)
+            """,
+            config.modelName(), config.version(),
+            config.maxTokens() > 4000 ? "high" : "standard", config.maxTokens(),
+            config.temperature() < 0.3 ? "high" : "balanced", config.temperature(),
+            config.streaming() ? "streaming" : "batch",
+            config.timeoutSeconds() > 60 ? "high" : "standard", config.timeoutSeconds());
+    }
+}
@@ -0,0 +1,88 @@
+package pl.vm.features.records;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test class for MappedConfigCatalog.
+ */
+class MappedConfigCatalogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void test_appended_configs_survive_reopen() throws IOException {
+        // given
+        Path file = directory.resolve("configs.cat");
+        try (MappedConfigCatalog catalog = MappedConfigCatalog.create(file, 1_000)) {
+            for (int i = 0; i < 1_000; i++) {
+                catalog.append(new ModelConfig("model-" + i, "1." + (i % 3), i, i / 1000.0, i % 2 == 0, 30));
+            }
+            catalog.force();
+        }
+
+        // when
+        try (MappedConfigCatalog catalog = MappedConfigCatalog.open(file)) {
+
+            // then
+            assertEquals(1_000, catalog.size());
+            assertEquals(new ModelConfig("model-421", "1.1", 421, 0.421, false, 30),
+                catalog.find("model-421", "1.1").orElseThrow());
+            int entry = catalog.indexOf("model-998", "1.2");
+            assertEquals(998, entry);
+            assertEquals(998, catalog.maxTokens(entry));
+            assertTrue(catalog.streaming(entry));
+            assertFalse(catalog.find("model-421", "1.0").isPresent());
+        }
+    }
+
+    @Test
+    void test_append_with_same_key_points_lookup_to_latest_entry() throws IOException {
+        // given
+        try (MappedConfigCatalog catalog = MappedConfigCatalog.create(directory.resolve("update.cat"), 4)) {
+            catalog.append(ModelConfig.createDefault());
+            catalog.append(new ModelConfig("zażółć", null, 1, 0.1, false, 5));
+
+            // when
+            catalog.append(new ModelConfig("default", "1.0", 4096, 0.5, false, 30));
+
+            // then
+            assertEquals(3, catalog.size());
+            assertEquals(4096, catalog.find("default", "1.0").orElseThrow().maxTokens());
+            assertEquals(ModelConfig.createDefault(), catalog.get(0));
+            assertEquals(1, catalog.indexOf("zażółć", null));
+        }
+    }
+
+    @Test
+    void test_append_rejects_full_catalog_and_oversized_names() throws IOException {
+        // given
+        try (MappedConfigCatalog catalog = MappedConfigCatalog.create(directory.resolve("full.cat"), 1)) {
+            String longName = "x".repeat(MappedConfigCatalog.MAX_NAME_BYTES + 1);
+
+            // when / then
+            assertThrows(IllegalArgumentException.class,
+                () -> catalog.append(new ModelConfig(longName, "1.0", 1, 0.5, false, 1)));
+            catalog.append(ModelConfig.createDefault());
+            assertThrows(IllegalStateException.class, () -> catalog.append(ModelConfig.createCodeGenConfig()));
+        }
+    }
+
+    @Test
+    void test_open_rejects_foreign_file() throws IOException {
+        // given
+        Path file = Files.write(directory.resolve("foreign.cat"), new byte[128]);
+
+        // when / then
+        assertThrows(IOException.class, () -> MappedConfigCatalog.open(file));
+    }
+}
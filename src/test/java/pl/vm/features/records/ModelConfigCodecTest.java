@@ -0,0 +1,125 @@
+package pl.vm.features.records;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for ModelConfigCodec.
+ */
+class ModelConfigCodecTest {
+
+    @Test
+    void test_encode_and_decode_round_trip() {
+        // given
+        List<ModelConfig> configs = List.of(
+            ModelConfig.createDefault(),
+            ModelConfig.createStreamingConfig(),
+            ModelConfig.createCodeGenConfig(),
+            new ModelConfig("zażółć", null, 1, 0.123456789, true, 5));
+
+        // when
+        ByteBuffer buffer = ModelConfigCodec.encode(configs);
+        List<ModelConfig> decoded = ModelConfigCodec.decode(buffer);
+
+        // then
+        assertEquals(configs, decoded);
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void test_repeated_names_are_stored_once() {
+        // given
+        List<ModelConfig> configs = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            configs.add(new ModelConfig("default", "1.0", i, 0.5, i % 2 == 0, 30));
+        }
+
+        // when
+        int size = ModelConfigCodec.encodedSize(configs);
+
+        // then
+        assertTrue(size <= ModelConfigCodec.HEADER_BYTES + 24 + 1_000 * ModelConfigCodec.RECORD_BYTES);
+        assertEquals(size, ModelConfigCodec.encode(configs).remaining());
+    }
+
+    @Test
+    void test_view_reads_fields_without_decoding_records() {
+        // given
+        ByteBuffer buffer = ModelConfigCodec.encode(List.of(
+            ModelConfig.createDefault(), ModelConfig.createStreamingConfig()));
+
+        // when
+        ModelConfigCodec.View view = ModelConfigCodec.view(buffer);
+
+        // then
+        assertEquals(2, view.size());
+        assertEquals("streaming", view.modelName(1));
+        assertEquals("1.0", view.version(1));
+        assertEquals(4096, view.maxTokens(1));
+        assertEquals(0.8, view.temperature(1));
+        assertTrue(view.streaming(1));
+        assertEquals(30, view.timeoutSeconds(0));
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    void test_encode_into_existing_buffer_after_other_data() {
+        // given
+        List<ModelConfig> configs = List.of(ModelConfig.createCodeGenConfig());
+        ByteBuffer buffer = ByteBuffer.allocate(3 + ModelConfigCodec.encodedSize(configs));
+        buffer.put((byte) 1).put((byte) 2).put((byte) 3);
+
+        // when
+        ModelConfigCodec.encode(configs, buffer);
+        buffer.flip().position(3);
+
+        // then
+        assertEquals(configs, ModelConfigCodec.decode(buffer));
+    }
+
+    @Test
+    void test_view_rejects_foreign_and_truncated_buffers() {
+        // given
+        ByteBuffer foreign = ByteBuffer.wrap(new byte[64]);
+        ByteBuffer encoded = ModelConfigCodec.encode(List.of(ModelConfig.createDefault()));
+        ByteBuffer truncated = encoded.slice(0, encoded.remaining() - 1);
+
+        // when / then
+        assertThrows(IllegalArgumentException.class, () -> ModelConfigCodec.view(foreign));
+        assertThrows(IllegalArgumentException.class, () -> ModelConfigCodec.view(truncated));
+    }
+
+    @Test
+    void test_view_rejects_hostile_dictionary_length_without_allocating() {
+        // given
+        ByteBuffer encoded = ModelConfigCodec.encode(List.of(ModelConfig.createDefault()));
+        encoded.putInt(ModelConfigCodec.HEADER_BYTES, 0x7FFFFFF0);
+
+        // when
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> ModelConfigCodec.view(encoded));
+
+        // then
+        assertEquals("Corrupted ModelConfig dictionary", exception.getMessage());
+    }
+
+    @Test
+    void test_view_rejects_record_with_unknown_string_id() {
+        // given
+        ByteBuffer encoded = ModelConfigCodec.encode(List.of(ModelConfig.createDefault()));
+        int recordsOffset = encoded.getInt(16);
+        encoded.putInt(recordsOffset + 8, 42);
+        ModelConfigCodec.View view = ModelConfigCodec.view(encoded);
+
+        // when / then
+        assertThrows(IllegalArgumentException.class, () -> view.modelName(0));
+        assertThrows(IllegalArgumentException.class, () -> view.get(0));
+    }
+}
@@ -0,0 +1,89 @@
+package pl.vm.features.records;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for ModelConfigIndex, comparing queries with a linear scan.
+ */
+class ModelConfigIndexTest {
+
+    @Test
+    void test_range_query_matches_linear_scan() {
+        // given
+        List<ModelConfig> configs = randomConfigs(new Random(42), 5_000);
+        ModelConfigIndex index = ModelConfigIndex.of(configs);
+
+        // when
+        List<ModelConfig> result = index.query()
+            .maxTokensBetween(1000, 3000)
+            .timeoutAbove(60)
+            .list();
+
+        // then
+        List<ModelConfig> expected = configs.stream()
+            .filter(config -> config.maxTokens() >= 1000 && config.maxTokens() <= 3000)
+            .filter(config -> config.timeoutSeconds() > 60)
+            .toList();
+        assertEquals(expected, result);
+    }
+
+    @Test
+    void test_processConfig_predicates_match_linear_scan() {
+        // given
+        List<ModelConfig> configs = randomConfigs(new Random(7), 3_000);
+        ModelConfigIndex index = ModelConfigIndex.of(configs);
+
+        // when
+        BitSet rows = index.query()
+            .streaming(false)
+            .maxTokensAbove(4000)
+            .temperatureBelow(0.3)
+            .rows();
+
+        // then
+        for (int row = 0; row < configs.size(); row++) {
+            ModelConfig config = configs.get(row);
+            boolean expected = !config.streaming() && config.maxTokens() > 4000 && config.temperature() < 0.3;
+            assertEquals(expected, rows.get(row), "row " + row);
+        }
+    }
+
+    @Test
+    void test_incremental_inserts_are_visible_to_queries() {
+        // given
+        Random random = new Random(1);
+        ModelConfigIndex index = new ModelConfigIndex();
+        List<ModelConfig> configs = new ArrayList<>();
+
+        for (int round = 0; round < 20; round++) {
+            // when
+            for (ModelConfig config : randomConfigs(random, 137)) {
+                configs.add(config);
+                index.add(config);
+            }
+
+            // then
+            long expected = configs.stream()
+                .filter(config -> config.temperature() >= 0.25 && config.temperature() <= 0.75)
+                .filter(ModelConfig::streaming)
+                .count();
+            assertEquals(expected, index.query().temperatureBetween(0.25, 0.75).streaming(true).count());
+        }
+        assertEquals(configs.size(), index.query().count());
+    }
+
+    private static List<ModelConfig> randomConfigs(Random random, int count) {
+        List<ModelConfig> configs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            configs.add(new ModelConfig("model-" + random.nextInt(10), "1.0",
+                random.nextInt(8192), random.nextInt(100) / 100.0, random.nextBoolean(), random.nextInt(120)));
+        }
+        return configs;
+    }
+}
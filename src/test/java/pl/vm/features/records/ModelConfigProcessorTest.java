@@ -1,6 +1,10 @@
 package pl.vm.features.records;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -59,6 +63,62 @@ class ModelConfigProcessorTest {
         assertTrue(results.get(2).contains("Large"));
     }
 
+    @Test
+    void test_processConfigs_with_precise_and_standard_configs() {
+        // given
+        List<ModelConfig> configs = List.of(
+            new ModelConfig("precise", "1.0", 2048, 0.2, false, 30),
+            new ModelConfig("plain", "1.0", 2048, 0.7, false, 30)
+        );
+
+        // when
+        List<String> results = processor.processConfigs(configs);
+
+        // then
+        assertEquals(List.of("Precise: precise (temp: 0.2)", "Standard: plain"), results);
+    }
+
+    @Test
+    void test_processConfigs_in_parallel_keeps_input_order() {
+        // given
+        List<ModelConfig> configs = IntStream.range(0, 10_000)
+            .mapToObj(i -> new ModelConfig("model-" + i, "1.0", i, (i % 10) / 10.0, i % 7 == 0, 30))
+            .collect(Collectors.toCollection(ArrayList::new));
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            // when
+            List<String> results = processor.processConfigs(configs, pool);
+
+            // then
+            assertEquals(processor.processConfigs(configs), results);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void test_processConfigStream_is_lazy() {
+        // given
+        List<ModelConfig> configs = List.of(
+            ModelConfig.createDefault(),
+            ModelConfig.createStreamingConfig(),
+            ModelConfig.createCodeGenConfig()
+        );
+        List<ModelConfig> consumed = new ArrayList<>();
+
+        // when
+        List<String> first = processor.processConfigStream(configs.stream().peek(consumed::add))
+            .limit(1)
+            .toList();
+        List<String> all = processor.processConfigStream(configs.iterator()).toList();
+
+        // then
+        assertEquals(1, consumed.size());
+        assertEquals(List.of("Standard: default"), first);
+        assertEquals(processor.processConfigs(configs), all);
+    }
+
     @Test
     void test_validateConfig_with_valid_config() {
         // given
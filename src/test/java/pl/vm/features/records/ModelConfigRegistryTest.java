@@ -0,0 +1,111 @@
+package pl.vm.features.records;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for ModelConfigRegistry.
+ */
+class ModelConfigRegistryTest {
+
+    @Test
+    void test_presets_are_shared_instances() {
+        // given
+        ModelConfigRegistry registry = ModelConfigRegistry.weak();
+        ModelConfig copy = new ModelConfig("streaming", "1.0", 4096, 0.8, true, 60);
+
+        // when
+        ModelConfig interned = registry.intern(copy);
+
+        // then
+        assertSame(ModelConfig.createDefault(), ModelConfig.createDefault());
+        assertSame(ModelConfig.createStreamingConfig(), interned);
+        assertEquals(1, registry.stats().presetHits());
+        assertEquals(0, registry.stats().size());
+    }
+
+    @Test
+    void test_equal_configs_are_deduplicated() {
+        // given
+        ModelConfigRegistry registry = ModelConfigRegistry.weak();
+        ModelConfig first = new ModelConfig("custom", "2.0", 1024, 0.5, false, 10);
+
+        // when
+        ModelConfig canonical = registry.intern(first);
+        ModelConfig second = registry.intern(new ModelConfig("custom", "2.0", 1024, 0.5, false, 10));
+        ModelConfig third = registry.intern(new ModelConfig("custom", "2.0", 1024, 0.5, false, 10));
+
+        // then
+        assertSame(first, canonical);
+        assertSame(first, second);
+        assertSame(first, third);
+        ModelConfigRegistry.Stats stats = registry.stats();
+        assertEquals(1, stats.misses());
+        assertEquals(2, stats.hits());
+        assertEquals(2.0 / 3.0, stats.dedupRatio(), 1e-9);
+        assertEquals(2L * ModelConfigRegistry.ESTIMATED_CONFIG_BYTES, stats.estimatedBytesSaved());
+    }
+
+    @Test
+    void test_reinterning_canonical_instance_is_not_deduplication() {
+        for (ModelConfigRegistry registry : List.of(ModelConfigRegistry.weak(), ModelConfigRegistry.bounded(8))) {
+            // given
+            ModelConfig config = new ModelConfig("custom", "2.0", 1024, 0.5, false, 10);
+
+            // when
+            ModelConfig first = registry.intern(config);
+            ModelConfig second = registry.intern(config);
+            ModelConfig preset = registry.intern(ModelConfig.createDefault());
+
+            // then
+            assertSame(config, first);
+            assertSame(config, second);
+            assertSame(ModelConfig.createDefault(), preset);
+            ModelConfigRegistry.Stats stats = registry.stats();
+            assertEquals(1, stats.misses());
+            assertEquals(0, stats.hits());
+            assertEquals(0, stats.presetHits());
+            assertEquals(2, stats.identityHits());
+            assertEquals(3, stats.requests());
+            assertEquals(0.0, stats.dedupRatio());
+            assertEquals(0, stats.estimatedBytesSaved());
+        }
+    }
+
+    @Test
+    void test_bounded_registry_never_exceeds_max_entries() {
+        // given
+        ModelConfigRegistry registry = ModelConfigRegistry.bounded(8);
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            registry.intern(new ModelConfig("custom", "1.0", i, 0.5, false, 10));
+        }
+
+        // then
+        assertEquals(8, registry.stats().size());
+        assertEquals(100, registry.stats().misses());
+    }
+
+    @Test
+    void test_weak_registry_releases_unreferenced_entries() throws InterruptedException {
+        // given
+        ModelConfigRegistry registry = ModelConfigRegistry.weak();
+        for (int i = 0; i < 1_000; i++) {
+            registry.intern(new ModelConfig("custom-" + i, "1.0", i, 0.5, false, 10));
+        }
+
+        // when
+        for (int attempt = 0; attempt < 50 && registry.stats().size() > 0; attempt++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        // then
+        assertTrue(registry.stats().size() < 1_000);
+    }
+}
@@ -0,0 +1,135 @@
+package pl.vm.features.sequenced;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SequencedMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for ConcurrentLinkedSequencedMap.
+ */
+class ConcurrentLinkedSequencedMapTest {
+
+    @Test
+    void test_insertion_order_and_end_operations() {
+        // given
+        ConcurrentLinkedSequencedMap<String, Integer> map = new ConcurrentLinkedSequencedMap<>();
+        map.put("First", 1);
+        map.put("Second", 2);
+        map.put("Third", 3);
+
+        // when
+        map.putFirst("Zero", 0);
+        map.putLast("First", 10);
+        map.put("Second", 20);
+
+        // then
+        assertEquals(List.of("Zero", "Second", "Third", "First"), List.copyOf(map.keySet()));
+        assertEquals(Map.entry("Zero", 0), map.firstEntry());
+        assertEquals(Map.entry("First", 10), map.lastEntry());
+        assertEquals(Map.entry("First", 10), map.pollLastEntry());
+        assertEquals(Map.entry("Zero", 0), map.pollFirstEntry());
+        assertEquals(Map.of("Second", 20, "Third", 3), map);
+    }
+
+    @Test
+    void test_lru_evicts_least_recently_used_entry() {
+        // given
+        ConcurrentLinkedSequencedMap<String, Integer> map = ConcurrentLinkedSequencedMap.lru(3);
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("c", 3);
+
+        // when
+        map.get("a");
+        map.put("d", 4);
+
+        // then
+        assertEquals(List.of("c", "a", "d"), List.copyOf(map.keySet()));
+        assertNull(map.get("b"));
+    }
+
+    @Test
+    void test_lru_replace_counts_as_access_like_linked_hash_map() {
+        // given
+        ConcurrentLinkedSequencedMap<String, Integer> map = ConcurrentLinkedSequencedMap.lru(3);
+        Map<String, Integer> reference = new LinkedHashMap<>(16, 0.75f, true);
+        for (String key : List.of("a", "b", "c")) {
+            map.put(key, 1);
+            reference.put(key, 1);
+        }
+
+        // when
+        map.replace("a", 2);
+        map.replace("b", 1, 2);
+        map.replace("c", 9, 2);
+        reference.replace("a", 2);
+        reference.replace("b", 1, 2);
+        reference.replace("c", 9, 2);
+        List<String> orderAfterReplace = List.copyOf(map.keySet());
+        map.put("d", 4);
+
+        // then
+        assertEquals(List.copyOf(reference.keySet()), orderAfterReplace);
+        assertEquals(List.of("c", "a", "b"), orderAfterReplace);
+        assertNull(map.get("c"));
+    }
+
+    @Test
+    void test_reversed_view_swaps_ends() {
+        // given
+        ConcurrentLinkedSequencedMap<String, Integer> map = new ConcurrentLinkedSequencedMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        SequencedMap<String, Integer> reversed = map.reversed();
+
+        // when
+        reversed.putFirst("c", 3);
+
+        // then
+        assertEquals(List.of("c", "b", "a"), List.copyOf(reversed.keySet()));
+        assertEquals(Map.entry("c", 3), map.lastEntry());
+        assertEquals(Map.entry("a", 1), reversed.pollLastEntry());
+        assertSame(map, reversed.reversed());
+    }
+
+    @Test
+    void test_concurrent_lru_stays_bounded_and_consistent() {
+        // given
+        ConcurrentLinkedSequencedMap<Integer, Integer> map = ConcurrentLinkedSequencedMap.lru(100);
+
+        // when
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int t = 0; t < 16; t++) {
+                int thread = t;
+                executor.submit(() -> {
+                    for (int i = 0; i < 5_000; i++) {
+                        int key = (i * 31 + thread) % 500;
+                        Integer value = map.get(key);
+                        if (value == null) {
+                            map.put(key, key);
+                        } else {
+                            assertEquals(key, value);
+                        }
+                        if (i % 100 == 0) {
+                            map.pollFirstEntry();
+                        }
+                    }
+                });
+            }
+        }
+
+        // then
+        assertTrue(map.size() <= 100);
+        assertEquals(map.size(), List.copyOf(map.keySet()).size());
+        map.forEach((key, value) -> assertEquals(key, value));
+    }
+}
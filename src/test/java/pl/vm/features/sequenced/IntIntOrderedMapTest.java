@@ -0,0 +1,144 @@
+package pl.vm.features.sequenced;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.SequencedMap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for IntIntOrderedMap, comparing against LinkedHashMap.
+ */
+class IntIntOrderedMapTest {
+
+    @Test
+    void test_random_operations_match_linked_hash_map() {
+        // given
+        Random random = new Random(42);
+        IntIntOrderedMap map = new IntIntOrderedMap(0, -1);
+        SequencedMap<Integer, Integer> expected = new LinkedHashMap<>();
+
+        for (int i = 0; i < 200_000; i++) {
+            // when
+            int key = random.nextInt(5_000);
+            int operation = random.nextInt(10);
+            if (operation < 5) {
+                assertEquals(expected.getOrDefault(key, -1), map.put(key, i));
+                expected.put(key, i);
+            } else if (operation < 8) {
+                assertEquals(expected.getOrDefault(key, -1), map.remove(key));
+                expected.remove(key);
+            } else if (operation == 8) {
+                Map.Entry<Integer, Integer> first = expected.pollFirstEntry();
+                IntIntOrderedMap.Entry polled = map.pollFirstEntry();
+                assertEquals(first == null ? null : new IntIntOrderedMap.Entry(first.getKey(), first.getValue()), polled);
+            } else {
+                assertEquals(expected.containsKey(key), map.containsKey(key));
+                assertEquals(expected.getOrDefault(key, -1), map.get(key));
+            }
+        }
+
+        // then
+        assertEquals(expected.size(), map.size());
+        assertArrayEquals(expected.keySet().stream().mapToInt(Integer::intValue).toArray(), map.keys());
+        assertArrayEquals(expected.values().stream().mapToInt(Integer::intValue).toArray(), map.values());
+    }
+
+    @Test
+    void test_reinserting_key_keeps_position() {
+        // given
+        IntIntOrderedMap map = new IntIntOrderedMap();
+        map.put(1, 10);
+        map.put(2, 20);
+        map.put(3, 30);
+
+        // when
+        map.put(1, 11);
+
+        // then
+        assertArrayEquals(new int[] {1, 2, 3}, map.keys());
+        assertEquals(new IntIntOrderedMap.Entry(1, 11), map.firstEntry());
+        assertEquals(new IntIntOrderedMap.Entry(3, 30), map.lastEntry());
+    }
+
+    @Test
+    void test_reversed_view_shares_storage() {
+        // given
+        IntIntOrderedMap map = new IntIntOrderedMap();
+        map.put(1, 10);
+        map.put(2, 20);
+        map.put(3, 30);
+        IntIntOrderedMap reversed = map.reversed();
+
+        // when
+        IntIntOrderedMap.Entry polled = reversed.pollFirstEntry();
+        reversed.put(4, 40);
+
+        // then
+        assertEquals(new IntIntOrderedMap.Entry(3, 30), polled);
+        assertArrayEquals(new int[] {4, 2, 1}, reversed.keys());
+        assertArrayEquals(new int[] {1, 2, 4}, map.keys());
+        assertEquals(4, reversed.firstKey());
+        assertEquals(1, reversed.lastKey());
+        assertArrayEquals(map.keys(), reversed.reversed().keys());
+    }
+
+    @Test
+    void test_add_to_counts_occurrences() {
+        // given
+        IntIntOrderedMap counts = new IntIntOrderedMap();
+        int[] tokens = {7, 3, 7, 7, 3, 9};
+
+        // when
+        for (int token : tokens) {
+            counts.addTo(token, 1);
+        }
+
+        // then
+        assertEquals("{7=3, 3=2, 9=1}", counts.toString());
+    }
+
+    @Test
+    void test_queue_like_churn_reuses_storage() {
+        // given
+        IntIntOrderedMap map = new IntIntOrderedMap(16);
+
+        // when
+        for (int i = 0; i < 100_000; i++) {
+            map.put(i, i);
+            if (map.size() > 10) {
+                map.pollFirstEntry();
+            }
+        }
+
+        // then
+        assertEquals(10, map.size());
+        assertEquals(99_990, map.firstKey());
+        assertEquals(99_999, map.lastKey());
+    }
+
+    @Test
+    void test_empty_map() {
+        // given
+        IntIntOrderedMap map = new IntIntOrderedMap();
+        map.put(5, 50);
+
+        // when
+        map.clear();
+
+        // then
+        assertTrue(map.isEmpty());
+        assertFalse(map.containsKey(5));
+        assertNull(map.firstEntry());
+        assertNull(map.pollLastEntry());
+        assertThrows(NoSuchElementException.class, map::firstKey);
+    }
+}
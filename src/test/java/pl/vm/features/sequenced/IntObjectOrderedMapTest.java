@@ -0,0 +1,80 @@
+package pl.vm.features.sequenced;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SequencedMap;
+
+import pl.vm.features.records.ModelConfig;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for IntObjectOrderedMap, comparing against LinkedHashMap.
+ */
+class IntObjectOrderedMapTest {
+
+    @Test
+    void test_random_operations_match_linked_hash_map() {
+        // given
+        Random random = new Random(11);
+        IntObjectOrderedMap<String> map = new IntObjectOrderedMap<>();
+        SequencedMap<Integer, String> expected = new LinkedHashMap<>();
+
+        for (int i = 0; i < 200_000; i++) {
+            // when
+            int key = random.nextInt(4_000) - 2_000;
+            String value = "v" + i;
+            int operation = random.nextInt(10);
+            if (operation < 4) {
+                assertEquals(expected.put(key, value), map.put(key, value));
+            } else if (operation < 5) {
+                assertEquals(expected.putIfAbsent(key, value), map.putIfAbsent(key, value));
+            } else if (operation < 8) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.get(key), map.get(key));
+            }
+        }
+
+        // then
+        assertEquals(expected.size(), map.size());
+        assertArrayEquals(expected.keySet().stream().mapToInt(Integer::intValue).toArray(), map.keys());
+        Map.Entry<Integer, String> last = expected.lastEntry();
+        assertEquals(new IntObjectOrderedMap.Entry<>(last.getKey(), last.getValue()), map.lastEntry());
+    }
+
+    @Test
+    void test_compute_if_absent_maps_model_ids_to_configs() {
+        // given
+        IntObjectOrderedMap<ModelConfig> configs = new IntObjectOrderedMap<>();
+        List<Integer> modelIds = List.of(3, 1, 3, 2, 1);
+
+        // when
+        for (int id : modelIds) {
+            configs.computeIfAbsent(id, key -> new ModelConfig("model-" + key, "1", key * 1000, 0.5, false, 30));
+        }
+
+        // then
+        assertArrayEquals(new int[] {3, 1, 2}, configs.keys());
+        assertEquals(3000, configs.get(3).maxTokens());
+        assertEquals(2, configs.reversed().pollFirstEntry().key());
+        assertArrayEquals(new int[] {1, 3}, configs.reversed().keys());
+    }
+
+    @Test
+    void test_null_values_are_rejected() {
+        // given
+        IntObjectOrderedMap<String> map = new IntObjectOrderedMap<>();
+
+        // when / then
+        assertThrows(NullPointerException.class, () -> map.put(1, null));
+        assertNull(map.computeIfAbsent(1, key -> null));
+        assertEquals(0, map.size());
+    }
+}
@@ -0,0 +1,68 @@
+package pl.vm.features.sequenced;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.SequencedMap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for LongLongOrderedMap, comparing against LinkedHashMap.
+ */
+class LongLongOrderedMapTest {
+
+    @Test
+    void test_random_operations_match_linked_hash_map() {
+        // given
+        Random random = new Random(7);
+        LongLongOrderedMap map = new LongLongOrderedMap();
+        SequencedMap<Long, Long> expected = new LinkedHashMap<>();
+        long[] keys = random.longs(3_000).toArray();
+
+        for (int i = 0; i < 200_000; i++) {
+            // when
+            long key = keys[random.nextInt(keys.length)];
+            int operation = random.nextInt(10);
+            if (operation < 5) {
+                assertEquals(expected.getOrDefault(key, 0L), map.addTo(key, i) - i);
+                expected.merge(key, (long) i, Long::sum);
+            } else if (operation < 8) {
+                assertEquals(expected.getOrDefault(key, 0L), map.remove(key));
+                expected.remove(key);
+            } else if (operation == 8) {
+                Map.Entry<Long, Long> last = expected.pollLastEntry();
+                LongLongOrderedMap.Entry polled = map.pollLastEntry();
+                assertEquals(last == null ? null : new LongLongOrderedMap.Entry(last.getKey(), last.getValue()), polled);
+            } else {
+                assertEquals(expected.getOrDefault(key, 0L), map.get(key));
+            }
+        }
+
+        // then
+        assertEquals(expected.size(), map.size());
+        assertArrayEquals(expected.keySet().stream().mapToLong(Long::longValue).toArray(), map.keys());
+        assertArrayEquals(expected.values().stream().mapToLong(Long::longValue).toArray(), map.values());
+    }
+
+    @Test
+    void test_reversed_view_iterates_backwards() {
+        // given
+        LongLongOrderedMap map = new LongLongOrderedMap(0, Long.MIN_VALUE);
+        map.put(1L << 40, 1);
+        map.put(2L << 40, 2);
+        map.put(3L << 40, 3);
+        StringBuilder visited = new StringBuilder();
+
+        // when
+        map.remove(2L << 40);
+        map.reversed().forEach((key, value) -> visited.append(value));
+
+        // then
+        assertEquals("31", visited.toString());
+        assertEquals(Long.MIN_VALUE, map.get(2L << 40));
+        assertEquals(new LongLongOrderedMap.Entry(3L << 40, 3), map.reversed().firstEntry());
+    }
+}
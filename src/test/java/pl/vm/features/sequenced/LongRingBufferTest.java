@@ -0,0 +1,74 @@
+package pl.vm.features.sequenced;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for LongRingBuffer, comparing against ArrayDeque.
+ */
+class LongRingBufferTest {
+
+    @Test
+    void test_random_operations_match_array_deque() {
+        // given
+        Random random = new Random(42);
+        LongRingBuffer buffer = new LongRingBuffer();
+        Deque<Long> expected = new ArrayDeque<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            // when
+            int operation = random.nextInt(4);
+            if (expected.isEmpty() || operation == 0) {
+                buffer.addFirst(i);
+                expected.addFirst((long) i);
+            } else if (operation == 1) {
+                buffer.addLast(i);
+                expected.addLast((long) i);
+            } else if (operation == 2) {
+                assertEquals((long) expected.removeFirst(), buffer.removeFirst());
+            } else {
+                assertEquals((long) expected.removeLast(), buffer.removeLast());
+            }
+        }
+
+        // then
+        assertEquals(expected.size(), buffer.size());
+        assertArrayEquals(expected.stream().mapToLong(Number::longValue).toArray(), buffer.toArray());
+    }
+
+    @Test
+    void test_reversed_view_shares_storage() {
+        // given
+        LongRingBuffer buffer = new LongRingBuffer();
+        buffer.addLast(1);
+        buffer.addLast(2);
+        LongRingBuffer reversed = buffer.reversed();
+
+        // when
+        reversed.addFirst(3);
+        reversed.set(2, 0);
+
+        // then
+        assertArrayEquals(new long[] {0, 2, 3}, buffer.toArray());
+        assertEquals(3, reversed.getFirst());
+        assertEquals(0, reversed.getLast());
+        assertEquals(3, reversed.reversed().removeLast());
+    }
+
+    @Test
+    void test_empty_buffer_throws_on_removal() {
+        // given
+        LongRingBuffer buffer = new LongRingBuffer();
+
+        // when / then
+        assertThrows(NoSuchElementException.class, buffer::removeFirst);
+        assertThrows(NoSuchElementException.class, buffer.reversed()::getFirst);
+    }
+}
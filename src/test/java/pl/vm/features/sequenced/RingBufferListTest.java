@@ -0,0 +1,133 @@
+package pl.vm.features.sequenced;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for RingBufferList, comparing against ArrayList.
+ */
+class RingBufferListTest {
+
+    @Test
+    void test_operations_at_both_ends_wrap_around() {
+        // given
+        RingBufferList<String> list = new RingBufferList<>(4);
+
+        // when
+        list.addLast("b");
+        list.addLast("c");
+        list.addFirst("a");
+        list.removeFirst();
+        list.addLast("d");
+        list.addFirst("a");
+
+        // then
+        assertEquals(List.of("a", "b", "c", "d"), list);
+        assertEquals("a", list.getFirst());
+        assertEquals("d", list.getLast());
+    }
+
+    @Test
+    void test_random_operations_match_array_list() {
+        // given
+        Random random = new Random(42);
+        RingBufferList<Integer> list = new RingBufferList<>();
+        List<Integer> expected = new ArrayList<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            // when
+            int operation = random.nextInt(7);
+            if (expected.isEmpty() || operation < 2) {
+                list.addFirst(i);
+                expected.addFirst(i);
+            } else if (operation == 2) {
+                list.addLast(i);
+                expected.addLast(i);
+            } else if (operation == 3) {
+                assertEquals(expected.removeFirst(), list.removeFirst());
+            } else if (operation == 4) {
+                assertEquals(expected.removeLast(), list.removeLast());
+            } else if (operation == 5) {
+                int index = random.nextInt(expected.size() + 1);
+                list.add(index, i);
+                expected.add(index, i);
+            } else {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            }
+        }
+
+        // then
+        assertEquals(expected, list);
+    }
+
+    @Test
+    void test_reversed_view_writes_through() {
+        // given
+        RingBufferList<String> list = new RingBufferList<>(List.of("a", "b", "c"));
+        List<String> reversed = list.reversed();
+
+        // when
+        reversed.addFirst("d");
+        reversed.addLast("z");
+        String removed = reversed.remove(1);
+
+        // then
+        assertEquals("c", removed);
+        assertEquals(List.of("d", "b", "a", "z"), reversed);
+        assertEquals(List.of("z", "a", "b", "d"), list);
+        assertSame(list, reversed.reversed());
+    }
+
+    @Test
+    void test_reversed_iterator_is_fail_fast() {
+        // given
+        RingBufferList<String> list = new RingBufferList<>();
+        list.addAll(List.of("a", "b", "c"));
+        Iterator<String> iterator = list.reversed().iterator();
+        iterator.next();
+
+        // when
+        list.addLast("d");
+
+        // then
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+
+    @Test
+    void test_reversed_iterator_remove_keeps_iterating() {
+        // given
+        RingBufferList<String> list = new RingBufferList<>();
+        list.addAll(List.of("a", "b", "c", "d"));
+
+        // when
+        for (Iterator<String> iterator = list.reversed().iterator(); iterator.hasNext(); ) {
+            if (iterator.next().equals("c")) {
+                iterator.remove();
+            }
+        }
+
+        // then
+        assertEquals(List.of("a", "b", "d"), list);
+    }
+
+    @Test
+    void test_empty_list_throws_on_removal() {
+        // given
+        RingBufferList<String> list = new RingBufferList<>();
+
+        // when / then
+        assertThrows(NoSuchElementException.class, list::removeFirst);
+        assertThrows(NoSuchElementException.class, list::getLast);
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+    }
+}
@@ -0,0 +1,187 @@
+package pl.vm.features.virtualthreads;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for AdmissionController and ConcurrencyLimit.
+ */
+class AdmissionControllerTest {
+    private static final ServerRequest REQUEST = new ServerRequest("GET", "/", Map.of(), new byte[0]);
+
+    @Test
+    void test_rejects_fast_when_limit_and_queue_are_full() throws Exception {
+        // given
+        AdmissionController controller = new AdmissionController(
+                new AdmissionController.Config(2, null, 1, Duration.ofSeconds(10), null));
+        CountDownLatch release = new CountDownLatch(1);
+        RequestHandler handler = controller.protect(request -> {
+            release.await();
+            return ServerResponse.text(200, "ok");
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<ServerResponse>> accepted = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                accepted.add(executor.submit(() -> handler.handle(REQUEST)));
+            }
+            awaitMetrics(controller, 2, 1);
+
+            // when
+            long start = System.nanoTime();
+            ServerResponse rejected = handler.handle(REQUEST);
+            long rejectMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            release.countDown();
+
+            // then
+            assertEquals(503, rejected.status());
+            assertTrue(rejectMillis < 1_000, "Rejection should not wait, took " + rejectMillis + " ms");
+            for (Future<ServerResponse> future : accepted) {
+                assertEquals(200, future.get().status());
+            }
+        }
+        AdmissionController.Metrics metrics = controller.metrics();
+        assertEquals(3, metrics.admitted());
+        assertEquals(1, metrics.admittedAfterQueueing());
+        assertEquals(1, metrics.rejectedQueueFull());
+        assertEquals(0, metrics.inFlight());
+        assertEquals(0.25, metrics.rejectionRate());
+    }
+
+    @Test
+    void test_queued_request_times_out() throws Exception {
+        // given
+        AdmissionController controller = new AdmissionController(
+                new AdmissionController.Config(1, null, 10, Duration.ofMillis(50), null));
+        AdmissionController.Permit held = controller.acquire();
+
+        // when
+        long start = System.nanoTime();
+        AdmissionController.Permit queued = controller.acquire();
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        held.release(false);
+
+        // then
+        assertNull(queued);
+        assertTrue(waitedMillis >= 40, "Expected to wait for the queue deadline, waited " + waitedMillis + " ms");
+        assertEquals(1, controller.metrics().rejectedQueueTimeout());
+        assertEquals(0, controller.metrics().queued());
+    }
+
+    @Test
+    void test_released_permit_goes_to_oldest_waiter() throws Exception {
+        // given
+        AdmissionController controller = new AdmissionController(
+                new AdmissionController.Config(1, null, 10, Duration.ofSeconds(10), null));
+        AdmissionController.Permit held = controller.acquire();
+        List<Integer> order = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 3; i++) {
+                int id = i;
+                executor.submit(() -> {
+                    AdmissionController.Permit permit = controller.acquire();
+                    synchronized (order) {
+                        order.add(id);
+                    }
+                    permit.release(false);
+                    return null;
+                });
+                awaitMetrics(controller, 1, i + 1);
+            }
+
+            // when
+            held.release(false);
+        }
+
+        // then
+        assertEquals(List.of(0, 1, 2), order);
+    }
+
+    @Test
+    void test_aimd_backs_off_on_drops_and_grows_when_saturated() {
+        // given
+        ConcurrencyLimit limit = ConcurrencyLimit.aimd(20, 1, 100, 0.5);
+
+        // when
+        limit.onSample(1_000_000, 20, true);
+        int afterDrop = limit.current();
+        for (int i = 0; i < 10 * afterDrop; i++) {
+            limit.onSample(1_000_000, limit.current(), false);
+        }
+        int afterGrowth = limit.current();
+        for (int i = 0; i < 1_000; i++) {
+            limit.onSample(1_000_000, 1, false);
+        }
+
+        // then
+        assertEquals(10, afterDrop);
+        assertTrue(afterGrowth > afterDrop);
+        assertEquals(afterGrowth, limit.current(), "An idle limit must not grow");
+    }
+
+    @Test
+    void test_vegas_shrinks_when_latency_rises() {
+        // given
+        ConcurrencyLimit limit = ConcurrencyLimit.vegas(50, 5, 200);
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(10_000_000, 50, false);
+        }
+        int atBaseline = limit.current();
+
+        // when
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(40_000_000, limit.current(), false);
+        }
+
+        // then
+        assertTrue(atBaseline > 50, "Limit should grow while latency stays at baseline");
+        assertTrue(limit.current() < atBaseline, "Limit should shrink once latency quadruples");
+    }
+
+    @Test
+    void test_adaptive_limit_caps_in_flight() throws Exception {
+        // given
+        AdmissionController controller = new AdmissionController(
+                new AdmissionController.Config(100, ConcurrencyLimit.aimd(4, 1, 100, 0.5), 0, Duration.ZERO, null));
+        List<AdmissionController.Permit> permits = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            AdmissionController.Permit permit = controller.acquire();
+            if (permit != null) {
+                permits.add(permit);
+            }
+        }
+
+        // then
+        assertEquals(4, permits.size());
+        permits.getFirst().release(true);
+        assertEquals(2, controller.metrics().limit());
+        assertEquals(1, controller.metrics().dropped());
+    }
+
+    private static void awaitMetrics(AdmissionController controller, int inFlight, int queued) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            AdmissionController.Metrics metrics = controller.metrics();
+            if (metrics.inFlight() == inFlight && metrics.queued() == queued) {
+                return;
+            }
+            Thread.sleep(5);
+        }
+        throw new AssertionError("Timed out waiting for " + inFlight + " in flight and " + queued + " queued");
+    }
+}
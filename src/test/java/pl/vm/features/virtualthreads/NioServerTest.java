@@ -0,0 +1,248 @@
+package pl.vm.features.virtualthreads;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for NioServer, including the handler API shared with VirtualThreadServer.
+ */
+class NioServerTest {
+    private final List<ServerEngine> servers = new ArrayList<>();
+    private HttpClient httpClient;
+
+    @BeforeEach
+    void setUp() {
+        httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        servers.forEach(ServerEngine::stop);
+        httpClient.close();
+    }
+
+    @Test
+    void test_default_handler_runs_on_virtual_thread() throws Exception {
+        // given
+        ServerEngine server = start(new NioServer(0));
+
+        // when
+        HttpResponse<String> response = httpClient.send(get(server, "/"), HttpResponse.BodyHandlers.ofString());
+
+        // then
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("Hello from virtual thread"));
+    }
+
+    @Test
+    void test_concurrent_requests() throws Exception {
+        // given
+        ServerEngine server = start(new NioServer(0));
+        List<CompletableFuture<HttpResponse<String>>> futures = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < 50; i++) {
+            futures.add(httpClient.sendAsync(get(server, "/"), HttpResponse.BodyHandlers.ofString()));
+        }
+
+        // then
+        for (CompletableFuture<HttpResponse<String>> future : futures) {
+            assertEquals(200, future.get().statusCode());
+        }
+    }
+
+    @Test
+    void test_same_handler_on_both_engines() throws Exception {
+        // given
+        RequestHandler echo = request -> ServerResponse.text(201,
+                request.method() + " " + request.target() + " " + request.header("X-Model") + " " + request.bodyAsString());
+        List<ServerEngine> engines = List.of(start(new VirtualThreadServer(0, echo)), start(new NioServer(0, echo)));
+
+        for (ServerEngine engine : engines) {
+            // when
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + engine.getPort() + "/echo?x=1"))
+                    .header("X-Model", "claude")
+                    .POST(HttpRequest.BodyPublishers.ofString("zażółć"))
+                    .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+
+            // then
+            assertEquals(201, response.statusCode());
+            assertEquals("POST /echo?x=1 claude zażółć", response.body());
+        }
+    }
+
+    @Test
+    void test_handler_failure_returns_500() throws Exception {
+        // given
+        ServerEngine server = start(new NioServer(0, request -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        // when
+        HttpResponse<String> response = httpClient.send(get(server, "/"), HttpResponse.BodyHandlers.ofString());
+
+        // then
+        assertEquals(500, response.statusCode());
+    }
+
+    @Test
+    void test_pipelined_requests_on_one_connection() throws Exception {
+        // given
+        ServerEngine server = start(new NioServer(0, request -> ServerResponse.text(200, request.target())));
+        String requests = "GET /first HTTP/1.1\r\nHost: localhost\r\n\r\n"
+                + "GET /second HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n";
+
+        // when
+        String responses;
+        try (Socket socket = new Socket("localhost", server.getPort())) {
+            OutputStream out = socket.getOutputStream();
+            out.write(requests.getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            responses = readAll(socket.getInputStream());
+        }
+
+        // then
+        assertTrue(responses.startsWith("HTTP/1.1 200 OK\r\n"));
+        assertTrue(responses.indexOf("/first") < responses.indexOf("/second"));
+        assertTrue(responses.contains("Connection: close"));
+    }
+
+    @Test
+    void test_malformed_request_returns_400() throws Exception {
+        // given
+        ServerEngine server = start(new NioServer(0));
+
+        // when
+        String response;
+        try (Socket socket = new Socket("localhost", server.getPort())) {
+            socket.getOutputStream().write("NONSENSE\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            response = readAll(socket.getInputStream());
+        }
+
+        // then
+        assertTrue(response.startsWith("HTTP/1.1 400 Bad Request\r\n"));
+    }
+
+    @Test
+    void test_static_payload_served_by_both_engines() throws Exception {
+        // given
+        StaticPayload payload = StaticPayload.text("zażółć gęślą jaźń");
+        RequestHandler handler = request -> payload.response();
+        List<ServerEngine> engines = List.of(start(new VirtualThreadServer(0, handler)), start(new NioServer(0, handler)));
+
+        for (ServerEngine engine : engines) {
+            // when
+            HttpResponse<String> first = httpClient.send(get(engine, "/"), HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> second = httpClient.send(get(engine, "/"), HttpResponse.BodyHandlers.ofString());
+
+            // then
+            assertEquals("zażółć gęślą jaźń", first.body());
+            assertEquals(second.body(), first.body());
+            assertEquals(payload.length(), first.headers().firstValueAsLong("Content-Length").orElseThrow());
+        }
+    }
+
+    @Test
+    void test_streamed_body_is_chunked_on_both_engines() throws Exception {
+        // given
+        byte[] line = "0123456789abcdef\n".getBytes(StandardCharsets.US_ASCII);
+        int lines = 10_000;
+        RequestHandler handler = request -> ServerResponse.streaming(200, "text/plain", out -> {
+            for (int i = 0; i < lines; i++) {
+                out.write(line);
+            }
+        });
+        List<ServerEngine> engines = List.of(start(new VirtualThreadServer(0, handler)), start(new NioServer(0, handler)));
+
+        for (ServerEngine engine : engines) {
+            // when
+            HttpResponse<byte[]> response = httpClient.send(get(engine, "/"), HttpResponse.BodyHandlers.ofByteArray());
+
+            // then
+            assertEquals(200, response.statusCode());
+            assertEquals("chunked", response.headers().firstValue("Transfer-Encoding").orElse(""));
+            assertEquals(line.length * lines, response.body().length);
+        }
+    }
+
+    @Test
+    void test_keep_alive_connection_reused_after_streamed_response() throws Exception {
+        // given
+        ServerEngine server = start(new NioServer(0, request -> request.target().equals("/stream")
+                ? ServerResponse.streaming(200, "text/plain", out -> out.write(new byte[40_000]))
+                : ServerResponse.text(200, "done")));
+        String requests = "GET /stream HTTP/1.1\r\nHost: localhost\r\n\r\n"
+                + "GET /done HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n";
+
+        // when
+        String responses;
+        try (Socket socket = new Socket("localhost", server.getPort())) {
+            socket.getOutputStream().write(requests.getBytes(StandardCharsets.US_ASCII));
+            responses = readAll(socket.getInputStream());
+        }
+
+        // then
+        assertTrue(responses.contains("Transfer-Encoding: chunked\r\n"));
+        assertTrue(responses.contains("\r\n0\r\n\r\nHTTP/1.1 200 OK\r\n"));
+        assertTrue(responses.endsWith("Content-Length: 4\r\nConnection: close\r\n\r\ndone"));
+    }
+
+    @Test
+    void test_reset_connections_do_not_stop_the_server() throws Exception {
+        // given
+        ServerEngine server = start(new NioServer(0, request -> ServerResponse.text(200, "alive")));
+        byte[] request = "GET / HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+
+        // when
+        for (int i = 0; i < 50; i++) {
+            try (Socket socket = new Socket("localhost", server.getPort())) {
+                socket.setSoLinger(true, 0);
+                if (i % 2 == 0) {
+                    socket.getOutputStream().write(request);
+                }
+            }
+        }
+        HttpResponse<String> response = httpClient.send(get(server, "/"), HttpResponse.BodyHandlers.ofString());
+
+        // then
+        assertEquals(200, response.statusCode());
+        assertEquals("alive", response.body());
+    }
+
+    private ServerEngine start(ServerEngine server) {
+        servers.add(server);
+        server.start();
+        return server;
+    }
+
+    private static HttpRequest get(ServerEngine server, String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path)).GET().build();
+    }
+
+    private static String readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        in.transferTo(bytes);
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+}
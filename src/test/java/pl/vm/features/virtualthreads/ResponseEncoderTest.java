@@ -0,0 +1,121 @@
+package pl.vm.features.virtualthreads;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for ResponseEncoder, StaticPayload and BufferPool.
+ */
+class ResponseEncoderTest {
+
+    @Test
+    void test_head_content_length_counts_utf8_bytes() {
+        // given
+        ServerResponse response = ServerResponse.text(200, "zażółć");
+        ByteBuffer target = ByteBuffer.allocate(ResponseEncoder.MAX_HEAD_BYTES);
+
+        // when
+        ResponseEncoder.encodeHead(target, response, ((ResponseBody.Fixed) response.body()).length(), true);
+
+        // then
+        assertEquals("HTTP/1.1 200 OK\r\nContent-Type: text/plain; charset=utf-8\r\nContent-Length: 10\r\n\r\n",
+                ascii(target.flip()));
+    }
+
+    @Test
+    void test_chunked_head_closing_connection() {
+        // given
+        ServerResponse response = ServerResponse.streaming(503, "application/json", out -> { });
+        ByteBuffer target = ByteBuffer.allocate(ResponseEncoder.MAX_HEAD_BYTES);
+
+        // when
+        ResponseEncoder.encodeHead(target, response, -1, false);
+
+        // then
+        assertEquals("HTTP/1.1 503 Service Unavailable\r\nContent-Type: application/json\r\n"
+                + "Transfer-Encoding: chunked\r\nConnection: close\r\n\r\n", ascii(target.flip()));
+    }
+
+    @Test
+    void test_header_injection_rejected() {
+        // given
+        ServerResponse response = ServerResponse.bytes(200, "text/plain\r\nSet-Cookie: x", new byte[0]);
+        ByteBuffer target = ByteBuffer.allocate(ResponseEncoder.MAX_HEAD_BYTES);
+
+        // when / then
+        assertThrows(IllegalArgumentException.class, () -> ResponseEncoder.encodeHead(target, response, 0, true));
+    }
+
+    @Test
+    void test_chunked_stream_frames_and_recycles_buffers() throws IOException {
+        // given
+        BufferPool pool = new BufferPool(64, 8);
+        ByteArrayOutputStream wire = new ByteArrayOutputStream();
+        ResponseEncoder.Sink sink = (buffer, pooled) -> {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            wire.writeBytes(bytes);
+            if (pooled) {
+                pool.release(buffer);
+            }
+        };
+        byte[] body = new byte[100];
+        Arrays.fill(body, (byte) 'x');
+
+        // when
+        try (var out = new ResponseEncoder.ChunkedOutputStream(pool, sink)) {
+            out.write(body);
+            out.flush();
+            out.write('y');
+        }
+
+        // then
+        String x56 = "x".repeat(56);
+        String x44 = "x".repeat(44);
+        assertEquals("38\r\n" + x56 + "\r\n2c\r\n" + x44 + "\r\n1\r\ny\r\n0\r\n\r\n",
+                wire.toString(StandardCharsets.US_ASCII));
+        assertEquals(1, pool.idleCount());
+    }
+
+    @Test
+    void test_static_payload_is_shared_and_immutable() {
+        // given
+        byte[] bytes = "cached".getBytes(StandardCharsets.US_ASCII);
+        StaticPayload payload = StaticPayload.of("text/plain", bytes);
+
+        // when
+        bytes[0] = 'X';
+        ByteBuffer content = ((ResponseBody.Fixed) payload.response().body()).content();
+        content.get();
+
+        // then
+        assertSame(payload.response(), payload.response());
+        assertEquals("cached", payload.response().bodyAsString());
+        assertEquals(6, payload.length());
+        assertEquals(404, payload.response(404).status());
+        assertTrue(content.isDirect());
+    }
+
+    @Test
+    void test_pool_rejects_foreign_buffers() {
+        // given
+        BufferPool pool = new BufferPool(64, 8);
+
+        // when / then
+        assertThrows(IllegalArgumentException.class, () -> pool.release(ByteBuffer.allocate(64)));
+        assertThrows(IllegalArgumentException.class, () -> pool.release(ByteBuffer.allocateDirect(32)));
+    }
+
+    private static String ascii(ByteBuffer buffer) {
+        return StandardCharsets.US_ASCII.decode(buffer).toString();
+    }
+}
@@ -0,0 +1,112 @@
+package pl.vm.features.virtualthreads;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for StructuredRequestHandler.
+ */
+class StructuredRequestHandlerTest {
+    private static final ServerRequest REQUEST = new ServerRequest("GET", "/", Map.of(), new byte[0]);
+
+    @Test
+    void test_subtasks_run_in_parallel() throws Exception {
+        // given
+        StructuredRequestHandler handler = new StructuredRequestHandler(Duration.ofSeconds(5), (request, scope) -> {
+            Supplier<String> retrieval = scope.fork(() -> sleepThen(300, "docs"));
+            Supplier<String> processing = scope.fork(() -> sleepThen(300, "answer"));
+            scope.join();
+            return ServerResponse.text(200, retrieval.get() + "+" + processing.get());
+        });
+
+        // when
+        long start = System.nanoTime();
+        ServerResponse response = handler.handle(REQUEST);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // then
+        assertEquals(200, response.status());
+        assertEquals("docs+answer", response.bodyAsString());
+        assertTrue(elapsedMillis < 550, "Expected parallel subtasks, took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void test_deadline_returns_504_and_cancels_subtasks() throws Exception {
+        // given
+        CountDownLatch interrupted = new CountDownLatch(1);
+        StructuredRequestHandler handler = new StructuredRequestHandler(Duration.ofMillis(100), (request, scope) -> {
+            scope.fork(() -> sleepOrSignal(interrupted));
+            scope.join();
+            return ServerResponse.text(200, "too late");
+        });
+
+        // when
+        long start = System.nanoTime();
+        ServerResponse response = handler.handle(REQUEST);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // then
+        assertEquals(504, response.status());
+        assertEquals(0, interrupted.getCount());
+        assertTrue(elapsedMillis < 2_000, "Expected the deadline to bound latency, took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void test_failed_subtask_cancels_siblings() {
+        // given
+        CountDownLatch interrupted = new CountDownLatch(1);
+        StructuredRequestHandler handler = new StructuredRequestHandler(Duration.ofSeconds(10), (request, scope) -> {
+            scope.fork(() -> sleepOrSignal(interrupted));
+            scope.fork(() -> {
+                throw new IllegalStateException("retrieval failed");
+            });
+            scope.join();
+            return ServerResponse.text(200, "unreachable");
+        });
+
+        // when
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> handler.handle(REQUEST));
+
+        // then
+        assertTrue(failure.getCause() instanceof IllegalStateException);
+        assertEquals(0, interrupted.getCount());
+    }
+
+    @Test
+    void test_pipeline_failure_before_join_cancels_subtasks() {
+        // given
+        CountDownLatch interrupted = new CountDownLatch(1);
+        StructuredRequestHandler handler = new StructuredRequestHandler(Duration.ofSeconds(10), (request, scope) -> {
+            scope.fork(() -> sleepOrSignal(interrupted));
+            throw new IllegalArgumentException("bad request");
+        });
+
+        // when / then
+        assertThrows(IllegalArgumentException.class, () -> handler.handle(REQUEST));
+        assertEquals(0, interrupted.getCount());
+    }
+
+    private static String sleepThen(long millis, String value) throws InterruptedException {
+        Thread.sleep(millis);
+        return value;
+    }
+
+    private static String sleepOrSignal(CountDownLatch interrupted) throws InterruptedException {
+        try {
+            Thread.sleep(Duration.ofSeconds(30));
+            return "finished";
+        } catch (InterruptedException e) {
+            interrupted.countDown();
+            throw e;
+        }
+    }
+}